@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.benchmarks;
+
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.response.ValidatableResponse;
+import com.jayway.restassured.specification.RequestSpecification;
+import com.technophobia.substeps.model.Scope;
+import uk.co.baconi.substeps.restdriver.steps.impl.json.RestJsonFinderStepImplementations;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Opens up the driver's internals to the benchmarks, which run each benchmark thread as though it were a scenario.
+ */
+public class BenchmarkSteps extends RestJsonFinderStepImplementations {
+
+    public RequestSpecification newRequest() {
+        return createNewRequest();
+    }
+
+    public Response perform(final RequestSpecification request, final String method, final String fullUrl) throws IOException {
+        prepareRequest(request);
+        return performRequest(request, method, fullUrl);
+    }
+
+    public void respondWith(final ValidatableResponse response) throws IOException {
+        setResponse(response);
+    }
+
+    public void cookies(final Scope scope, final Map<String, String> cookieStore) {
+        setCookieStore(cookieStore, scope);
+    }
+
+    public Map<String, String> allCookies() {
+        return getCookieStores();
+    }
+}
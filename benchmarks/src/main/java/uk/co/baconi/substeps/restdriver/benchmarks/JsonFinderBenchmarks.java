@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.benchmarks;
+
+import com.jayway.restassured.builder.ResponseBuilder;
+import com.jayway.restassured.http.ContentType;
+import com.jayway.restassured.response.ValidatableResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding an element by JsonPath in small and large response bodies, both the first find in a new response, which
+ * stores and parses the body, and later finds in the same response, which reuse the parsed body.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonFinderBenchmarks {
+
+    @Param({"10", "10000"})
+    public int items;
+
+    private final BenchmarkSteps steps = new BenchmarkSteps();
+
+    private String body;
+    private String jsonPath;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+
+        final StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int item = 0; item < items; item++) {
+            json.append(item == 0 ? "" : ",")
+                    .append("{\"id\":").append(item)
+                    .append(",\"name\":\"item-").append(item)
+                    .append("\",\"tags\":[\"a\",\"b\"]}");
+        }
+        body = json.append("]}").toString();
+        jsonPath = "items[" + (items / 2) + "].name";
+
+        // Set once, so repeated finds only ever see the body parsed by this first find.
+        steps.respondWith(newResponse());
+        steps.findJsonElementByJsonPathInRestResponseBodyAString(jsonPath);
+    }
+
+    @Benchmark
+    public String firstFind() throws IOException {
+        steps.respondWith(newResponse());
+        return steps.findJsonElementByJsonPathInRestResponseBodyAString(jsonPath);
+    }
+
+    @Benchmark
+    public String repeatedFind() throws IOException {
+        return steps.findJsonElementByJsonPathInRestResponseBodyAString(jsonPath);
+    }
+
+    private ValidatableResponse newResponse() {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(body)
+                .build()
+                .then();
+    }
+}
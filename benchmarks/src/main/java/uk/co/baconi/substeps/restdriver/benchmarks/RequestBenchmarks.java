@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.benchmarks;
+
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.co.baconi.substeps.restdriver.builders.KeyPairRequestBodyEntry;
+import uk.co.baconi.substeps.restdriver.builders.impl.JsonObjectRequestBodyBuilder;
+import uk.co.baconi.substeps.restdriver.client.RestDriverHttpClient;
+import uk.co.baconi.substeps.restdriver.stub.Stub;
+import uk.co.baconi.substeps.restdriver.stub.StubServer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating requests, and whole round trips through the connection pool to the driver's own stub server.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dsubsteps.driver.rest.report.enabled=false")
+public class RequestBenchmarks {
+
+    private static final byte[] JSON = "{\"id\":1,\"name\":\"benchmark\",\"tags\":[\"a\",\"b\",\"c\"]}".getBytes(StandardCharsets.UTF_8);
+
+    private final BenchmarkSteps steps = new BenchmarkSteps();
+    private final JsonObjectRequestBodyBuilder builder = new JsonObjectRequestBodyBuilder();
+
+    private StubServer server;
+    private String jsonUrl;
+    private String echoUrl;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = StubServer.start("127.0.0.1", 0);
+        server.register(Stub.respond("GET", "/json", 200, JSON).header("Content-Type", "application/json"));
+        server.register(Stub.echo("POST", "/echo"));
+        jsonUrl = server.getBaseUrl() + "/json";
+        echoUrl = server.getBaseUrl() + "/echo";
+        RestDriverHttpClient.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RestDriverHttpClient.stop();
+        server.close();
+    }
+
+    @Benchmark
+    public RequestSpecification createNewRequest() {
+        return steps.newRequest();
+    }
+
+    @Benchmark
+    public byte[] roundTripGet() throws IOException {
+        final Response response = steps.perform(steps.newRequest(), "GET", jsonUrl);
+        return response.asByteArray();
+    }
+
+    @Benchmark
+    public byte[] roundTripPostJson() throws IOException {
+        final RequestSpecification request = steps.newRequest();
+        builder.build(request, Arrays.asList(
+                new KeyPairRequestBodyEntry("name", "benchmark"),
+                new KeyPairRequestBodyEntry("value", "42")
+        ));
+        final Response response = steps.perform(request, "POST", echoUrl);
+        return response.asByteArray();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.benchmarks;
+
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.co.baconi.substeps.restdriver.builders.FromUrlRequestBodyEntry;
+import uk.co.baconi.substeps.restdriver.builders.GroupedKeyPairRequestBodyEntry;
+import uk.co.baconi.substeps.restdriver.builders.KeyPairRequestBodyEntry;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyEntry;
+import uk.co.baconi.substeps.restdriver.builders.impl.FormRequestBodyBuilder;
+import uk.co.baconi.substeps.restdriver.builders.impl.JsonArrayRequestBodyBuilder;
+import uk.co.baconi.substeps.restdriver.builders.impl.JsonFromUriRequestBodyBuilder;
+import uk.co.baconi.substeps.restdriver.builders.impl.JsonObjectRequestBodyBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building request bodies with each of the RequestBodyBuilder implementations, for a number of entries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBodyBuilderBenchmarks {
+
+    @Param({"10", "1000"})
+    public int entries;
+
+    private final JsonObjectRequestBodyBuilder jsonObjectBuilder = new JsonObjectRequestBodyBuilder();
+    private final JsonArrayRequestBodyBuilder jsonArrayBuilder = new JsonArrayRequestBodyBuilder();
+    private final FormRequestBodyBuilder formBuilder = new FormRequestBodyBuilder();
+    private final JsonFromUriRequestBodyBuilder jsonFromUriBuilder = new JsonFromUriRequestBodyBuilder();
+
+    private List<RequestBodyEntry> keyPairs;
+    private List<RequestBodyEntry> groupedKeyPairs;
+    private List<RequestBodyEntry> fromUri;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+
+        keyPairs = new ArrayList<>();
+        groupedKeyPairs = new ArrayList<>();
+        final StringBuilder json = new StringBuilder("{");
+
+        for (int entry = 0; entry < entries; entry++) {
+            keyPairs.add(new KeyPairRequestBodyEntry("key" + entry, "value" + entry));
+            groupedKeyPairs.add(new GroupedKeyPairRequestBodyEntry(entry % 10, "key" + entry, "value" + entry));
+            json.append(entry == 0 ? "" : ",").append("\"key").append(entry).append("\":\"value").append(entry).append('"');
+        }
+
+        file = Files.createTempFile("restdriver-benchmark", ".json");
+        Files.write(file, json.append('}').toString().getBytes(StandardCharsets.UTF_8));
+        fromUri = Collections.singletonList(new FromUrlRequestBodyEntry(file.toUri().toURL()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public RequestSpecification jsonObject() throws IOException {
+        final RequestSpecification request = RestAssured.given();
+        jsonObjectBuilder.build(request, keyPairs);
+        return request;
+    }
+
+    @Benchmark
+    public RequestSpecification jsonArray() throws IOException {
+        final RequestSpecification request = RestAssured.given();
+        jsonArrayBuilder.build(request, groupedKeyPairs);
+        return request;
+    }
+
+    @Benchmark
+    public RequestSpecification form() throws IOException {
+        final RequestSpecification request = RestAssured.given();
+        formBuilder.build(request, keyPairs);
+        return request;
+    }
+
+    @Benchmark
+    public RequestSpecification jsonFromUri() throws IOException {
+        final RequestSpecification request = RestAssured.given();
+        jsonFromUriBuilder.build(request, fromUri);
+        return request;
+    }
+}
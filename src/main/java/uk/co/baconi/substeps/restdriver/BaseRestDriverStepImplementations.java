@@ -22,7 +22,10 @@ package uk.co.baconi.substeps.restdriver;
 import com.technophobia.substeps.model.SubSteps.AdditionalStepImplementations;
 import com.technophobia.substeps.model.SubSteps.StepImplementations;
 import uk.co.baconi.substeps.restdriver.steps.impl.RestAssertionStepImplementations;
+import uk.co.baconi.substeps.restdriver.steps.impl.RestAsyncStepImplementations;
+import uk.co.baconi.substeps.restdriver.steps.impl.RestLoadStepImplementations;
 import uk.co.baconi.substeps.restdriver.steps.impl.RestRequestBuilderStepImplementations;
+import uk.co.baconi.substeps.restdriver.steps.impl.RestStubServerStepImplementations;
 import uk.co.baconi.substeps.restdriver.steps.impl.json.RestJsonAssertionStepImplementations;
 import uk.co.baconi.substeps.restdriver.steps.impl.json.RestJsonExtractorStepImplementations;
 import uk.co.baconi.substeps.restdriver.steps.impl.json.RestJsonFinderStepImplementations;
@@ -33,7 +36,10 @@ import uk.co.baconi.substeps.restdriver.steps.impl.json.RestJsonFinderStepImplem
         RestAssertionStepImplementations.class,
         RestJsonAssertionStepImplementations.class,
         RestJsonFinderStepImplementations.class,
-        RestJsonExtractorStepImplementations.class
+        RestJsonExtractorStepImplementations.class,
+        RestLoadStepImplementations.class,
+        RestAsyncStepImplementations.class,
+        RestStubServerStepImplementations.class
 })
 public class BaseRestDriverStepImplementations {
 }
\ No newline at end of file
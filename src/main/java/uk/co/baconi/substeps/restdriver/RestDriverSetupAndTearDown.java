@@ -19,10 +19,24 @@
 
 package uk.co.baconi.substeps.restdriver;
 
+import com.technophobia.substeps.model.Scope;
 import com.technophobia.substeps.runner.setupteardown.Annotations.AfterAllFeatures;
+import com.technophobia.substeps.runner.setupteardown.Annotations.AfterEveryFeature;
+import com.technophobia.substeps.runner.setupteardown.Annotations.AfterEveryScenario;
 import com.technophobia.substeps.runner.setupteardown.Annotations.BeforeAllFeatures;
+import com.technophobia.substeps.runner.setupteardown.Annotations.BeforeEveryFeature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyResourceCache;
+import uk.co.baconi.substeps.restdriver.client.RestDriverHttpClient;
+import uk.co.baconi.substeps.restdriver.json.JsonPathCache;
+import uk.co.baconi.substeps.restdriver.metrics.EndpointLatencies;
+import uk.co.baconi.substeps.restdriver.metrics.PerformanceReport;
+import uk.co.baconi.substeps.restdriver.recording.Recordings;
+import uk.co.baconi.substeps.restdriver.state.RestDriverState;
+import uk.co.baconi.substeps.restdriver.stub.StubServer;
+
+import java.io.IOException;
 
 public class RestDriverSetupAndTearDown {
 
@@ -31,14 +45,64 @@ public class RestDriverSetupAndTearDown {
     @BeforeAllFeatures
     public void beforeAllFeatures() {
 
-        logger.info("RestDriver - Before All Features - I don't actually do anything yet.");
+        logger.info("RestDriver - Before All Features - Starting the http connection pool.");
+
+        RestDriverHttpClient.start();
+
+    }
+
+    @BeforeEveryFeature
+    public void beforeEveryFeature() {
+
+        // Starts every feature afresh, rather than with whatever the previous feature left behind.
+        RestDriverState.reset(Scope.FEATURE);
+
+    }
+
+    @AfterEveryScenario
+    public void afterEveryScenario() {
+
+        // Deletes any spooled response body, rather than leaving it until the JVM exits.
+        RestDriverState.release(Scope.SCENARIO);
+
+    }
+
+    @AfterEveryFeature
+    public void afterEveryFeature() {
+
+        RestDriverState.release(Scope.FEATURE);
 
     }
 
     @AfterAllFeatures
     public void afterAllFeatures() {
 
-        logger.info("RestDriver - After All Features - I don't actually do anything yet.");
+        logger.info("RestDriver - After All Features - Closing the http connection pool.");
+
+        RestDriverHttpClient.stop();
+        StubServer.stopSuite();
+
+        logger.info("RestDriver - After All Features - {}", RestDriverState.forScope(Scope.SUITE).getHttpCache());
+
+        RestDriverState.reset(Scope.SUITE);
+        EndpointLatencies.resetSuite();
+
+        logger.info("RestDriver - After All Features - {}", JsonPathCache.getInstance());
+        logger.info("RestDriver - After All Features - {}", RequestBodyResourceCache.getInstance());
+
+        RequestBodyResourceCache.getInstance().clear();
+
+        try {
+            Recordings.close();
+        } catch (final IOException exception) {
+            logger.error("RestDriver - After All Features - Unable to finish the recording.", exception);
+        }
+
+        try {
+            PerformanceReport.getInstance().write();
+        } catch (final IOException exception) {
+            logger.error("RestDriver - After All Features - Unable to write the performance report.", exception);
+        }
 
     }
 
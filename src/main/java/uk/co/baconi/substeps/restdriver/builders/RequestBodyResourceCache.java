@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.builders;
+
+import com.google.common.io.Resources;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A suite wide cache of the contents of the resource files and urls that request bodies are built from, bounded by the
+ * total size of the cached contents with the least recently used evicted first.
+ * <p>
+ * Contents are kept as the raw bytes read, so they can be sent as they are without decoding them into a String.
+ */
+public class RequestBodyResourceCache {
+
+    private static final RequestBodyResourceCache INSTANCE = new RequestBodyResourceCache(
+            RestDriverSubstepsConfiguration.PROPERTIES.getResourceCacheMaxSize(),
+            RestDriverSubstepsConfiguration.PROPERTIES.isResourceCacheCheckModified(),
+            RestDriverSubstepsConfiguration.PROPERTIES.isResourceCacheRemote()
+    );
+
+    private final long maximumSize;
+    private final boolean checkModified;
+    private final boolean cacheRemote;
+    private final Map<String, URL> resources = new ConcurrentHashMap<>();
+    private final Map<String, CachedContent> contents = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long size;
+
+    public RequestBodyResourceCache(final long maximumSize, final boolean checkModified, final boolean cacheRemote) {
+        this.maximumSize = maximumSize;
+        this.checkModified = checkModified;
+        this.cacheRemote = cacheRemote;
+    }
+
+    public static RequestBodyResourceCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the url of the classpath resource, only looking it up if it hasn't been already.
+     */
+    public URL getResource(final String name) {
+
+        final URL resource = resources.computeIfAbsent(
+                name, key -> Thread.currentThread().getContextClassLoader().getResource(key)
+        );
+
+        if (resource == null) {
+            throw new AssertionError("Unable to find resource file [" + name + "] on the classpath.");
+        }
+
+        return resource;
+    }
+
+    /**
+     * @return the contents of the url, only reading them if they aren't already cached or have since been modified.
+     */
+    public byte[] getContent(final URL url) throws IOException {
+
+        if (maximumSize <= 0 || !isCacheable(url)) {
+            misses.incrementAndGet();
+            return Resources.toByteArray(url);
+        }
+
+        final String key = url.toExternalForm();
+        final File file = asFile(url);
+        final long lastModified = file == null ? 0 : file.lastModified();
+        final long length = file == null ? 0 : file.length();
+
+        synchronized (contents) {
+            final CachedContent cached = contents.get(key);
+            if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+                hits.incrementAndGet();
+                return cached.bytes;
+            }
+        }
+
+        misses.incrementAndGet();
+
+        // Read outside of the lock, at worst the same url is read twice.
+        final byte[] bytes = Resources.toByteArray(url);
+        if (bytes.length <= maximumSize) {
+            synchronized (contents) {
+                final CachedContent replaced = contents.put(key, new CachedContent(bytes, lastModified, length));
+                size += bytes.length - (replaced == null ? 0 : replaced.bytes.length);
+                evict();
+            }
+        }
+
+        return bytes;
+    }
+
+    private boolean isCacheable(final URL url) {
+        final String protocol = url.getProtocol();
+        return cacheRemote || !("http".equals(protocol) || "https".equals(protocol));
+    }
+
+    /**
+     * @return the file behind a file: url if its modification should be checked, otherwise null.
+     */
+    private File asFile(final URL url) {
+
+        if (!checkModified || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+
+        try {
+            return new File(url.toURI());
+        } catch (final URISyntaxException | IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    private void evict() {
+        while (size > maximumSize) {
+            final Map.Entry<String, CachedContent> eldest = contents.entrySet().iterator().next();
+            size -= eldest.getValue().bytes.length;
+            contents.remove(eldest.getKey());
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the total size of the cached contents, in bytes.
+     */
+    public long size() {
+        synchronized (contents) {
+            return size;
+        }
+    }
+
+    public void clear() {
+        synchronized (contents) {
+            contents.clear();
+            size = 0;
+        }
+        resources.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "RequestBodyResourceCache{size=" + size() + ", maximumSize=" + maximumSize + ", hits=" + getHits() + ", misses=" + getMisses() + "}";
+    }
+
+    private static class CachedContent {
+
+        private final byte[] bytes;
+        private final long lastModified;
+        private final long length;
+
+        private CachedContent(final byte[] bytes, final long lastModified, final long length) {
+            this.bytes = bytes;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+}
@@ -19,16 +19,14 @@
 
 package uk.co.baconi.substeps.restdriver.builders.impl;
 
-import com.google.common.io.Resources;
 import com.jayway.restassured.http.ContentType;
 import com.jayway.restassured.specification.RequestSpecification;
 import uk.co.baconi.substeps.restdriver.builders.FromUrlRequestBodyEntry;
 import uk.co.baconi.substeps.restdriver.builders.RequestBodyBuilder;
 import uk.co.baconi.substeps.restdriver.builders.RequestBodyEntry;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyResourceCache;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.Charset;
 import java.util.List;
 
 public class JsonFromUriRequestBodyBuilder extends RequestBodyBuilder {
@@ -42,7 +40,7 @@ public class JsonFromUriRequestBodyBuilder extends RequestBodyBuilder {
                         () -> new AssertionError("Missing RequestBodyEntry of type FromUrlRequestBodyEntry.")
                 );
 
-        final String body = Resources.toString(fromUrl.getUrl(), Charset.forName("UTF-8"));
+        final byte[] body = RequestBodyResourceCache.getInstance().getContent(fromUrl.getUrl());
 
         request.contentType(ContentType.JSON).body(body);
     }
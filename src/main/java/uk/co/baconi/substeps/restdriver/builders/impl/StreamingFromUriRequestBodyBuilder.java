@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.builders.impl;
+
+import com.jayway.restassured.http.ContentType;
+import com.jayway.restassured.specification.RequestSpecification;
+import uk.co.baconi.substeps.restdriver.builders.FromUrlRequestBodyEntry;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyBuilder;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyEntry;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * Sends the contents of a url as the request body without reading them onto the heap first.
+ * <p>
+ * A file: url, which includes classpath resources that aren't inside a jar, is sent as a file with a known content
+ * length and is reopened for each request made from it. Anything else is sent as a stream using chunked transfer, which
+ * is only opened once the request is sent and can only be sent once, so copies of the request, such as those made for
+ * a load test, fail rather than sending an empty body.
+ */
+public class StreamingFromUriRequestBodyBuilder extends RequestBodyBuilder {
+
+    private final String contentType;
+
+    public StreamingFromUriRequestBodyBuilder() {
+        this(ContentType.BINARY.toString());
+    }
+
+    public StreamingFromUriRequestBodyBuilder(final String contentType) {
+        this.contentType = contentType;
+    }
+
+    @Override
+    public void build(final RequestSpecification request, final List<RequestBodyEntry> data) throws IOException {
+
+        final FromUrlRequestBodyEntry fromUrl = verifyDataIs(data, FromUrlRequestBodyEntry.class)
+                .findFirst()
+                .orElseThrow(
+                        () -> new AssertionError("Missing RequestBodyEntry of type FromUrlRequestBodyEntry.")
+                );
+
+        final URL url = fromUrl.getUrl();
+
+        request.contentType(contentType);
+
+        if ("file".equals(url.getProtocol())) {
+            request.body(asFile(url));
+        } else {
+            request.body(new UrlStream(url));
+        }
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    private File asFile(final URL url) {
+        try {
+            return new File(url.toURI());
+        } catch (final URISyntaxException exception) {
+            throw new AssertionError("Unable to stream the RequestBody from [" + url + "].", exception);
+        }
+    }
+
+    /**
+     * Opens the url on the first read, so nothing is left open when the request is never sent.
+     */
+    private static final class UrlStream extends InputStream {
+
+        private final URL url;
+
+        private InputStream stream;
+        private Thread reader;
+
+        private UrlStream(final URL url) {
+            this.url = url;
+        }
+
+        private synchronized InputStream open() throws IOException {
+
+            if (reader == null) {
+                reader = Thread.currentThread();
+                stream = url.openStream();
+            } else if (stream == null || reader != Thread.currentThread()) {
+                throw new IOException("The RequestBody streamed from [" + url + "] has already been sent, only a file: url can be sent more than once.");
+            }
+
+            return stream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return open().read();
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            return open().read(buffer, offset, length);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (stream != null) {
+                stream.close();
+                stream = null;
+            }
+        }
+    }
+
+}
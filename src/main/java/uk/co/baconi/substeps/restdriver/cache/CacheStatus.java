@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.cache;
+
+/**
+ * How the http cache answered a request.
+ */
+public enum CacheStatus {
+
+    /**
+     * Answered from a fresh cached response, without sending the request.
+     */
+    HIT,
+
+    /**
+     * Answered from a stale cached response, after the server confirmed it was still valid with a 304 Not Modified.
+     */
+    REVALIDATION,
+
+    /**
+     * Answered by the server, either because nothing was cached or because the cached response had changed.
+     */
+    MISS,
+
+    /**
+     * Answered by the server without the cache being consulted, as the request isn't one that can be cached.
+     */
+    BYPASS
+
+}
@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.cache;
+
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.builder.ResponseBuilder;
+import com.jayway.restassured.response.Header;
+import com.jayway.restassured.response.Headers;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.RequestSpecification;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.utils.DateUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cached response, along with what's needed to work out whether it's still fresh and to revalidate it once it's
+ * not, following the rules for a private cache from RFC 7234.
+ * <p>
+ * Immutable, so it can be shared by every thread using the cache, a revalidated response replaces the stale one.
+ */
+public class CachedResponse {
+
+    // Status codes that can be cached without the response saying so, from RFC 7231 section 6.1.
+    private static final Set<Integer> CACHEABLE_STATUSES = new HashSet<>(Arrays.asList(
+            200, 203, 204, 300, 301, 404, 405, 410, 414, 501
+    ));
+
+    // Describe the body rather than the response, so a 304 never replaces them.
+    private static final Set<String> BODY_HEADERS = new HashSet<>(Arrays.asList(
+            "content-length", "content-encoding", "content-type", "transfer-encoding"
+    ));
+
+    private final int statusCode;
+    private final String statusLine;
+    private final List<Header> headers;
+    private final byte[] body;
+    private final Map<String, List<String>> varied;
+    private final long storedAt;
+
+    private CachedResponse(
+            final int statusCode, final String statusLine, final List<Header> headers, final byte[] body,
+            final Map<String, List<String>> varied, final long storedAt
+    ) {
+        this.statusCode = statusCode;
+        this.statusLine = statusLine;
+        this.headers = Collections.unmodifiableList(headers);
+        this.body = body;
+        this.varied = varied;
+        this.storedAt = storedAt;
+    }
+
+    /**
+     * @param request the request the response answered, for the values of any headers the response varies by.
+     * @param body    the response's body, already read.
+     */
+    public static CachedResponse of(final RequestSpecification request, final Response response, final byte[] body) {
+
+        final Headers headers = response.getHeaders();
+
+        final Map<String, List<String>> varied = new HashMap<>();
+        for (final String name : varyingHeaders(headers)) {
+            varied.put(name, ((FilterableRequestSpecification) request).getHeaders().getValues(name));
+        }
+
+        return new CachedResponse(
+                response.getStatusCode(), response.getStatusLine(), headers.asList(), body, varied, System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * @return whether the response can be stored at all, fresh or not.
+     */
+    public static boolean isCacheable(final Response response) {
+
+        final Headers headers = response.getHeaders();
+
+        if (!CACHEABLE_STATUSES.contains(response.getStatusCode())
+                || hasDirective(headers.getValue("Cache-Control"), "no-store")
+                || varyingHeaders(headers).contains("*")) {
+            return false;
+        }
+
+        return hasDirective(headers.getValue("Cache-Control"), "max-age")
+                || headers.hasHeaderWithName("Expires")
+                || headers.hasHeaderWithName("ETag")
+                || headers.hasHeaderWithName("Last-Modified");
+    }
+
+    /**
+     * @return whether the Cache-Control header value contains the directive, with or without a value.
+     */
+    public static boolean hasDirective(final String cacheControl, final String directive) {
+        return directiveValue(cacheControl, directive) != null;
+    }
+
+    /**
+     * @return whether the response is a 304 Not Modified.
+     */
+    public static boolean isNotModified(final Response response) {
+        return response.getStatusCode() == HttpStatus.SC_NOT_MODIFIED;
+    }
+
+    /**
+     * @return whether the response has been cached for less than its lifetime.
+     */
+    public boolean isFresh() {
+        return getAge() < getLifetime();
+    }
+
+    /**
+     * @return whether the request would be sent with the same values for the headers the response varies by.
+     */
+    public boolean matches(final RequestSpecification request) {
+        final Headers requestHeaders = ((FilterableRequestSpecification) request).getHeaders();
+        return varied.entrySet().stream().allMatch(entry -> Objects.equals(entry.getValue(), requestHeaders.getValues(entry.getKey())));
+    }
+
+    public boolean hasValidators() {
+        return getHeader("ETag") != null || getHeader("Last-Modified") != null;
+    }
+
+    /**
+     * @return a copy of the request asking the server to only send the response again if it's changed.
+     */
+    public RequestSpecification conditional(final RequestSpecification request) {
+
+        final RequestSpecification conditional = RestAssured.given().spec(request);
+
+        final String etag = getHeader("ETag");
+        if (etag != null) {
+            conditional.header("If-None-Match", etag);
+        }
+
+        final String lastModified = getHeader("Last-Modified");
+        if (lastModified != null) {
+            conditional.header("If-Modified-Since", lastModified);
+        }
+
+        return conditional;
+    }
+
+    /**
+     * @param notModified the server's 304 Not Modified response, whose headers replace those cached.
+     * @return a copy of this response, as fresh as if it had just been received.
+     */
+    public CachedResponse revalidated(final Response notModified) {
+
+        final Headers updates = notModified.getHeaders();
+
+        final List<Header> merged = new ArrayList<>();
+        for (final Header header : headers) {
+            if (isBodyHeader(header.getName()) || !updates.hasHeaderWithName(header.getName())) {
+                merged.add(header);
+            }
+        }
+        for (final Header header : updates) {
+            if (!isBodyHeader(header.getName())) {
+                merged.add(header);
+            }
+        }
+
+        return new CachedResponse(statusCode, statusLine, merged, body, varied, System.currentTimeMillis());
+    }
+
+    /**
+     * @return a new response, as if it had just been received.
+     */
+    public Response toResponse() {
+
+        final Headers all = new Headers(headers);
+
+        final ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(statusCode)
+                .setStatusLine(statusLine)
+                .setHeaders(all)
+                .setBody(body);
+
+        if (all.hasHeaderWithName("Content-Type")) {
+            builder.setContentType(all.getValue("Content-Type"));
+        }
+
+        return builder.build();
+    }
+
+    public int size() {
+        return body.length;
+    }
+
+    /**
+     * @return how old the response is in milliseconds, including any age it already had when it was received.
+     */
+    private long getAge() {
+        final long received = parseSeconds(getHeader("Age"));
+        return TimeUnit.SECONDS.toMillis(Math.max(received, 0)) + System.currentTimeMillis() - storedAt;
+    }
+
+    /**
+     * @return how long the response is fresh for in milliseconds, zero if it always needs revalidating.
+     */
+    private long getLifetime() {
+
+        final String cacheControl = getHeader("Cache-Control");
+        if (hasDirective(cacheControl, "no-cache")) {
+            return 0;
+        }
+
+        final long maxAge = parseSeconds(directiveValue(cacheControl, "max-age"));
+        if (maxAge >= 0) {
+            return TimeUnit.SECONDS.toMillis(maxAge);
+        }
+
+        final Date expires = parseDate(getHeader("Expires"));
+        if (expires != null) {
+            final Date date = parseDate(getHeader("Date"));
+            return expires.getTime() - (date != null ? date.getTime() : storedAt);
+        }
+
+        // No heuristic freshness, responses without an explicit lifetime are always revalidated.
+        return 0;
+    }
+
+    private String getHeader(final String name) {
+        for (final Header header : headers) {
+            if (header.getName().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> varyingHeaders(final Headers headers) {
+
+        final Set<String> names = new HashSet<>();
+        for (final String vary : headers.getValues("Vary")) {
+            for (final String name : vary.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    names.add(name.trim().toLowerCase(Locale.ENGLISH));
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @return the directive's value, empty if it has no value, or null if the directive isn't there.
+     */
+    private static String directiveValue(final String cacheControl, final String directive) {
+
+        if (cacheControl == null) {
+            return null;
+        }
+
+        for (final String part : cacheControl.split(",")) {
+            final String[] pair = part.trim().split("=", 2);
+            if (pair[0].trim().equalsIgnoreCase(directive)) {
+                return pair.length > 1 ? pair[1].trim().replace("\"", "") : "";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBodyHeader(final String name) {
+        return BODY_HEADERS.contains(name.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * @return the number of seconds, or -1 if there isn't a valid number.
+     */
+    private static long parseSeconds(final String value) {
+        try {
+            return value == null ? -1 : Long.parseLong(value.trim());
+        } catch (final NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    private static Date parseDate(final String value) {
+        return value == null ? null : DateUtils.parseDate(value);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.cache;
+
+import com.jayway.restassured.specification.RequestSpecification;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cached GET responses by the url they were sent to, with the least recently used evicted once there are too many.
+ * <p>
+ * Safe to share between threads, so FEATURE and SUITE scoped caches can be used by every scenario in them.
+ */
+public class HttpCache {
+
+    private final int maxEntries;
+    private final long maxEntrySize;
+    private final Map<String, CachedResponse> entries;
+
+    private long hits;
+    private long revalidations;
+    private long misses;
+
+    public HttpCache(final RestDriverSubstepsConfiguration configuration) {
+        this(configuration.getHttpCacheMaxEntries(), configuration.getHttpCacheMaxEntrySize());
+    }
+
+    public HttpCache(final int maxEntries, final long maxEntrySize) {
+        this.maxEntries = maxEntries;
+        this.maxEntrySize = maxEntrySize;
+        this.entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedResponse> eldest) {
+                return size() > HttpCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return the response cached for the url, if it was cached for a request with the same varying headers, fresh or
+     * not, otherwise null.
+     */
+    public synchronized CachedResponse get(final String fullUrl, final RequestSpecification request) {
+        final CachedResponse cached = entries.get(fullUrl);
+        return cached != null && cached.matches(request) ? cached : null;
+    }
+
+    /**
+     * Caches the response, replacing any already cached for the url, unless it's too big to cache.
+     */
+    public synchronized void put(final String fullUrl, final CachedResponse response) {
+        if (maxEntries > 0 && response.size() <= maxEntrySize) {
+            entries.put(fullUrl, response);
+        } else {
+            entries.remove(fullUrl);
+        }
+    }
+
+    /**
+     * Responses without a valid length, such as chunked ones, are treated as too big, as their body can't be checked
+     * without reading it.
+     *
+     * @param contentLength the response's Content-Length header, null if it didn't have one.
+     * @return whether a response with the given content length could be cached.
+     */
+    public boolean fits(final String contentLength) {
+
+        if (maxEntries <= 0 || contentLength == null) {
+            return false;
+        }
+
+        final long length;
+        try {
+            length = Long.parseLong(contentLength.trim());
+        } catch (final NumberFormatException exception) {
+            return false;
+        }
+
+        return length >= 0 && length <= maxEntrySize;
+    }
+
+    public synchronized void invalidate(final String fullUrl) {
+        entries.remove(fullUrl);
+    }
+
+    public synchronized void record(final CacheStatus status) {
+        switch (status) {
+            case HIT: {
+                hits++;
+                break;
+            }
+            case REVALIDATION: {
+                revalidations++;
+                break;
+            }
+            case MISS: {
+                misses++;
+                break;
+            }
+            default: {
+                break;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "HttpCache{entries=" + entries.size() + ", hits=" + hits + ", revalidations=" + revalidations + ", misses=" + misses + "}";
+    }
+}
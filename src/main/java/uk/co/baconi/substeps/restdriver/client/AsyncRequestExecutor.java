@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import com.jayway.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.response.SpooledResponseBody;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Performs requests in the background, so a scenario can have many in flight at once and wait for them together.
+ * <p>
+ * Requests still block a background thread each while in flight, which is cheap when virtual threads are enabled.
+ * The suite wide connection pool bounds how many of them actually reach the network at once.
+ */
+public class AsyncRequestExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncRequestExecutor.class);
+
+    private static final ExecutorService EXECUTOR = RequestExecutors.newExecutor("RestDriver-Async", 0);
+
+    private AsyncRequestExecutor() {
+    }
+
+    /**
+     * @param request performs the request, reading the whole body, called from a background thread so it mustn't read
+     *                the scenario. Awaiting the response then never waits on the network.
+     * @return the response, once the request has completed.
+     */
+    public static CompletableFuture<Response> submit(final Supplier<Response> request) {
+        final AsyncResponse response = new AsyncResponse(request);
+        EXECUTOR.execute(response);
+        return response;
+    }
+
+    /**
+     * Cancels the requests that haven't been sent yet and waits for those in flight to complete, deleting any bodies
+     * they were answered with that were never taken, so none of them are still running once their scenario has ended.
+     */
+    public static void release(final Collection<CompletableFuture<Response>> responses) {
+
+        responses.forEach(response -> {
+            if (response instanceof AsyncResponse) {
+                ((AsyncResponse) response).cancelUnsent();
+            }
+        });
+
+        responses.forEach(response -> {
+            if (response.isCancelled()) {
+                return;
+            }
+            try {
+                final SpooledResponseBody body = SpooledResponseBody.take(response.join());
+                if (body != null) {
+                    body.close();
+                }
+            } catch (final RuntimeException exception) {
+                LOG.debug("Released async request failed.", exception);
+            }
+        });
+    }
+
+    /**
+     * A response that can be cancelled until its request is sent, but not after, so it's never left running unawaited.
+     */
+    private static class AsyncResponse extends CompletableFuture<Response> implements Runnable {
+
+        private final Supplier<Response> request;
+
+        private final AtomicBoolean started = new AtomicBoolean(false);
+
+        private AsyncResponse(final Supplier<Response> request) {
+            this.request = request;
+        }
+
+        @Override
+        public void run() {
+            if (started.compareAndSet(false, true)) {
+                try {
+                    complete(request.get());
+                } catch (final Throwable throwable) {
+                    completeExceptionally(throwable);
+                }
+            }
+        }
+
+        private void cancelUnsent() {
+            if (started.compareAndSet(false, true)) {
+                cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import com.jayway.restassured.builder.ResponseBuilder;
+import com.jayway.restassured.config.RestAssuredConfig;
+import com.jayway.restassured.internal.RestAssuredResponseImpl;
+import com.jayway.restassured.response.Header;
+import com.jayway.restassured.response.Headers;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.RequestSpecification;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.params.CoreConnectionPNames;
+import uk.co.baconi.substeps.restdriver.inprocess.InProcessRequest;
+import uk.co.baconi.substeps.restdriver.inprocess.InProcessTransport;
+import uk.co.baconi.substeps.restdriver.utils.RequestUrlUtil;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends requests with the java.net.http client, over HTTP/2 wherever the server supports it, for requests that have
+ * opted in with the {@link #PARAM} http client param. https urls negotiate HTTP/2 during the TLS handshake and http
+ * urls try an h2c upgrade, either falling back to HTTP/1.1 when the server doesn't support it.
+ * <p>
+ * Clients are shared by the whole suite, so concurrent requests to the same server, such as async requests or those of
+ * a load test, are multiplexed over a single connection. Requests sent this way skip Apache HttpClient, so its proxy,
+ * connection pool and DNS and connect timings don't apply, but they are still paced, timed, held to their deadline,
+ * recorded and cached like any other request. The socket timeout is applied as the time to wait for the response
+ * headers, and the connect timeout as the client's.
+ * <p>
+ * The driver is built for Java 8, so the client, added in Java 11, is only ever reached through reflection.
+ */
+public class Http2Transport {
+
+    /**
+     * The http client param that sends a request with this transport when true, copied along with the request config.
+     */
+    public static final String PARAM = "substeps.driver.rest.http2";
+
+    // Headers the java.net.http client sets itself, and refuses to be given.
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(Arrays.asList(
+                "Connection", "Content-Length", "Date", "Expect", "From", "Host", "Upgrade", "Via", "Warning"
+        ));
+    }
+
+    // The connect timeout is set on the client rather than each request, so there's a client per connect timeout.
+    private static final Map<Integer, Object> CLIENTS = new ConcurrentHashMap<>();
+
+    private Http2Transport() {
+    }
+
+    public static boolean isEnabled(final RequestSpecification request) {
+        final RestAssuredConfig config = ((FilterableRequestSpecification) request).getConfig();
+        return config != null && Boolean.TRUE.equals(config.getHttpClientConfig().params().get(PARAM));
+    }
+
+    /**
+     * @param request the request, with everything it will be sent with already added.
+     * @return the response, with a body that is only read once it's asked for.
+     */
+    public static Response perform(final RequestSpecification request, final String method, final String fullUrl) {
+
+        final Api api = Api.get();
+        final FilterableRequestSpecification filterable = (FilterableRequestSpecification) request;
+
+        // Rest Assured only fills in path params when it sends a request itself.
+        final String url = RequestUrlUtil.fillPathParams(filterable, fullUrl);
+        final int authority = url.indexOf("://");
+        final int pathStart = authority < 0 ? -1 : url.indexOf('/', authority + 3);
+        final String origin = pathStart < 0 ? url : url.substring(0, pathStart);
+
+        final InProcessRequest sent = InProcessTransport.toInProcessRequest(
+                filterable, method.toUpperCase(), pathStart < 0 ? "/" : url.substring(pathStart)
+        );
+        final URI target = URI.create(origin + sent.getPath() + (sent.getQuery().isEmpty() ? "" : "?" + sent.getQuery()));
+
+        final Map<String, Object> params = filterable.getConfig().getHttpClientConfig().params();
+        final Object client = CLIENTS.computeIfAbsent(
+                timeoutOf(params, CoreConnectionPNames.CONNECTION_TIMEOUT), connectTimeout -> api.newClient(connectTimeout)
+        );
+
+        final CompletableFuture<?> future = api.sendAsync(client, api.newRequest(target, sent, timeoutOf(params, CoreConnectionPNames.SO_TIMEOUT)));
+
+        // Aborting cancels the wait for the headers, then once they're in, cuts off reading the body.
+        final AtomicBoolean aborted = new AtomicBoolean(false);
+        final AtomicReference<AbortableBody> body = new AtomicReference<>();
+        RequestDeadline.onExpiry(() -> {
+            aborted.set(true);
+            future.cancel(true);
+            final AbortableBody started = body.get();
+            if (started != null) {
+                started.abort();
+            }
+        });
+
+        final Object response;
+        try {
+            response = future.get();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new AssertionError("Interrupted while sending request [" + method + " " + fullUrl + "].", exception);
+        } catch (final ExecutionException | CancellationException exception) {
+            final Throwable cause = exception instanceof ExecutionException ? exception.getCause() : exception;
+            throw new AssertionError("Unable to send request [" + method + " " + fullUrl + "].", cause);
+        }
+
+        RequestTimings.recordResponseHeaders(sent.getBody().length);
+
+        body.set(new AbortableBody(RequestTimings.countReceived(api.body(response))));
+        if (aborted.get()) {
+            body.get().abort();
+        }
+
+        return toResponse(api, response, body.get());
+    }
+
+    private static int timeoutOf(final Map<String, Object> params, final String name) {
+        final Object timeout = params.get(name);
+        return timeout instanceof Number ? ((Number) timeout).intValue() : -1;
+    }
+
+    private static Response toResponse(final Api api, final Object response, final InputStream body) {
+
+        final int status = api.statusCode(response);
+        final String reason = EnglishReasonPhraseCatalog.INSTANCE.getReason(status, Locale.ENGLISH);
+
+        final List<Header> headers = new ArrayList<>();
+        api.headers(response).forEach((name, values) -> {
+            // HTTP/2 pseudo headers, such as :status, aren't headers as far as HTTP/1.1 is concerned.
+            if (!name.startsWith(":")) {
+                values.forEach(value -> headers.add(new Header(name, value)));
+            }
+        });
+        final Headers all = new Headers(headers);
+
+        // HTTP/2 has no reason phrase, so the standard one is filled in, as it is for any other response without one.
+        final ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(status)
+                .setStatusLine(api.protocol(response) + " " + status + (reason != null ? " " + reason : ""))
+                .setHeaders(all)
+                .setBody(new byte[0]);
+
+        if (all.hasHeaderWithName("Content-Type")) {
+            builder.setContentType(all.getValue("Content-Type"));
+        }
+
+        final Response built = builder.build();
+
+        // Every response Rest Assured creates, including those built by its ResponseBuilder, is one of its own.
+        ((RestAssuredResponseImpl) built).setContent(body);
+
+        return built;
+    }
+
+    /**
+     * A response body that fails, rather than just ending early, once the request has been aborted.
+     */
+    private static class AbortableBody extends FilterInputStream {
+
+        private volatile boolean aborted;
+
+        private AbortableBody(final InputStream body) {
+            super(body);
+        }
+
+        private void abort() {
+            aborted = true;
+            try {
+                in.close();
+            } catch (final IOException ignored) {
+                // Already aborted, reading any more will fail regardless.
+            }
+        }
+
+        private int checked(final int read) throws IOException {
+            if (aborted) {
+                throw new IOException("The request was aborted while reading the response body.");
+            }
+            return read;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checked(0);
+            return checked(super.read());
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            checked(0);
+            return checked(super.read(buffer, offset, length));
+        }
+    }
+
+    /**
+     * The parts of the java.net.http client that are used, looked up once.
+     */
+    private static class Api {
+
+        private static Api instance;
+
+        private final Method newClientBuilder;
+        private final Method clientVersion;
+        private final Method clientFollowRedirects;
+        private final Method clientConnectTimeout;
+        private final Method clientBuild;
+        private final Object http2;
+        private final Object followNormalRedirects;
+
+        private final Method newRequestBuilder;
+        private final Method requestMethod;
+        private final Method requestHeader;
+        private final Method requestTimeout;
+        private final Method requestBuild;
+        private final Method ofByteArray;
+        private final Method noBody;
+
+        private final Method sendAsync;
+        private final Object ofInputStream;
+
+        private final Method statusCode;
+        private final Method headers;
+        private final Method headersMap;
+        private final Method version;
+        private final Method body;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Api() throws ReflectiveOperationException {
+
+            final Class<?> client = Class.forName("java.net.http.HttpClient");
+            final Class<?> clientBuilder = Class.forName("java.net.http.HttpClient$Builder");
+            final Class<?> versions = Class.forName("java.net.http.HttpClient$Version");
+            final Class<?> redirects = Class.forName("java.net.http.HttpClient$Redirect");
+            final Class<?> request = Class.forName("java.net.http.HttpRequest");
+            final Class<?> requestBuilder = Class.forName("java.net.http.HttpRequest$Builder");
+            final Class<?> publisher = Class.forName("java.net.http.HttpRequest$BodyPublisher");
+            final Class<?> publishers = Class.forName("java.net.http.HttpRequest$BodyPublishers");
+            final Class<?> response = Class.forName("java.net.http.HttpResponse");
+            final Class<?> handler = Class.forName("java.net.http.HttpResponse$BodyHandler");
+            final Class<?> handlers = Class.forName("java.net.http.HttpResponse$BodyHandlers");
+            final Class<?> httpHeaders = Class.forName("java.net.http.HttpHeaders");
+
+            this.newClientBuilder = client.getMethod("newBuilder");
+            this.clientVersion = clientBuilder.getMethod("version", versions);
+            this.clientFollowRedirects = clientBuilder.getMethod("followRedirects", redirects);
+            this.clientConnectTimeout = clientBuilder.getMethod("connectTimeout", Duration.class);
+            this.clientBuild = clientBuilder.getMethod("build");
+            this.http2 = Enum.valueOf((Class) versions, "HTTP_2");
+            this.followNormalRedirects = Enum.valueOf((Class) redirects, "NORMAL");
+
+            this.newRequestBuilder = request.getMethod("newBuilder", URI.class);
+            this.requestMethod = requestBuilder.getMethod("method", String.class, publisher);
+            this.requestHeader = requestBuilder.getMethod("header", String.class, String.class);
+            this.requestTimeout = requestBuilder.getMethod("timeout", Duration.class);
+            this.requestBuild = requestBuilder.getMethod("build");
+            this.ofByteArray = publishers.getMethod("ofByteArray", byte[].class);
+            this.noBody = publishers.getMethod("noBody");
+
+            this.sendAsync = client.getMethod("sendAsync", request, handler);
+            this.ofInputStream = handlers.getMethod("ofInputStream").invoke(null);
+
+            this.statusCode = response.getMethod("statusCode");
+            this.headers = response.getMethod("headers");
+            this.headersMap = httpHeaders.getMethod("map");
+            this.version = response.getMethod("version");
+            this.body = response.getMethod("body");
+        }
+
+        private static synchronized Api get() {
+            if (instance == null) {
+                try {
+                    instance = new Api();
+                } catch (final ReflectiveOperationException exception) {
+                    throw new AssertionError("Sending requests over HTTP/2 needs Java 11 or later.", exception);
+                }
+            }
+            return instance;
+        }
+
+        /**
+         * @param connectTimeout in milliseconds, zero or less for the client's default.
+         */
+        private Object newClient(final int connectTimeout) {
+
+            final Object builder = invoke(newClientBuilder, null);
+            invoke(clientVersion, builder, http2);
+            invoke(clientFollowRedirects, builder, followNormalRedirects);
+            if (connectTimeout > 0) {
+                invoke(clientConnectTimeout, builder, Duration.ofMillis(connectTimeout));
+            }
+
+            return invoke(clientBuild, builder);
+        }
+
+        /**
+         * @param timeout in milliseconds to wait for the response headers, zero or less for no timeout.
+         */
+        private Object newRequest(final URI target, final InProcessRequest sent, final int timeout) {
+
+            final Object builder = invoke(newRequestBuilder, null, target);
+
+            final byte[] content = sent.getBody();
+            invoke(requestMethod, builder, sent.getMethod(), content.length == 0 ? invoke(noBody, null) : invoke(ofByteArray, null, (Object) content));
+
+            sent.getHeaders().forEach((name, values) -> {
+                if (!RESTRICTED_HEADERS.contains(name)) {
+                    values.forEach(value -> invoke(requestHeader, builder, name, value));
+                }
+            });
+
+            if (timeout > 0) {
+                invoke(requestTimeout, builder, Duration.ofMillis(timeout));
+            }
+
+            return invoke(requestBuild, builder);
+        }
+
+        private CompletableFuture<?> sendAsync(final Object client, final Object request) {
+            return (CompletableFuture<?>) invoke(sendAsync, client, request, ofInputStream);
+        }
+
+        private int statusCode(final Object response) {
+            return (Integer) invoke(statusCode, response);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, List<String>> headers(final Object response) {
+            return (Map<String, List<String>>) invoke(headersMap, invoke(headers, response));
+        }
+
+        /**
+         * @return the protocol as it appears in an HTTP/1.1 status line, such as HTTP/2 or HTTP/1.1.
+         */
+        private String protocol(final Object response) {
+            return "HTTP_2".equals(String.valueOf(invoke(version, response))) ? "HTTP/2" : "HTTP/1.1";
+        }
+
+        private InputStream body(final Object response) {
+            return (InputStream) invoke(body, response);
+        }
+
+        private static Object invoke(final Method method, final Object target, final Object... arguments) {
+            try {
+                return method.invoke(target, arguments);
+            } catch (final InvocationTargetException exception) {
+                final Throwable cause = exception.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new AssertionError("Unable to call the java.net.http client.", cause);
+            } catch (final IllegalAccessException exception) {
+                throw new AssertionError("Unable to call the java.net.http client.", exception);
+            }
+        }
+    }
+}
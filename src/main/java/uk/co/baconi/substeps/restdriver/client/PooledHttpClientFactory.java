@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import com.jayway.restassured.config.HttpClientConfig;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates Rest Assured http clients that all share the one pool of keep-alive connections.
+ */
+@SuppressWarnings("deprecation")
+public class PooledHttpClientFactory implements HttpClientConfig.HttpClientFactory, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PooledHttpClientFactory.class);
+
+    private final PoolingClientConnectionManager pool;
+    private final SharedClientConnectionManager sharedPool;
+    private final ConnectionKeepAliveStrategy keepAliveStrategy;
+    private final ScheduledExecutorService evictor;
+
+    public PooledHttpClientFactory(final RestDriverSubstepsConfiguration configuration) {
+
+        this.pool = new TimedClientConnectionManager(configuration.getPoolTimeToLive(), TimeUnit.MILLISECONDS);
+        this.pool.setMaxTotal(configuration.getPoolMaxTotal());
+        this.pool.setDefaultMaxPerRoute(configuration.getPoolMaxPerRoute());
+        this.sharedPool = new SharedClientConnectionManager(pool);
+
+        this.keepAliveStrategy = new KeepAliveStrategy(configuration.getPoolKeepAlive());
+
+        //
+        // Evict expired and idle connections in the background, so we don't try to reuse one the server has closed.
+        //
+        final long idleTimeout = configuration.getPoolIdleTimeout();
+        final long evictionInterval = configuration.getPoolEvictionInterval();
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "RestDriver-IdleConnectionEvictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictor.scheduleWithFixedDelay(() -> {
+            pool.closeExpiredConnections();
+            pool.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }, evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+
+        LOG.debug(
+                "Created connection pool with max total [{}], max per route [{}], idle timeout [{}ms] and keep alive [{}ms].",
+                configuration.getPoolMaxTotal(), configuration.getPoolMaxPerRoute(), idleTimeout, configuration.getPoolKeepAlive()
+        );
+    }
+
+    @Override
+    public AbstractHttpClient createHttpClient() {
+
+        // Clients are cheap to create, the connections they lease from the shared pool are not.
+        final DefaultHttpClient client = new DefaultHttpClient(sharedPool);
+        client.setKeepAliveStrategy(keepAliveStrategy);
+        client.addRequestInterceptor(RequestDeadline.INTERCEPTOR);
+        client.addRequestInterceptor(RequestTimings.REQUEST_INTERCEPTOR);
+        client.addResponseInterceptor(RequestTimings.RESPONSE_INTERCEPTOR);
+
+        return client;
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        pool.shutdown();
+    }
+
+    /**
+     * Uses the Keep-Alive header from the server when present, otherwise the configured default.
+     */
+    private static class KeepAliveStrategy extends DefaultConnectionKeepAliveStrategy {
+
+        private final long defaultKeepAlive;
+
+        private KeepAliveStrategy(final long defaultKeepAlive) {
+            this.defaultKeepAlive = defaultKeepAlive;
+        }
+
+        @Override
+        public long getKeepAliveDuration(final HttpResponse response, final HttpContext context) {
+            final long keepAlive = super.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? keepAlive : defaultKeepAlive;
+        }
+    }
+}
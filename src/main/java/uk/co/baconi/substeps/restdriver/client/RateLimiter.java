@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A token bucket that paces requests to a steady rate, allowing a burst of requests through at once after being idle.
+ * Callers over the rate wait for their turn rather than being rejected.
+ */
+public class RateLimiter {
+
+    private final double requestsPerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    // When the next request may go, earlier than now when there are tokens left in the bucket.
+    private long nextFree = System.nanoTime();
+
+    /**
+     * @param requestsPerSecond the steady rate to pace requests to.
+     * @param burst             the number of requests allowed through at once after being idle, at least one.
+     */
+    public RateLimiter(final double requestsPerSecond, final int burst) {
+
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit must be more than zero requests per second, not [" + requestsPerSecond + "].");
+        }
+
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstNanos = (this.burst - 1) * intervalNanos;
+    }
+
+    /**
+     * Takes a token, waiting until one is available.
+     *
+     * @return the time spent waiting, in nanoseconds.
+     */
+    public long acquire() {
+
+        final long now = System.nanoTime();
+        final long wait;
+        synchronized (this) {
+            // Tokens only build up while idle, to at most a full bucket.
+            nextFree = Math.max(nextFree, now - burstNanos);
+            wait = Math.max(0, nextFree - now);
+            nextFree += intervalNanos;
+        }
+
+        // The token is reserved, so wait outside of the lock to let others reserve the ones after it.
+        final long deadline = now + wait;
+        for (long remaining = wait; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("Interrupted while waiting for the rate limit.");
+            }
+        }
+
+        return wait;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter{requestsPerSecond=" + requestsPerSecond + ", burst=" + burst + "}";
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The rate limits every request is paced by: the suite wide limit, the limit for the host being requested and the
+ * limit of the feature performing the request, all from configuration apart from the feature's.
+ */
+public class RateLimits {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimits.class);
+
+    private static final RateLimiter GLOBAL = createGlobal(RestDriverSubstepsConfiguration.PROPERTIES);
+
+    private static final Map<String, RateLimiter> HOSTS = createHosts(RestDriverSubstepsConfiguration.PROPERTIES);
+
+    // How long the last request on this thread waited, so the scenario can see it once the request has completed.
+    private static final ThreadLocal<Long> LAST_WAIT = ThreadLocal.withInitial(() -> 0L);
+
+    private RateLimits() {
+    }
+
+    /**
+     * Waits for a token from every limit that applies to the request.
+     *
+     * @param fullUrl the url being requested, to find the host's limit.
+     * @param feature the limit of the feature performing the request, or null if it hasn't set one.
+     * @return the total time spent waiting, in nanoseconds.
+     */
+    public static long acquire(final String fullUrl, final RateLimiter feature) {
+
+        long wait = 0;
+
+        if (GLOBAL != null) {
+            wait += GLOBAL.acquire();
+        }
+
+        final RateLimiter host = HOSTS.get(hostOf(fullUrl));
+        if (host != null) {
+            wait += host.acquire();
+        }
+
+        if (feature != null) {
+            wait += feature.acquire();
+        }
+
+        if (wait > 0) {
+            LOG.debug("Waited [{}ns] for the rate limit before requesting [{}].", wait, fullUrl);
+        }
+
+        LAST_WAIT.set(wait);
+
+        return wait;
+    }
+
+    /**
+     * @return how long the last request performed on the current thread waited for the rate limit, in nanoseconds.
+     */
+    public static long getLastWait() {
+        return LAST_WAIT.get();
+    }
+
+    /**
+     * @return a new limit, using the configured burst, for a feature to pace its requests by.
+     */
+    public static RateLimiter create(final double requestsPerSecond) {
+        return new RateLimiter(requestsPerSecond, RestDriverSubstepsConfiguration.PROPERTIES.getRateLimitBurst());
+    }
+
+    /**
+     * Parsed by hand, as urls can still contain path parameter templates that a URI won't accept.
+     */
+    static String hostOf(final String fullUrl) {
+
+        final int schemeEnd = fullUrl.indexOf("://");
+        if (schemeEnd < 0) {
+            return "";
+        }
+
+        final int hostStart = schemeEnd + 3;
+        int hostEnd = hostStart;
+        while (hostEnd < fullUrl.length() && "/:?#".indexOf(fullUrl.charAt(hostEnd)) < 0) {
+            hostEnd++;
+        }
+
+        return fullUrl.substring(hostStart, hostEnd).toLowerCase();
+    }
+
+    private static RateLimiter createGlobal(final RestDriverSubstepsConfiguration configuration) {
+        final double requestsPerSecond = configuration.getRateLimitRequestsPerSecond();
+        return requestsPerSecond > 0 ? new RateLimiter(requestsPerSecond, configuration.getRateLimitBurst()) : null;
+    }
+
+    private static Map<String, RateLimiter> createHosts(final RestDriverSubstepsConfiguration configuration) {
+
+        final Map<String, RateLimiter> hosts = new HashMap<>();
+        configuration.getRateLimitHosts().forEach((host, requestsPerSecond) -> {
+            if (requestsPerSecond > 0) {
+                hosts.put(host.toLowerCase(), new RateLimiter(requestsPerSecond, configuration.getRateLimitBurst()));
+            }
+        });
+
+        return Collections.unmodifiableMap(hosts);
+    }
+}
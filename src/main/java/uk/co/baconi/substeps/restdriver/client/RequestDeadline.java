@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.RequestWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An overall deadline for a request, covering connecting, sending and reading the whole response.
+ * <p>
+ * Aborting the request also aborts reading its body, so it must only be closed once the body has been read, or a
+ * server that answers with its headers straight away but trickles the body would never be cut off.
+ * <p>
+ * Requests are executed on the thread that started the deadline, where the interceptor picks it up and schedules the
+ * request to be aborted if it is still running once the deadline has passed.
+ */
+@SuppressWarnings("deprecation")
+public class RequestDeadline implements AutoCloseable {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "RestDriver-RequestDeadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static final HttpRequestInterceptor INTERCEPTOR = (request, context) -> {
+        final RequestDeadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.watch(request);
+        }
+    };
+
+    private final long timeout;
+    private final long deadline;
+    private final AtomicBoolean expired = new AtomicBoolean(false);
+    private final List<ScheduledFuture<?>> aborts = new ArrayList<>();
+
+    private RequestDeadline(final long timeout) {
+        this.timeout = timeout;
+        this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+    }
+
+    /**
+     * @param timeout the deadline in milliseconds, zero or less means there is no deadline.
+     * @return the deadline now active on the current thread, which must be closed once the request has completed.
+     */
+    public static RequestDeadline start(final long timeout) {
+        final RequestDeadline deadline = new RequestDeadline(timeout);
+        if (timeout > 0) {
+            CURRENT.set(deadline);
+        }
+        return deadline;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public boolean hasExpired() {
+        return expired.get();
+    }
+
+    /**
+     * Runs the abort, once the deadline has passed, if the request being performed on the current thread is still
+     * running, for requests sent without the http client.
+     */
+    public static void onExpiry(final Runnable abort) {
+        final RequestDeadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.schedule(abort);
+        }
+    }
+
+    private void watch(final HttpRequest request) {
+
+        final HttpRequest original = request instanceof RequestWrapper ? ((RequestWrapper) request).getOriginal() : request;
+        if (original instanceof HttpUriRequest) {
+            schedule(((HttpUriRequest) original)::abort);
+        }
+    }
+
+    private void schedule(final Runnable abort) {
+
+        final Runnable expire = () -> {
+            expired.set(true);
+            abort.run();
+        };
+
+        final long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            expire.run();
+        } else {
+            synchronized (aborts) {
+                aborts.add(SCHEDULER.schedule(expire, remaining, TimeUnit.NANOSECONDS));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (aborts) {
+            aborts.forEach(abort -> abort.cancel(false));
+            aborts.clear();
+        }
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+}
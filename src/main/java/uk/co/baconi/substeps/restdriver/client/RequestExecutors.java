@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors that perform requests in the background, on virtual threads when they're enabled and the
+ * JVM supports them, and limits how many requests can be in flight at once across the whole suite.
+ * <p>
+ * The driver is built for Java 8, so virtual threads are only ever reached through reflection.
+ */
+public class RequestExecutors {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestExecutors.class);
+
+    private static final boolean VIRTUAL_THREADS = RestDriverSubstepsConfiguration.PROPERTIES.isVirtualThreads() && supportsVirtualThreads();
+
+    private static final int MAX_CONCURRENT_REQUESTS = RestDriverSubstepsConfiguration.PROPERTIES.getMaxConcurrentRequests();
+
+    private static final Semaphore PERMITS = MAX_CONCURRENT_REQUESTS > 0 ? new Semaphore(MAX_CONCURRENT_REQUESTS, true) : null;
+
+    private RequestExecutors() {
+    }
+
+    /**
+     * @return true if background requests are performed on virtual threads.
+     */
+    public static boolean isVirtualThreads() {
+        return VIRTUAL_THREADS;
+    }
+
+    /**
+     * @param name    prefix for the names of the threads created.
+     * @param threads the number of platform threads to use, or zero to create them as needed. Ignored for virtual
+     *                threads, which are always created per task.
+     * @return a new executor, which the caller is responsible for shutting down.
+     */
+    public static ExecutorService newExecutor(final String name, final int threads) {
+
+        if (VIRTUAL_THREADS) {
+            return newVirtualThreadPerTaskExecutor(name);
+        }
+
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadFactory factory = runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        // Idle cached threads are released after a minute, so they cost nothing between bursts of requests.
+        return threads > 0 ? Executors.newFixedThreadPool(threads, factory) : Executors.newCachedThreadPool(factory);
+    }
+
+    /**
+     * Waits until another request is allowed to be in flight, every call must be followed by {@link #release()}.
+     */
+    public static void acquire() {
+
+        if (PERMITS == null) {
+            return;
+        }
+
+        try {
+            PERMITS.acquire();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while waiting to perform a request.", exception);
+        }
+    }
+
+    public static void release() {
+        if (PERMITS != null) {
+            PERMITS.release();
+        }
+    }
+
+    private static boolean supportsVirtualThreads() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return true;
+        } catch (final NoSuchMethodException exception) {
+            LOG.warn("Virtual threads were enabled but aren't supported by Java [{}], using platform threads instead.", System.getProperty("java.version"));
+            return false;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor(final String name) {
+        try {
+
+            // Thread.ofVirtual().name(name + "-", 1).factory()
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Object named = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+            final ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(named);
+
+            final Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+
+        } catch (final ReflectiveOperationException exception) {
+            throw new IllegalStateException("Unable to create virtual threads.", exception);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import uk.co.baconi.substeps.restdriver.metrics.EndpointLatencies;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything about how to perform a request that is held in the scenario, read up front on the scenario's thread so
+ * the request can then be performed from any thread.
+ */
+public class RequestOptions {
+
+    private final long requestTimeout;
+    private final List<EndpointLatencies> latencies;
+    private final RateLimiter rateLimiter;
+    private final long responseSpoolThreshold;
+
+    public RequestOptions(
+            final long requestTimeout, final List<EndpointLatencies> latencies, final RateLimiter rateLimiter, final long responseSpoolThreshold
+    ) {
+        this.requestTimeout = requestTimeout;
+        this.latencies = Collections.unmodifiableList(latencies);
+        this.rateLimiter = rateLimiter;
+        this.responseSpoolThreshold = responseSpoolThreshold;
+    }
+
+    /**
+     * @return the overall deadline in milliseconds, zero or less means there is no deadline.
+     */
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * @return the latencies of each scope that the request should be recorded in.
+     */
+    public List<EndpointLatencies> getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @return the rate limit of the feature, in addition to the suite wide and per host limits, or null if there isn't one.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @return response bodies bigger than this many bytes are spooled to disk as they're read.
+     */
+    public long getResponseSpoolThreshold() {
+        return responseSpoolThreshold;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Where the time went while performing a request, along with how many bytes went over the wire.
+ * <p>
+ * Requests are executed on the thread that started the timings, where the connection operator and interceptors pick
+ * them up. Times are all in nanoseconds, and accumulate across any redirects the request follows.
+ */
+public class RequestTimings implements AutoCloseable {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    // The last request completed on this thread, so whoever performed it can see where its time went.
+    private static final ThreadLocal<RequestTimings> LAST = new ThreadLocal<>();
+
+    private static final String SENT_BYTES_BEFORE = "REST_DRIVER_SENT_BYTES_BEFORE";
+
+    static final HttpRequestInterceptor REQUEST_INTERCEPTOR = (request, context) -> {
+        final HttpConnection connection = getConnection(context);
+        if (CURRENT.get() != null && connection != null) {
+            context.setAttribute(SENT_BYTES_BEFORE, connection.getMetrics().getSentBytesCount());
+        }
+    };
+
+    static final HttpResponseInterceptor RESPONSE_INTERCEPTOR = (response, context) -> {
+        final RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+
+            if (timings.firstByte < 0) {
+                timings.firstByte = System.nanoTime() - timings.start;
+            }
+
+            final HttpConnection connection = getConnection(context);
+            final Object sentBefore = context.getAttribute(SENT_BYTES_BEFORE);
+            if (connection != null && sentBefore instanceof Long) {
+                timings.bytesSent += connection.getMetrics().getSentBytesCount() - (Long) sentBefore;
+            }
+
+            // Counted as it's read off the wire, before any content encoding is decoded.
+            final HttpEntity entity = response.getEntity();
+            if (entity != null) {
+                response.setEntity(new CountingEntity(entity, timings));
+            }
+        }
+    };
+
+    private final long start = System.nanoTime();
+    private long dns;
+    private long connect;
+    private long firstByte = -1;
+    private long total = -1;
+    private long bytesSent;
+    private long bytesReceived;
+    private long rateLimitWait;
+
+    private RequestTimings() {
+    }
+
+    /**
+     * @return the timings now active on the current thread, which must be closed once the request has completed.
+     */
+    public static RequestTimings start() {
+        final RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * @return the timings of the last request completed on the current thread, or null if there hasn't been one.
+     */
+    public static RequestTimings getLast() {
+        return LAST.get();
+    }
+
+    static void recordDns(final long nanos) {
+        final RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.dns += nanos;
+        }
+    }
+
+    static void recordConnect(final long nanos) {
+        final RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.connect += nanos;
+        }
+    }
+
+    /**
+     * Records the request as sent and its response headers as read, for requests sent without the http client.
+     *
+     * @param bytesSent the bytes of request body sent.
+     */
+    static void recordResponseHeaders(final long bytesSent) {
+        final RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.bytesSent += bytesSent;
+            if (timings.firstByte < 0) {
+                timings.firstByte = System.nanoTime() - timings.start;
+            }
+        }
+    }
+
+    /**
+     * @return the response body, counting what's read from it, for requests sent without the http client.
+     */
+    static InputStream countReceived(final InputStream body) {
+        final RequestTimings timings = CURRENT.get();
+        return timings != null ? new CountingInputStream(body, timings) : body;
+    }
+
+    private static HttpConnection getConnection(final HttpContext context) {
+        final Object connection = context.getAttribute(HttpCoreContext.HTTP_CONNECTION);
+        return connection instanceof HttpConnection ? (HttpConnection) connection : null;
+    }
+
+    /**
+     * Marks the request as complete, which must only be called once the whole response body has been read.
+     */
+    public void finish() {
+        if (total < 0) {
+            total = System.nanoTime() - start;
+        }
+    }
+
+    public long getDns() {
+        return dns;
+    }
+
+    /**
+     * @return the time spent opening connections, excluding the DNS lookup, zero when a pooled connection was reused.
+     */
+    public long getConnect() {
+        return connect;
+    }
+
+    /**
+     * @return the time until the status line and headers of the first response had been read, or -1 if there wasn't one.
+     */
+    public long getFirstByte() {
+        return firstByte;
+    }
+
+    public long getTotal() {
+        return total < 0 ? System.nanoTime() - start : total;
+    }
+
+    /**
+     * @return the bytes sent for the request line, headers and body.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * @return the bytes of response body received.
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * @return the time spent waiting for the rate limit before the request was sent, which isn't part of the total.
+     */
+    public long getRateLimitWait() {
+        return rateLimitWait;
+    }
+
+    public void setRateLimitWait(final long rateLimitWait) {
+        this.rateLimitWait = rateLimitWait;
+    }
+
+    @Override
+    public void close() {
+        finish();
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        LAST.set(this);
+    }
+
+    /**
+     * Counts the bytes read from the response body, into the timings of the request it belongs to.
+     */
+    private static class CountingEntity extends HttpEntityWrapper {
+
+        private final RequestTimings timings;
+
+        private CountingEntity(final HttpEntity wrapped, final RequestTimings timings) {
+            super(wrapped);
+            this.timings = timings;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new CountingInputStream(super.getContent(), timings);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final RequestTimings timings;
+
+        private CountingInputStream(final InputStream body, final RequestTimings timings) {
+            super(body);
+            this.timings = timings;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read >= 0) {
+                timings.bytesReceived++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                timings.bytesReceived += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long length) throws IOException {
+            final long skipped = super.skip(length);
+            timings.bytesReceived += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.config.RestAssuredConfig;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+
+/**
+ * Holds the suite scoped http client pool, that all requests are sent through.
+ */
+public class RestDriverHttpClient {
+
+    private static PooledHttpClientFactory factory;
+
+    private RestDriverHttpClient() {
+    }
+
+    public static synchronized void start() {
+        if (factory == null) {
+            factory = new PooledHttpClientFactory(RestDriverSubstepsConfiguration.PROPERTIES);
+        }
+    }
+
+    public static synchronized void stop() {
+        if (factory != null) {
+            factory.close();
+            factory = null;
+        }
+    }
+
+    /**
+     * @return the Rest Assured configuration to send requests through the pool, starting it if needed.
+     */
+    public static synchronized RestAssuredConfig getConfig() {
+        start();
+
+        final RestAssuredConfig config = RestAssured.config();
+        return config.httpClient(config.getHttpClientConfig().httpClientFactory(factory));
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delegates to a suite wide connection pool, but ignores any requests to shut it down.
+ * <p>
+ * Rest Assured shuts down the connection manager of every client it has finished with, this stops that from closing
+ * the pooled connections that the next request wants to reuse.
+ */
+@SuppressWarnings("deprecation")
+class SharedClientConnectionManager implements ClientConnectionManager {
+
+    private final ClientConnectionManager delegate;
+
+    SharedClientConnectionManager(final ClientConnectionManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SchemeRegistry getSchemeRegistry() {
+        return delegate.getSchemeRegistry();
+    }
+
+    @Override
+    public ClientConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+        return delegate.requestConnection(route, state);
+    }
+
+    @Override
+    public void releaseConnection(final ManagedClientConnection connection, final long validDuration, final TimeUnit timeUnit) {
+        delegate.releaseConnection(connection, validDuration, timeUnit);
+    }
+
+    @Override
+    public void closeIdleConnections(final long idleTime, final TimeUnit timeUnit) {
+        delegate.closeIdleConnections(idleTime, timeUnit);
+    }
+
+    @Override
+    public void closeExpiredConnections() {
+        delegate.closeExpiredConnections();
+    }
+
+    @Override
+    public void shutdown() {
+        // Intentionally empty, the pool is shutdown by the PooledHttpClientFactory at the end of the suite.
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A connection pool that records how long DNS lookups and opening new connections take, into the current request's
+ * {@link RequestTimings}. Connections to the hosts standing in for unix domain sockets are opened over the socket.
+ */
+@SuppressWarnings("deprecation")
+class TimedClientConnectionManager extends PoolingClientConnectionManager {
+
+    TimedClientConnectionManager(final long timeToLive, final TimeUnit unit) {
+        super(SchemeRegistryFactory.createDefault(), timeToLive, unit);
+    }
+
+    @Override
+    protected TimedConnectionOperator createConnectionOperator(final SchemeRegistry schemes) {
+        return new TimedConnectionOperator(schemes);
+    }
+
+    private static class TimedConnectionOperator extends DefaultClientConnectionOperator {
+
+        // Connections are opened on the requesting thread, so this only ever sees one lookup at a time.
+        private final ThreadLocal<Long> dnsDuringOpen = new ThreadLocal<>();
+
+        private TimedConnectionOperator(final SchemeRegistry schemes) {
+            super(schemes);
+        }
+
+        @Override
+        protected InetAddress[] resolveHostname(final String host) throws UnknownHostException {
+            final long start = System.nanoTime();
+            try {
+                return super.resolveHostname(host);
+            } finally {
+                final long elapsed = System.nanoTime() - start;
+                dnsDuringOpen.set(elapsed);
+                RequestTimings.recordDns(elapsed);
+            }
+        }
+
+        @Override
+        public void openConnection(
+                final OperatedClientConnection connection, final HttpHost target, final InetAddress local,
+                final HttpContext context, final HttpParams params
+        ) throws IOException {
+
+            final long start = System.nanoTime();
+            try {
+                final Optional<String> socket = UnixDomainSockets.socketFor(target.getHostName());
+                if (socket.isPresent()) {
+                    openUnixConnection(connection, target, socket.get(), context, params);
+                } else {
+                    super.openConnection(connection, target, local, context, params);
+                }
+            } finally {
+                final Long dns = dnsDuringOpen.get();
+                dnsDuringOpen.remove();
+                RequestTimings.recordConnect(System.nanoTime() - start - (dns == null ? 0 : dns));
+            }
+        }
+
+        /**
+         * Opens the connection over the unix domain socket the host stands in for, with no DNS lookup to make.
+         */
+        private void openUnixConnection(
+                final OperatedClientConnection connection, final HttpHost target, final String socket,
+                final HttpContext context, final HttpParams params
+        ) throws IOException {
+
+            final Socket connected = UnixDomainSockets.connect(socket, HttpConnectionParams.getConnectionTimeout(params));
+            connection.opening(connected, target);
+            prepareSocket(connected, context, params);
+            connection.openCompleted(false, params);
+        }
+    }
+}
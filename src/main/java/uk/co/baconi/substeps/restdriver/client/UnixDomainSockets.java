@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends requests for unix: urls over AF_UNIX socket channels, for example unix:/var/run/sidecar.sock/users/1 is a
+ * request for /users/1 sent over the socket at /var/run/sidecar.sock. The socket is the first part of the path that
+ * exists and isn't a directory.
+ * <p>
+ * Each socket is given a made up host name under .localhost, and its urls are sent as http urls to that host, so they
+ * go through the same connection pool, timeouts and timings as any other request. Only opening the connection
+ * differs, which happens in {@link TimedClientConnectionManager} in place of the DNS lookup and TCP connect.
+ * <p>
+ * The driver is built for Java 8, so the socket channels, added in Java 16, are only ever reached through reflection.
+ */
+public class UnixDomainSockets {
+
+    public static final String SCHEME = "unix:";
+
+    private static final String HOST_SUFFIX = ".unix-socket.localhost";
+
+    private static final Map<String, String> HOSTS_BY_SOCKET = new ConcurrentHashMap<>();
+    private static final Map<String, String> SOCKETS_BY_HOST = new ConcurrentHashMap<>();
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    private UnixDomainSockets() {
+    }
+
+    public static boolean isUnix(final String fullUrl) {
+        return fullUrl.startsWith(SCHEME);
+    }
+
+    /**
+     * @return the http url to send the request for the unix: url to.
+     */
+    public static String toHttpUrl(final String fullUrl) {
+
+        // Accept unix:/path, unix://path and unix:///path alike.
+        String path = fullUrl.substring(SCHEME.length());
+        while (path.startsWith("//")) {
+            path = path.substring(1);
+        }
+
+        final String socket = findSocket(path);
+        final String host = HOSTS_BY_SOCKET.computeIfAbsent(socket, key -> {
+            final String created = "socket-" + COUNT.incrementAndGet() + HOST_SUFFIX;
+            SOCKETS_BY_HOST.put(created, key);
+            return created;
+        });
+
+        final String request = path.substring(socket.length());
+        return "http://" + host + (request.startsWith("/") ? request : "/" + request);
+    }
+
+    /**
+     * @return the path of the socket the host stands in for, if it's one of ours.
+     */
+    static Optional<String> socketFor(final String host) {
+        return host.endsWith(HOST_SUFFIX) ? Optional.ofNullable(SOCKETS_BY_HOST.get(host)) : Optional.empty();
+    }
+
+    /**
+     * @param connectTimeout in milliseconds, zero or less for no timeout.
+     * @return a socket connected to the unix domain socket, honouring any read timeout set on it.
+     */
+    static Socket connect(final String path, final int connectTimeout) throws IOException {
+
+        final SocketChannel channel = openChannel();
+        try {
+
+            // Connecting to a local socket either succeeds or fails straight away, but honour the timeout regardless.
+            channel.configureBlocking(false);
+            if (!channel.connect(address(path))) {
+                try (final Selector selector = Selector.open()) {
+                    channel.register(selector, SelectionKey.OP_CONNECT);
+                    if (selector.select(Math.max(connectTimeout, 0)) == 0) {
+                        throw new SocketTimeoutException("Connecting to unix domain socket [" + path + "] timed out.");
+                    }
+                }
+                channel.finishConnect();
+            }
+
+            return new UnixSocket(channel, path);
+
+        } catch (final IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    private static String findSocket(final String path) {
+
+        for (int end = path.indexOf('/', 1); ; end = path.indexOf('/', end + 1)) {
+
+            final String candidate = end < 0 ? queryless(path) : path.substring(0, end);
+            if (HOSTS_BY_SOCKET.containsKey(candidate)) {
+                return candidate;
+            }
+
+            final File file = new File(candidate);
+            if (file.exists() && !file.isDirectory()) {
+                return candidate;
+            }
+
+            if (end < 0) {
+                throw new AssertionError("No unix domain socket found in [" + SCHEME + path + "].");
+            }
+        }
+    }
+
+    private static String queryless(final String path) {
+        final int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+
+    private static SocketChannel openChannel() throws IOException {
+        try {
+            final ProtocolFamily unix = StandardProtocolFamily.valueOf("UNIX");
+            final Method open = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+            return (SocketChannel) open.invoke(null, unix);
+        } catch (final IllegalArgumentException | NoSuchMethodException | IllegalAccessException exception) {
+            throw new IOException("Unix domain sockets need Java 16 or later.", exception);
+        } catch (final InvocationTargetException exception) {
+            throw rethrow(exception);
+        }
+    }
+
+    private static SocketAddress address(final String path) throws IOException {
+        try {
+            final Method of = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+            return (SocketAddress) of.invoke(null, path);
+        } catch (final ClassNotFoundException | NoSuchMethodException | IllegalAccessException exception) {
+            throw new IOException("Unix domain sockets need Java 16 or later.", exception);
+        } catch (final InvocationTargetException exception) {
+            throw rethrow(exception);
+        }
+    }
+
+    private static IOException rethrow(final InvocationTargetException exception) {
+        final Throwable cause = exception.getCause();
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        return new IOException(cause);
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A connected unix domain socket channel, dressed up as a {@link Socket} for the http client, which only knows how to
+ * use sockets. Unix domain channels can't be turned into sockets themselves.
+ * <p>
+ * The channel is non-blocking underneath, so reads honour the socket timeout just as a TCP socket's would. TCP only
+ * options, such as no delay and linger, are accepted and ignored.
+ */
+class UnixSocket extends Socket {
+
+    private final SocketChannel channel;
+    private final String path;
+    private final Selector readSelector;
+    private final Selector writeSelector;
+    private final InputStream input;
+    private final OutputStream output;
+
+    private volatile int soTimeout;
+
+    UnixSocket(final SocketChannel channel, final String path) throws IOException {
+        this.channel = channel;
+        this.path = path;
+        this.readSelector = Selector.open();
+        this.writeSelector = Selector.open();
+        channel.register(readSelector, SelectionKey.OP_READ);
+        channel.register(writeSelector, SelectionKey.OP_WRITE);
+        this.input = new ChannelInputStream();
+        this.output = new ChannelOutputStream();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        checkOpen();
+        return input;
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        checkOpen();
+        return output;
+    }
+
+    @Override
+    public void setSoTimeout(final int timeout) {
+        this.soTimeout = timeout;
+    }
+
+    @Override
+    public int getSoTimeout() {
+        return soTimeout;
+    }
+
+    @Override
+    public void setTcpNoDelay(final boolean on) {
+        // Not applicable to unix domain sockets.
+    }
+
+    @Override
+    public void setSoLinger(final boolean on, final int linger) {
+        // Not applicable to unix domain sockets.
+    }
+
+    @Override
+    public void setKeepAlive(final boolean on) {
+        // Not applicable to unix domain sockets.
+    }
+
+    @Override
+    public void setSendBufferSize(final int size) {
+        // Left to the operating system.
+    }
+
+    @Override
+    public void setReceiveBufferSize(final int size) {
+        // Left to the operating system.
+    }
+
+    @Override
+    public boolean isConnected() {
+        return channel.isConnected();
+    }
+
+    @Override
+    public boolean isBound() {
+        return channel.isConnected();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return !channel.isOpen();
+    }
+
+    @Override
+    public boolean isInputShutdown() {
+        return !channel.isOpen();
+    }
+
+    @Override
+    public boolean isOutputShutdown() {
+        return !channel.isOpen();
+    }
+
+    @Override
+    public void shutdownInput() throws IOException {
+        channel.shutdownInput();
+    }
+
+    @Override
+    public void shutdownOutput() throws IOException {
+        channel.shutdownOutput();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            readSelector.close();
+            writeSelector.close();
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UnixSocket[" + path + "]";
+    }
+
+    /**
+     * @return whether the channel became ready before the timeout, failing if the socket is closed while waiting.
+     */
+    private boolean await(final Selector selector, final int timeout) throws IOException {
+        try {
+            selector.selectedKeys().clear();
+            final int selected = selector.select(timeout);
+            checkOpen();
+            return selected > 0;
+        } catch (final ClosedSelectorException exception) {
+            throw new SocketException("Socket is closed");
+        }
+    }
+
+    private void checkOpen() throws SocketException {
+        if (!channel.isOpen()) {
+            throw new SocketException("Socket is closed");
+        }
+    }
+
+    private class ChannelInputStream extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            final int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+
+            if (length == 0) {
+                return 0;
+            }
+
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+            for (; ; ) {
+
+                final int read = channel.read(buffer);
+                if (read != 0) {
+                    return read;
+                }
+
+                // Nothing to read yet, so wait for something up to the socket timeout, where zero waits forever.
+                if (!await(readSelector, soTimeout) && soTimeout > 0) {
+                    throw new SocketTimeoutException("Read timed out");
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            UnixSocket.this.close();
+        }
+    }
+
+    private class ChannelOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int value) throws IOException {
+            write(new byte[]{(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+            while (buffer.hasRemaining()) {
+                if (channel.write(buffer) == 0) {
+                    // The socket's buffer is full, wait for the other end to read some of it.
+                    await(writeSelector, 0);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            UnixSocket.this.close();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import uk.co.baconi.substeps.restdriver.builders.impl.FormRequestBodyBuilder;
 import uk.co.baconi.substeps.restdriver.builders.impl.JsonArrayRequestBodyBuilder;
 import uk.co.baconi.substeps.restdriver.builders.impl.JsonFromUriRequestBodyBuilder;
 import uk.co.baconi.substeps.restdriver.builders.impl.JsonObjectRequestBodyBuilder;
+import uk.co.baconi.substeps.restdriver.builders.impl.StreamingFromUriRequestBodyBuilder;
 
 public class RequestBodyBuilderConverter implements Converter<RequestBodyBuilder> {
 
@@ -54,6 +55,10 @@ public class RequestBodyBuilderConverter implements Converter<RequestBodyBuilder
                     builder = new JsonFromUriRequestBodyBuilder();
                     break;
                 }
+                case "StreamingFromUriRequestBodyBuilder": {
+                    builder = new StreamingFromUriRequestBodyBuilder();
+                    break;
+                }
                 case "FormRequestBodyBuilder": {
                     builder = new FormRequestBodyBuilder();
                     break;
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.inprocess;
+
+/**
+ * An application running in the same JVM, answering requests sent to its inproc:// urls without any sockets.
+ * <p>
+ * Handlers may be called from several threads at once, by async requests and load generation.
+ */
+@FunctionalInterface
+public interface InProcessHandler {
+
+    /**
+     * @param request the request, as it would have been sent over the network.
+     * @return the response to answer with.
+     * @throws Exception anything thrown fails the step performing the request.
+     */
+    InProcessResponse handle(InProcessRequest request) throws Exception;
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.inprocess;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request sent to an {@link InProcessHandler}, holding everything that would have been sent over the network.
+ */
+public class InProcessRequest {
+
+    private final String method;
+    private final String path;
+    private final String query;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+
+    /**
+     * @param headers by name, which should ignore case.
+     */
+    public InProcessRequest(final String method, final String path, final String query, final Map<String, List<String>> headers, final byte[] body) {
+        this.method = method;
+        this.path = path;
+        this.query = query;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.body = body;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the path, starting with a slash, not including the inproc:// scheme or handler name.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the encoded query string, without the leading question mark, empty if there isn't one.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return every header, by name ignoring case.
+     */
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the first value of the header, or null if there isn't one.
+     */
+    public String getHeader(final String name) {
+        final List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getBodyAsString(final Charset charset) {
+        return new String(body, charset);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path + (query.isEmpty() ? "" : "?" + query);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.inprocess;
+
+import com.jayway.restassured.builder.ResponseBuilder;
+import com.jayway.restassured.response.Header;
+import com.jayway.restassured.response.Headers;
+import com.jayway.restassured.response.Response;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The response an {@link InProcessHandler} answers with, built up fluently:
+ * <pre>
+ * InProcessResponse.status(200).header("Content-Type", "application/json").body("{}")
+ * </pre>
+ */
+public class InProcessResponse {
+
+    private final int status;
+    private final List<Header> headers = new ArrayList<>();
+    private byte[] body = new byte[0];
+
+    private InProcessResponse(final int status) {
+        this.status = status;
+    }
+
+    public static InProcessResponse status(final int status) {
+        return new InProcessResponse(status);
+    }
+
+    public InProcessResponse header(final String name, final String value) {
+        headers.add(new Header(name, value));
+        return this;
+    }
+
+    public InProcessResponse body(final byte[] body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * @param body sent as UTF-8.
+     */
+    public InProcessResponse body(final String body) {
+        return body(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return a new response, as if it had been received over HTTP/1.1.
+     */
+    Response toResponse() {
+
+        final String reason = EnglishReasonPhraseCatalog.INSTANCE.getReason(status, Locale.ENGLISH);
+        final Headers all = new Headers(headers);
+
+        final ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(status)
+                .setStatusLine("HTTP/1.1 " + status + (reason != null ? " " + reason : ""))
+                .setHeaders(all)
+                .setBody(body);
+
+        if (all.hasHeaderWithName("Content-Type")) {
+            builder.setContentType(all.getValue("Content-Type"));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.inprocess;
+
+import com.jayway.restassured.response.Cookie;
+import com.jayway.restassured.response.Header;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.RequestSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.client.RequestDeadline;
+import uk.co.baconi.substeps.restdriver.utils.RequestUrlUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends requests for inproc:// urls straight to the handler registered under the url's host, for example
+ * inproc://orders/orders/1 is handled by the handler registered as "orders", without any sockets or serialisation
+ * beyond the request and response bodies.
+ * <p>
+ * Handlers are registered by the suite's own setup, before the features that use them run.
+ */
+public class InProcessTransport {
+
+    public static final String SCHEME = "inproc://";
+
+    private static final Logger LOG = LoggerFactory.getLogger(InProcessTransport.class);
+
+    private static final Map<String, InProcessHandler> HANDLERS = new ConcurrentHashMap<>();
+
+    private InProcessTransport() {
+    }
+
+    /**
+     * Registers the handler for inproc://name urls, replacing any already registered under the name.
+     */
+    public static void register(final String name, final InProcessHandler handler) {
+        LOG.info("Registering in process handler [{}{}].", SCHEME, name);
+        HANDLERS.put(name, handler);
+    }
+
+    public static void unregister(final String name) {
+        HANDLERS.remove(name);
+    }
+
+    public static boolean isInProcess(final String fullUrl) {
+        return fullUrl.startsWith(SCHEME);
+    }
+
+    /**
+     * @param request the request, with everything it will be sent with already added.
+     */
+    public static Response perform(final RequestSpecification request, final String method, final String fullUrl) {
+
+        final FilterableRequestSpecification filterable = (FilterableRequestSpecification) request;
+
+        // Rest Assured only fills in path params when it sends a request itself.
+        final String url = RequestUrlUtil.fillPathParams(filterable, fullUrl);
+
+        final int pathStart = url.indexOf('/', SCHEME.length());
+        final String name = url.substring(SCHEME.length(), pathStart >= 0 ? pathStart : url.length());
+
+        final InProcessHandler handler = HANDLERS.get(name);
+        if (handler == null) {
+            throw new AssertionError("No in process handler registered for [" + SCHEME + name + "], registered are " + HANDLERS.keySet() + ".");
+        }
+
+        final InProcessRequest inProcessRequest = toInProcessRequest(
+                filterable, method.toUpperCase(), pathStart >= 0 ? url.substring(pathStart) : "/"
+        );
+
+        // The handler runs on this thread, so the request's deadline can only interrupt it.
+        final HandlerInterrupt interrupt = new HandlerInterrupt();
+        RequestDeadline.onExpiry(interrupt);
+
+        try {
+            return handler.handle(inProcessRequest).toResponse();
+        } catch (final Exception exception) {
+            throw new AssertionError("In process handler [" + SCHEME + name + "] failed to handle [" + inProcessRequest + "].", exception);
+        } finally {
+            interrupt.finished();
+        }
+    }
+
+    /**
+     * Also used by transports that send the request themselves, rather than through Rest Assured.
+     *
+     * @param method       the upper case http method.
+     * @param pathAndQuery the path to send the request to, with its path params filled in and any query string.
+     * @return everything the request would have sent over the network.
+     */
+    public static InProcessRequest toInProcessRequest(final FilterableRequestSpecification request, final String method, final String pathAndQuery) {
+
+        final int queryStart = pathAndQuery.indexOf('?');
+        final String path = queryStart >= 0 ? pathAndQuery.substring(0, queryStart) : pathAndQuery;
+
+        final List<String> query = new ArrayList<>();
+        if (queryStart >= 0 && queryStart < pathAndQuery.length() - 1) {
+            query.add(pathAndQuery.substring(queryStart + 1));
+        }
+        RequestUrlUtil.addParameters(query, request.getQueryParams());
+
+        // Rest Assured sends the plain parameters of a GET as its query string, and of anything else as a form.
+        final List<String> form = new ArrayList<>();
+        RequestUrlUtil.addParameters("GET".equals(method) ? query : form, request.getRequestParams());
+        RequestUrlUtil.addParameters(form, request.getFormParams());
+
+        final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (final Header header : request.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), key -> new ArrayList<>()).add(header.getValue());
+        }
+
+        final List<String> cookies = new ArrayList<>();
+        for (final Cookie cookie : request.getCookies()) {
+            cookies.add(cookie.getName() + "=" + cookie.getValue());
+        }
+        if (!cookies.isEmpty()) {
+            headers.computeIfAbsent("Cookie", key -> new ArrayList<>()).add(String.join("; ", cookies));
+        }
+
+        final byte[] body = form.isEmpty()
+                ? readBody(request.getBody())
+                : String.join("&", form).getBytes(StandardCharsets.UTF_8);
+
+        // Rest Assured holds the content type apart from the other headers.
+        final String contentType = request.getRequestContentType();
+        if (!headers.containsKey("Content-Type")) {
+            if (contentType != null && !contentType.isEmpty()) {
+                headers.put("Content-Type", Collections.singletonList(contentType));
+            } else if (!form.isEmpty()) {
+                headers.put("Content-Type", Collections.singletonList("application/x-www-form-urlencoded; charset=UTF-8"));
+            }
+        }
+
+        return new InProcessRequest(method, path, String.join("&", query), headers, body);
+    }
+
+    private static byte[] readBody(final Object content) {
+        try {
+            if (content == null) {
+                return new byte[0];
+            } else if (content instanceof byte[]) {
+                return (byte[]) content;
+            } else if (content instanceof File) {
+                return Files.readAllBytes(((File) content).toPath());
+            } else if (content instanceof InputStream) {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[8192];
+                try (final InputStream input = (InputStream) content) {
+                    for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                        bytes.write(buffer, 0, read);
+                    }
+                }
+                return bytes.toByteArray();
+            } else {
+                return content.toString().getBytes(StandardCharsets.UTF_8);
+            }
+        } catch (final IOException exception) {
+            throw new AssertionError("Unable to read the request body.", exception);
+        }
+    }
+
+    /**
+     * Interrupts the thread handling a request once its deadline has passed, but only while it's still handling it.
+     */
+    private static class HandlerInterrupt implements Runnable {
+
+        private final Thread thread = Thread.currentThread();
+
+        private boolean handling = true;
+
+        private boolean interrupted;
+
+        @Override
+        public synchronized void run() {
+            if (handling) {
+                interrupted = true;
+                thread.interrupt();
+            }
+        }
+
+        /**
+         * Stops any later interrupt, and clears one the handler didn't notice so it doesn't fail the next step.
+         */
+        private synchronized void finished() {
+            handling = false;
+            if (interrupted) {
+                Thread.interrupted();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.json;
+
+/**
+ * How JsonPath expressions are evaluated against a response body.
+ */
+public enum JsonEvaluation {
+
+    /**
+     * Stream bodies at least as big as the configured threshold, parse the rest into a tree.
+     */
+    AUTO,
+
+    /**
+     * Parse the body into a tree once, then walk it for every expression.
+     */
+    TREE,
+
+    /**
+     * Stream through the body for every expression, never holding the whole document in memory.
+     */
+    STREAMING
+
+}
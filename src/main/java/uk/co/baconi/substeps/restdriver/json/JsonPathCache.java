@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.json;
+
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, least recently used, cache of compiled JsonPath expressions keyed by the path they were compiled from.
+ */
+public class JsonPathCache {
+
+    private static final JsonPathCache INSTANCE = new JsonPathCache(
+            RestDriverSubstepsConfiguration.PROPERTIES.getJsonPathCacheSize()
+    );
+
+    private final int maximumSize;
+    private final Map<String, JsonPathExpression> expressions;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public JsonPathCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.expressions = new LinkedHashMap<String, JsonPathExpression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, JsonPathExpression> eldest) {
+                return size() > JsonPathCache.this.maximumSize;
+            }
+        };
+    }
+
+    public static JsonPathCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the compiled expression for the path, only compiling it if it isn't already cached.
+     */
+    public JsonPathExpression compile(final String path) {
+
+        synchronized (expressions) {
+            final JsonPathExpression cached = expressions.get(path);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+
+        // Compile outside of the lock, at worst the same path is compiled twice.
+        final JsonPathExpression compiled = JsonPathExpression.compile(path);
+        if (maximumSize > 0) {
+            synchronized (expressions) {
+                expressions.put(path, compiled);
+            }
+        }
+
+        return compiled;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (expressions) {
+            return expressions.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (expressions) {
+            expressions.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "JsonPathCache{size=" + size() + ", maximumSize=" + maximumSize + ", hits=" + getHits() + ", misses=" + getMisses() + "}";
+    }
+}
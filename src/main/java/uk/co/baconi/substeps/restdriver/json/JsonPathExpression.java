@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A JsonPath broken down into the field and index segments needed to walk an already parsed JSON document.
+ * <p>
+ * Only the simple subset of the GPath syntax used by Rest Assured is supported, such as {@code $}, {@code result},
+ * {@code [0].value}, {@code $.some.list[1]}, {@code list[*].value} and {@code list.size()}. Anything more complicated
+ * is reported as unsupported so callers can fall back to evaluating it with Rest Assured.
+ * <p>
+ * Expressions without negative indexes can also be evaluated while streaming through a document, only ever holding
+ * the parts of it that are selected.
+ */
+public class JsonPathExpression {
+
+    private static final Pattern SEGMENT = Pattern.compile("([A-Za-z_][A-Za-z0-9_]*)?((?:\\[(?:-?[0-9]+|\\*)])*)");
+    private static final Pattern INDEX = Pattern.compile("\\[(-?[0-9]+|\\*)]");
+    private static final String SIZE = "size()";
+
+    private final String path;
+    private final List<Segment> segments;
+
+    private JsonPathExpression(final String path, final List<Segment> segments) {
+        this.path = path;
+        this.segments = segments;
+    }
+
+    public static JsonPathExpression compile(final String path) {
+        return new JsonPathExpression(path, parse(path));
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isSupported() {
+        return segments != null;
+    }
+
+    /**
+     * @return true if this can be evaluated while streaming, rather than needing the whole document.
+     */
+    public boolean isStreamable() {
+        return isSupported() && segments.stream().allMatch(Segment::isStreamable);
+    }
+
+    /**
+     * @param root the parsed JSON document, made up of Maps, Lists and simple values.
+     * @return the element at this path, or null if there isn't one.
+     */
+    public Object evaluate(final Object root) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("JsonPath [" + path + "] is not supported without Rest Assured.");
+        }
+
+        return new Remainder(0, false).apply(root);
+    }
+
+    /**
+     * @param parser positioned on the first token of the document, with a codec to read the selected parts with.
+     * @return the element at this path, or null if there isn't one. The parser is left wherever it was found.
+     */
+    public Object evaluate(final JsonParser parser) throws IOException {
+        if (!isStreamable()) {
+            throw new UnsupportedOperationException("JsonPath [" + path + "] is not supported while streaming.");
+        }
+
+        return new Remainder(0, false).stream(parser);
+    }
+
+    /**
+     * Like {@link #evaluate(JsonParser)}, but an object or array at this path is skipped over rather than read in,
+     * and an empty Map or List is returned in its place. Only useful for checking what type of element is there.
+     *
+     * @param parser positioned on the first token of the document, with a codec to read the selected parts with.
+     * @return the element at this path, an empty stand in if it's an object or array, or null if there isn't one.
+     */
+    public Object evaluateType(final JsonParser parser) throws IOException {
+        if (!isStreamable()) {
+            throw new UnsupportedOperationException("JsonPath [" + path + "] is not supported while streaming.");
+        }
+
+        return new Remainder(0, true).stream(parser);
+    }
+
+    private static List<Segment> parse(final String path) {
+
+        String remaining = path.trim();
+        if (remaining.equals("$") || remaining.isEmpty()) {
+            return Collections.emptyList();
+        } else if (remaining.startsWith("$.")) {
+            remaining = remaining.substring(2);
+        } else if (remaining.startsWith("$[")) {
+            remaining = remaining.substring(1);
+        }
+
+        final List<Segment> segments = new ArrayList<>();
+        final String[] parts = remaining.split("\\.", -1);
+        for (int index = 0; index < parts.length; index++) {
+
+            final String part = parts[index];
+            if (part.equals(SIZE) && index == parts.length - 1) {
+                segments.add(new SizeSegment());
+                continue;
+            }
+
+            final Matcher matcher = SEGMENT.matcher(part);
+            if (part.isEmpty() || !matcher.matches()) {
+                return null;
+            }
+
+            final String field = matcher.group(1);
+            if (field != null) {
+                segments.add(new FieldSegment(field));
+            }
+
+            final Matcher indexes = INDEX.matcher(matcher.group(2));
+            while (indexes.find()) {
+                final String position = indexes.group(1);
+                segments.add(position.equals("*") ? new WildcardSegment() : new IndexSegment(Integer.parseInt(position)));
+            }
+        }
+
+        return segments;
+    }
+
+    /**
+     * The segments still to evaluate, from a position onwards.
+     */
+    private class Remainder {
+
+        private final int position;
+        private final boolean typeOnly;
+
+        private Remainder(final int position, final boolean typeOnly) {
+            this.position = position;
+            this.typeOnly = typeOnly;
+        }
+
+        private Object apply(final Object current) {
+            Object result = current;
+            for (int index = position; index < segments.size(); index++) {
+                result = segments.get(index).apply(result);
+            }
+            return result;
+        }
+
+        private Object stream(final JsonParser parser) throws IOException {
+            if (position == segments.size()) {
+                final JsonToken token = parser.getCurrentToken();
+                if (typeOnly && token == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    return Collections.emptyList();
+                } else if (typeOnly && token == JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    return Collections.emptyMap();
+                }
+                // Only the selected value is ever read into memory.
+                return token == null ? null : parser.readValueAs(Object.class);
+            }
+            return segments.get(position).stream(parser, new Remainder(position + 1, typeOnly));
+        }
+
+        /**
+         * @return no more segments, so streaming just reads in the current value. Values still to be walked by these
+         * segments are read in whole, only the final result can be left as a stand in.
+         */
+        private Remainder none() {
+            return new Remainder(segments.size(), typeOnly && position == segments.size());
+        }
+    }
+
+    private interface Segment {
+
+        Object apply(final Object current);
+
+        /**
+         * @param parser positioned on the first token of the current value.
+         * @param rest   the segments after this one.
+         * @return the result, once found the parser can be left anywhere within the current value.
+         */
+        Object stream(final JsonParser parser, final Remainder rest) throws IOException;
+
+        default boolean isStreamable() {
+            return true;
+        }
+    }
+
+    /**
+     * Skips over whatever is left of the current element, leaving the parser on its last token within the context.
+     */
+    private static void skipTo(final JsonParser parser, final JsonStreamContext context) throws IOException {
+        while (parser.getParsingContext() != context) {
+            if (parser.nextToken() == null) {
+                throw new IOException("Unexpected end of JSON input.");
+            }
+        }
+    }
+
+    private static class FieldSegment implements Segment {
+
+        private final String field;
+
+        private FieldSegment(final String field) {
+            this.field = field;
+        }
+
+        @Override
+        public Object apply(final Object current) {
+
+            final Object result;
+            if (current instanceof Map) {
+                result = ((Map<?, ?>) current).get(field);
+            } else if (current instanceof List) {
+                // GPath spreads field access over every element of a list.
+                final List<Object> spread = new ArrayList<>();
+                for (final Object element : (List<?>) current) {
+                    spread.add(apply(element));
+                }
+                result = spread;
+            } else {
+                result = null;
+            }
+
+            return result;
+        }
+
+        @Override
+        public Object stream(final JsonParser parser, final Remainder rest) throws IOException {
+
+            final JsonToken token = parser.getCurrentToken();
+            if (token == JsonToken.START_OBJECT) {
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.getCurrentName();
+                    parser.nextToken();
+                    if (field.equals(name)) {
+                        return rest.stream(parser);
+                    }
+                    parser.skipChildren();
+                }
+
+                return rest.apply(null);
+
+            } else if (token == JsonToken.START_ARRAY) {
+
+                // Spread over every element, only holding the selected field of each, then carry on with the rest.
+                final JsonStreamContext array = parser.getParsingContext();
+                final List<Object> spread = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    spread.add(stream(parser, rest.none()));
+                    skipTo(parser, array);
+                }
+
+                return rest.apply(spread);
+
+            } else {
+                return rest.apply(null);
+            }
+        }
+    }
+
+    private static class IndexSegment implements Segment {
+
+        private final int index;
+
+        private IndexSegment(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Object apply(final Object current) {
+
+            final Object result;
+            if (current instanceof List) {
+                final List<?> list = (List<?>) current;
+                // GPath allows negative indexes, counting back from the end of the list.
+                final int position = index < 0 ? list.size() + index : index;
+                result = position >= 0 && position < list.size() ? list.get(position) : null;
+            } else {
+                result = null;
+            }
+
+            return result;
+        }
+
+        @Override
+        public Object stream(final JsonParser parser, final Remainder rest) throws IOException {
+
+            if (parser.getCurrentToken() == JsonToken.START_ARRAY) {
+                int position = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (position++ == index) {
+                        return rest.stream(parser);
+                    }
+                    parser.skipChildren();
+                }
+            }
+
+            return rest.apply(null);
+        }
+
+        @Override
+        public boolean isStreamable() {
+            // Counting back from the end would mean holding on to every element until the end is found.
+            return index >= 0;
+        }
+    }
+
+    /**
+     * Every element of a list, as field access already spreads over lists this leaves the list as it is.
+     */
+    private static class WildcardSegment implements Segment {
+
+        @Override
+        public Object apply(final Object current) {
+            return current instanceof List ? current : null;
+        }
+
+        @Override
+        public Object stream(final JsonParser parser, final Remainder rest) throws IOException {
+            return parser.getCurrentToken() == JsonToken.START_ARRAY ? rest.stream(parser) : rest.apply(null);
+        }
+    }
+
+    /**
+     * The number of elements in a list or fields in an object, only ever the last segment.
+     */
+    private static class SizeSegment implements Segment {
+
+        @Override
+        public Object apply(final Object current) {
+
+            final Object result;
+            if (current instanceof List) {
+                result = ((List<?>) current).size();
+            } else if (current instanceof Map) {
+                result = ((Map<?, ?>) current).size();
+            } else {
+                result = null;
+            }
+
+            return result;
+        }
+
+        @Override
+        public Object stream(final JsonParser parser, final Remainder rest) throws IOException {
+
+            final JsonToken token = parser.getCurrentToken();
+            if (token != JsonToken.START_ARRAY && token != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            final JsonToken end = token == JsonToken.START_ARRAY ? JsonToken.END_ARRAY : JsonToken.END_OBJECT;
+            int size = 0;
+            for (JsonToken next = parser.nextToken(); next != end; next = parser.nextToken()) {
+                if (next == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                }
+                parser.skipChildren();
+                size++;
+            }
+
+            return size;
+        }
+    }
+}
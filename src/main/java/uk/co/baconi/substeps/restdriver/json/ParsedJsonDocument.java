@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.restassured.response.ValidatableResponse;
+
+import uk.co.baconi.substeps.restdriver.response.SpooledResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The body of a single rest response, parsed once into a tree of Maps, Lists and simple values.
+ */
+public class ParsedJsonDocument {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ValidatableResponse response;
+    private final Object root;
+
+    private ParsedJsonDocument(final ValidatableResponse response, final Object root) {
+        this.response = response;
+        this.root = root;
+    }
+
+    public static ParsedJsonDocument parse(final ValidatableResponse response, final SpooledResponseBody body) {
+
+        try (final InputStream input = body.openStream()) {
+            return new ParsedJsonDocument(response, MAPPER.readValue(input, Object.class));
+        } catch (final IOException exception) {
+            throw new AssertionError("Unable to parse the RestResponseBody as JSON.", exception);
+        }
+    }
+
+    /**
+     * @return true if this document was parsed from the given response.
+     */
+    public boolean isFor(final ValidatableResponse response) {
+        return this.response == response;
+    }
+
+    public Object getRoot() {
+        return root;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import uk.co.baconi.substeps.restdriver.response.SpooledResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Evaluates JsonPath expressions by streaming through the body of a rest response, without ever parsing it into a tree.
+ */
+public class StreamingJsonEvaluator {
+
+    private StreamingJsonEvaluator() {
+    }
+
+    /**
+     * @param expression a streamable expression, see {@link JsonPathExpression#isStreamable()}.
+     * @return the element at the path, or null if there isn't one.
+     */
+    public static Object evaluate(final SpooledResponseBody responseBody, final JsonPathExpression expression) {
+        return stream(responseBody, expression::evaluate);
+    }
+
+    /**
+     * @param expression a streamable expression, see {@link JsonPathExpression#isStreamable()}.
+     * @return the element at the path, an empty stand in if it's an object or array, or null if there isn't one.
+     */
+    public static Object evaluateType(final SpooledResponseBody responseBody, final JsonPathExpression expression) {
+        return stream(responseBody, expression::evaluateType);
+    }
+
+    private static Object stream(final SpooledResponseBody responseBody, final Evaluation evaluation) {
+
+        try (
+                final InputStream body = responseBody.openStream();
+                final JsonParser parser = ParsedJsonDocument.MAPPER.getFactory().createParser(body)
+        ) {
+            parser.nextToken();
+            return evaluation.evaluate(parser);
+        } catch (final IOException exception) {
+            throw new AssertionError("Unable to parse the RestResponseBody as JSON.", exception);
+        }
+    }
+
+    private interface Evaluation {
+
+        Object evaluate(final JsonParser parser) throws IOException;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.load;
+
+import com.jayway.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.client.RequestExecutors;
+import uk.co.baconi.substeps.restdriver.client.RequestTimings;
+import uk.co.baconi.substeps.restdriver.response.SpooledResponseBody;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fires the same request many times from a number of concurrent workers, timing each one.
+ * <p>
+ * Latencies are taken from the {@link RequestTimings} of each request, covering sending it and reading the whole body.
+ */
+public class LoadGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private LoadGenerator() {
+    }
+
+    /**
+     * @param times       the total number of requests to perform.
+     * @param concurrency the number of requests in flight at once.
+     * @param request     performs a single request, reading the whole body, called from the worker threads.
+     * @return the aggregate result once every request has completed.
+     */
+    public static LoadTestResult run(final int times, final int concurrency, final Supplier<Response> request) throws InterruptedException {
+
+        final long[] latencies = new long[times];
+        final int[] statusCodes = new int[times];
+        final AtomicInteger next = new AtomicInteger();
+
+        final int workers = Math.max(1, Math.min(concurrency, times));
+        final ExecutorService executor = RequestExecutors.newExecutor("RestDriver-LoadGenerator", workers);
+
+        final long start = System.nanoTime();
+        try {
+
+            final List<Future<?>> running = new ArrayList<>(workers);
+            for (int worker = 0; worker < workers; worker++) {
+                running.add(executor.submit(() -> {
+                    for (int index = next.getAndIncrement(); index < times; index = next.getAndIncrement()) {
+                        final long requestStart = System.nanoTime();
+                        final RequestTimings previous = RequestTimings.getLast();
+                        statusCodes[index] = perform(request);
+                        latencies[index] = latencyOf(previous, System.nanoTime() - requestStart);
+                    }
+                }));
+            }
+
+            for (final Future<?> worker : running) {
+                worker.get();
+            }
+
+        } catch (final ExecutionException exception) {
+            throw new IllegalStateException("Load generation failed unexpectedly.", exception.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Each slot is only written by one worker, and Future.get() makes those writes visible here.
+        return new LoadTestResult(System.nanoTime() - start, latencies, statusCodes);
+    }
+
+    /**
+     * The request times itself on this worker thread, so waits for the rate limit, a request permit or a copy of the
+     * shared spec are not counted as latency. A request that failed before it was timed falls back to the wall time.
+     */
+    private static long latencyOf(final RequestTimings previous, final long elapsed) {
+        final RequestTimings timings = RequestTimings.getLast();
+        return timings != null && timings != previous ? timings.getTotal() : elapsed;
+    }
+
+    private static int perform(final Supplier<Response> request) {
+        try {
+            final Response response = request.get();
+
+            // The body has already been read, releasing the connection, and is of no interest here.
+            final SpooledResponseBody body = SpooledResponseBody.take(response);
+            if (body != null) {
+                body.close();
+            }
+
+            return response.getStatusCode();
+        } catch (final Exception | AssertionError exception) {
+            LOG.debug("Request failed during load generation.", exception);
+            return 0;
+        }
+    }
+}
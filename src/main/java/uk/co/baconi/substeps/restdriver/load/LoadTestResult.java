@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.load;
+
+import uk.co.baconi.substeps.restdriver.metrics.LatencyStatistics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The aggregate outcome of firing the same request many times, for asserting on after the load has finished.
+ */
+public class LoadTestResult implements LatencyStatistics {
+
+    private final int requests;
+    private final int errors;
+    private final long elapsed;
+    private final long[] latencies;
+    private final Map<Integer, Integer> statusCodes;
+
+    /**
+     * @param elapsed     the wall clock time taken to perform every request, in nanoseconds.
+     * @param latencies   the time taken by each individual request, in nanoseconds.
+     * @param statusCodes the status code of each request, or zero where no response was received.
+     */
+    public LoadTestResult(final long elapsed, final long[] latencies, final int[] statusCodes) {
+
+        this.requests = latencies.length;
+        this.elapsed = elapsed;
+
+        this.latencies = latencies.clone();
+        Arrays.sort(this.latencies);
+
+        final Map<Integer, Integer> counted = new TreeMap<>();
+        int errorCount = 0;
+        for (final int statusCode : statusCodes) {
+            counted.merge(statusCode, 1, Integer::sum);
+            if (isError(statusCode)) {
+                errorCount++;
+            }
+        }
+        this.statusCodes = Collections.unmodifiableMap(counted);
+        this.errors = errorCount;
+    }
+
+    /**
+     * Errors are requests that didn't get a response or got a client or server error response.
+     */
+    public static boolean isError(final int statusCode) {
+        return statusCode <= 0 || statusCode >= 400;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return the percentage of requests that were errors.
+     */
+    public double getErrorRate() {
+        return requests == 0 ? 0 : errors * 100.0 / requests;
+    }
+
+    /**
+     * @return the requests completed per second.
+     */
+    public double getThroughput() {
+        return elapsed == 0 ? 0 : requests * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    public long getElapsed(final TimeUnit unit) {
+        return unit.convert(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param percentile between 0 and 100, using the nearest rank.
+     */
+    @Override
+    public long getPercentile(final double percentile, final TimeUnit unit) {
+        if (requests == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100.0 * requests);
+        final int index = Math.min(Math.max(rank - 1, 0), requests - 1);
+        return unit.convert(latencies[index], TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public long getMax(final TimeUnit unit) {
+        return requests == 0 ? 0 : unit.convert(latencies[requests - 1], TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public long getMean(final TimeUnit unit) {
+        return requests == 0 ? 0 : unit.convert(Arrays.stream(latencies).sum() / requests, TimeUnit.NANOSECONDS);
+    }
+
+    public Map<Integer, Integer> getStatusCodes() {
+        return statusCodes;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadTestResult{" +
+                "requests=" + requests +
+                ", errors=" + errors +
+                ", throughput=" + String.format("%.2f/s", getThroughput()) +
+                ", p50=" + getPercentile(50, TimeUnit.MILLISECONDS) + "ms" +
+                ", p90=" + getPercentile(90, TimeUnit.MILLISECONDS) + "ms" +
+                ", p99=" + getPercentile(99, TimeUnit.MILLISECONDS) + "ms" +
+                ", max=" + getMax(TimeUnit.MILLISECONDS) + "ms" +
+                ", statusCodes=" + statusCodes +
+                '}';
+    }
+}
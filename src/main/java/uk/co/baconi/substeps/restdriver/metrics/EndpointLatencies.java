@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.metrics;
+
+import com.technophobia.substeps.model.Scope;
+import uk.co.baconi.substeps.restdriver.utils.ExecutionContextUtil;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency histograms for every endpoint requested within a scope, keyed by the method and templated URL.
+ */
+public class EndpointLatencies {
+
+    private static final String ENDPOINT_LATENCIES = "REST_DRIVER_ENDPOINT_LATENCIES";
+
+    // Like SUITE scoped cookies, shared by every thread running scenarios.
+    private static final EndpointLatencies SUITE = new EndpointLatencies();
+
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * @return the latencies for the given scope, creating them if this is the first request in the scope.
+     */
+    public static synchronized EndpointLatencies forScope(final Scope scope) {
+
+        if (scope == Scope.SUITE) {
+            return SUITE;
+        }
+
+        final Optional<EndpointLatencies> existing = ExecutionContextUtil.get(scope, ENDPOINT_LATENCIES, EndpointLatencies.class);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        final EndpointLatencies created = new EndpointLatencies();
+        ExecutionContextUtil.put(scope, ENDPOINT_LATENCIES, created);
+        return created;
+    }
+
+    public static void resetSuite() {
+        SUITE.histograms.clear();
+    }
+
+    /**
+     * @param method  the HTTP method of the request.
+     * @param fullUrl the full URL before path parameters are applied, any query string is ignored.
+     * @return the key the endpoint's latencies are recorded under.
+     */
+    public static String endpoint(final String method, final String fullUrl) {
+        return method.toUpperCase() + " " + withoutQuery(fullUrl);
+    }
+
+    public static String withoutQuery(final String fullUrl) {
+        final int query = fullUrl.indexOf('?');
+        return query < 0 ? fullUrl : fullUrl.substring(0, query);
+    }
+
+    public void record(final String endpoint, final long latency) {
+        histograms.computeIfAbsent(endpoint, key -> new LatencyHistogram()).record(latency);
+    }
+
+    public Optional<LatencyHistogram> get(final String endpoint) {
+        return Optional.ofNullable(histograms.get(endpoint));
+    }
+
+    public Map<String, LatencyHistogram> getAll() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+}
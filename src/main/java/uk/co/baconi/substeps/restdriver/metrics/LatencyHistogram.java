@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed memory histogram of latencies, in the style of HdrHistogram.
+ * <p>
+ * Values below 128ns are counted exactly, larger values are counted in buckets that double in width every power of two,
+ * each split into 64 linear sub buckets, so any recorded value is reported to within 1.6%. Values above 2^43ns, roughly
+ * two and a half hours, are counted as 2^43ns. Recording is lock free and safe from any number of threads.
+ */
+public class LatencyHistogram implements LatencyStatistics {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int MAX_EXPONENT = 42;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = indexOf(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param latency the latency to record, in nanoseconds.
+     */
+    public void record(final long latency) {
+        final long value = Math.min(Math.max(latency, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @param percentile between 0 and 100.
+     * @return the highest value in the bucket holding the given percentile, so it never understates the latency.
+     */
+    @Override
+    public long getPercentile(final double percentile, final TimeUnit unit) {
+
+        final long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+
+        long cumulative = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            cumulative += counts.get(index);
+            if (cumulative >= target) {
+                return unit.convert(Math.min(highestValueAt(index), max.get()), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        return getMax(unit);
+    }
+
+    @Override
+    public long getMax(final TimeUnit unit) {
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public long getMean(final TimeUnit unit) {
+        final long total = count.get();
+        return total == 0 ? 0 : unit.convert(sum.get() / total, TimeUnit.NANOSECONDS);
+    }
+
+    private static int indexOf(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - (SUB_BUCKET_BITS - 1);
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKET_HALF_COUNT;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + subBucket;
+    }
+
+    private static long highestValueAt(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int offset = index - SUB_BUCKET_COUNT;
+        final int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        final long subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "count=" + getCount() +
+                ", p50=" + getPercentile(50, TimeUnit.MILLISECONDS) + "ms" +
+                ", p90=" + getPercentile(90, TimeUnit.MILLISECONDS) + "ms" +
+                ", p99=" + getPercentile(99, TimeUnit.MILLISECONDS) + "ms" +
+                ", max=" + getMax(TimeUnit.MILLISECONDS) + "ms" +
+                ", mean=" + getMean(TimeUnit.MILLISECONDS) + "ms" +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary statistics over a set of recorded latencies.
+ */
+public interface LatencyStatistics {
+
+    /**
+     * Regex for the statistics accepted by {@link #getStatistic(String, TimeUnit)}, for use in steps.
+     */
+    String STATISTICS = "(p50|p90|p95|p99|p999|max|mean)";
+
+    long getPercentile(final double percentile, final TimeUnit unit);
+
+    long getMax(final TimeUnit unit);
+
+    long getMean(final TimeUnit unit);
+
+    /**
+     * @param statistic one of p50, p90, p95, p99, p999, max or mean.
+     */
+    default long getStatistic(final String statistic, final TimeUnit unit) {
+
+        final long result;
+        switch (statistic) {
+            case "max": {
+                result = getMax(unit);
+                break;
+            }
+            case "mean": {
+                result = getMean(unit);
+                break;
+            }
+            case "p999": {
+                result = getPercentile(99.9, unit);
+                break;
+            }
+            case "p50":
+            case "p90":
+            case "p95":
+            case "p99": {
+                result = getPercentile(Double.parseDouble(statistic.substring(1)), unit);
+                break;
+            }
+            default: {
+                throw new AssertionError("Unsupported Type [" + statistic + "]");
+            }
+        }
+
+        return result;
+    }
+
+}
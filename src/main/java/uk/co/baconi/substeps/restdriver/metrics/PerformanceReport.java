@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.metrics;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.client.RequestTimings;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Every request made during the run, written out once all features have run as a JSON report grouped per endpoint,
+ * along with CSV files of every request and of each endpoint's summary, so they can be diffed between builds.
+ * <p>
+ * Times are written in milliseconds, bytes are totals per endpoint.
+ */
+public class PerformanceReport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PerformanceReport.class);
+
+    private static final String JSON_REPORT = "performance-report.json";
+    private static final String REQUESTS_CSV = "performance-requests.csv";
+    private static final String ENDPOINTS_CSV = "performance-endpoints.csv";
+
+    private static final String[] STATISTICS = {"p50", "p90", "p95", "p99", "p999", "max", "mean"};
+
+    private static final PerformanceReport INSTANCE = new PerformanceReport(RestDriverSubstepsConfiguration.PROPERTIES);
+
+    private final boolean enabled;
+    private final File directory;
+    private final ConcurrentLinkedQueue<RequestRecord> records = new ConcurrentLinkedQueue<>();
+
+    private PerformanceReport(final RestDriverSubstepsConfiguration configuration) {
+        this.enabled = configuration.isReportEnabled();
+        this.directory = new File(configuration.getReportDirectory());
+    }
+
+    public static PerformanceReport getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Safe to call from any thread, does nothing if the report is disabled.
+     */
+    public void record(final String method, final String fullUrl, final int status, final RequestTimings timings) {
+        if (enabled) {
+            records.add(new RequestRecord(method, fullUrl, status, timings));
+        }
+    }
+
+    /**
+     * Writes the report of every request recorded so far, then starts afresh.
+     */
+    public void write() throws IOException {
+
+        if (!enabled) {
+            return;
+        }
+
+        final List<RequestRecord> requests = new ArrayList<>(records);
+        records.clear();
+        requests.sort(Comparator.comparingLong(RequestRecord::getTimestamp));
+
+        // Sorted, so the report is in the same order from one build to the next.
+        final Map<String, List<RequestRecord>> endpoints = new TreeMap<>();
+        requests.forEach(request -> endpoints.computeIfAbsent(request.getEndpoint(), key -> new ArrayList<>()).add(request));
+
+        Files.createDirectories(directory.toPath());
+
+        writeJson(new File(directory, JSON_REPORT), endpoints);
+        writeRequestsCsv(new File(directory, REQUESTS_CSV), requests);
+        writeEndpointsCsv(new File(directory, ENDPOINTS_CSV), endpoints);
+
+        LOG.info("Written a performance report of [{}] requests to [{}] endpoints, to [{}].", requests.size(), endpoints.size(), directory);
+    }
+
+    private void writeJson(final File file, final Map<String, List<RequestRecord>> endpoints) throws IOException {
+
+        try (final JsonGenerator json = new JsonFactory().createGenerator(file, JsonEncoding.UTF8)) {
+
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeArrayFieldStart("endpoints");
+
+            for (final List<RequestRecord> requests : endpoints.values()) {
+
+                final RequestRecord first = requests.get(0);
+
+                json.writeStartObject();
+                json.writeStringField("method", first.getMethod());
+                json.writeStringField("url", EndpointLatencies.withoutQuery(first.getUrl()));
+                json.writeNumberField("count", requests.size());
+                json.writeNumberField("errors", requests.stream().filter(RequestRecord::isError).count());
+
+                json.writeObjectFieldStart("statuses");
+                for (final Map.Entry<Integer, Long> status : countStatuses(requests).entrySet()) {
+                    json.writeNumberField(String.valueOf(status.getKey()), status.getValue());
+                }
+                json.writeEndObject();
+
+                json.writeNumberField("bytesSent", requests.stream().mapToLong(RequestRecord::getBytesSent).sum());
+                json.writeNumberField("bytesReceived", requests.stream().mapToLong(RequestRecord::getBytesReceived).sum());
+
+                json.writeObjectFieldStart("timings");
+                writeJsonStatistics(json, "dns", requests, RequestRecord::getDns);
+                writeJsonStatistics(json, "connect", requests, RequestRecord::getConnect);
+                writeJsonStatistics(json, "firstByte", requests, RequestRecord::getFirstByte);
+                writeJsonStatistics(json, "total", requests, RequestRecord::getTotal);
+                writeJsonStatistics(json, "rateLimitWait", requests, RequestRecord::getRateLimitWait);
+                json.writeEndObject();
+
+                json.writeArrayFieldStart("requests");
+                for (final RequestRecord request : requests) {
+                    json.writeStartObject();
+                    json.writeNumberField("timestamp", request.getTimestamp());
+                    json.writeNumberField("status", request.getStatus());
+                    json.writeNumberField("bytesSent", request.getBytesSent());
+                    json.writeNumberField("bytesReceived", request.getBytesReceived());
+                    json.writeNumberField("dns", toMillis(request.getDns()));
+                    json.writeNumberField("connect", toMillis(request.getConnect()));
+                    json.writeNumberField("firstByte", toMillis(request.getFirstByte()));
+                    json.writeNumberField("total", toMillis(request.getTotal()));
+                    json.writeNumberField("rateLimitWait", toMillis(request.getRateLimitWait()));
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+
+                json.writeEndObject();
+            }
+
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private void writeJsonStatistics(
+            final JsonGenerator json, final String name, final List<RequestRecord> requests, final ToLongFunction<RequestRecord> timing
+    ) throws IOException {
+
+        final LatencyHistogram histogram = toHistogram(requests, timing);
+
+        json.writeObjectFieldStart(name);
+        for (final String statistic : STATISTICS) {
+            json.writeNumberField(statistic, toMillis(histogram.getStatistic(statistic, TimeUnit.NANOSECONDS)));
+        }
+        json.writeEndObject();
+    }
+
+    private void writeRequestsCsv(final File file, final List<RequestRecord> requests) throws IOException {
+
+        try (final Writer csv = newCsvWriter(file)) {
+
+            csv.write("timestamp,method,url,status,bytesSent,bytesReceived,dns,connect,firstByte,total,rateLimitWait\n");
+
+            for (final RequestRecord request : requests) {
+                csv.write(request.getTimestamp() + "," + request.getMethod() + "," + toCsvValue(request.getUrl()) + "," +
+                        request.getStatus() + "," + request.getBytesSent() + "," + request.getBytesReceived() + "," +
+                        toMillis(request.getDns()) + "," + toMillis(request.getConnect()) + "," +
+                        toMillis(request.getFirstByte()) + "," + toMillis(request.getTotal()) + "," +
+                        toMillis(request.getRateLimitWait()) + "\n");
+            }
+        }
+    }
+
+    private void writeEndpointsCsv(final File file, final Map<String, List<RequestRecord>> endpoints) throws IOException {
+
+        try (final Writer csv = newCsvWriter(file)) {
+
+            csv.write("method,url,count,errors,bytesSent,bytesReceived");
+            for (final String timing : new String[]{"firstByte", "total"}) {
+                for (final String statistic : STATISTICS) {
+                    csv.write("," + timing + "." + statistic);
+                }
+            }
+            csv.write("\n");
+
+            for (final List<RequestRecord> requests : endpoints.values()) {
+
+                final RequestRecord first = requests.get(0);
+
+                csv.write(first.getMethod() + "," + toCsvValue(EndpointLatencies.withoutQuery(first.getUrl())) + "," +
+                        requests.size() + "," + requests.stream().filter(RequestRecord::isError).count() + "," +
+                        requests.stream().mapToLong(RequestRecord::getBytesSent).sum() + "," +
+                        requests.stream().mapToLong(RequestRecord::getBytesReceived).sum());
+
+                for (final LatencyHistogram histogram : new LatencyHistogram[]{
+                        toHistogram(requests, RequestRecord::getFirstByte), toHistogram(requests, RequestRecord::getTotal)
+                }) {
+                    for (final String statistic : STATISTICS) {
+                        csv.write("," + toMillis(histogram.getStatistic(statistic, TimeUnit.NANOSECONDS)));
+                    }
+                }
+                csv.write("\n");
+            }
+        }
+    }
+
+    private static Map<Integer, Long> countStatuses(final List<RequestRecord> requests) {
+        final Map<Integer, Long> statuses = new TreeMap<>();
+        requests.forEach(request -> statuses.merge(request.getStatus(), 1L, Long::sum));
+        return statuses;
+    }
+
+    private static LatencyHistogram toHistogram(final List<RequestRecord> requests, final ToLongFunction<RequestRecord> timing) {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        requests.stream().mapToLong(timing).filter(nanos -> nanos >= 0).forEach(histogram::record);
+        return histogram;
+    }
+
+    private static Writer newCsvWriter(final File file) throws IOException {
+        return Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    private static String toCsvValue(final String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        } else {
+            return value;
+        }
+    }
+
+    private static double toMillis(final long nanos) {
+        return nanos < 0 ? -1 : Math.round(nanos / 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.metrics;
+
+import uk.co.baconi.substeps.restdriver.client.RequestTimings;
+
+/**
+ * A single request made during the run, as written to the performance report.
+ */
+public class RequestRecord {
+
+    private final long timestamp;
+    private final String method;
+    private final String url;
+    private final int status;
+    private final long bytesSent;
+    private final long bytesReceived;
+    private final long dns;
+    private final long connect;
+    private final long firstByte;
+    private final long total;
+    private final long rateLimitWait;
+
+    /**
+     * @param method  the HTTP method of the request.
+     * @param url     the full URL before path parameters are applied.
+     * @param status  the status code of the response, zero if there wasn't one.
+     * @param timings the finished timings of the request.
+     */
+    public RequestRecord(final String method, final String url, final int status, final RequestTimings timings) {
+        this.timestamp = System.currentTimeMillis();
+        this.method = method.toUpperCase();
+        this.url = url;
+        this.status = status;
+        this.bytesSent = timings.getBytesSent();
+        this.bytesReceived = timings.getBytesReceived();
+        this.dns = timings.getDns();
+        this.connect = timings.getConnect();
+        this.firstByte = timings.getFirstByte();
+        this.total = timings.getTotal();
+        this.rateLimitWait = timings.getRateLimitWait();
+    }
+
+    /**
+     * @return when the request completed, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getEndpoint() {
+        return EndpointLatencies.endpoint(method, url);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isError() {
+        return status <= 0 || status >= 400;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public long getDns() {
+        return dns;
+    }
+
+    public long getConnect() {
+        return connect;
+    }
+
+    /**
+     * @return the time to the first byte of the response, or -1 if there wasn't a response.
+     */
+    public long getFirstByte() {
+        return firstByte;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the time spent waiting for the rate limit before the request was sent.
+     */
+    public long getRateLimitWait() {
+        return rateLimitWait;
+    }
+}
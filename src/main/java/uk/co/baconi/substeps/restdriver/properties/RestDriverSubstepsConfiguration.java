@@ -23,6 +23,10 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -38,8 +42,43 @@ public enum RestDriverSubstepsConfiguration {
     private final String baseUrl;
     private final int connectTimeout;
     private final int socketTimeout;
+    private final long requestTimeout;
     private final String userAgent;
     private final Optional<String> proxy;
+    private final boolean http2;
+    private final int poolMaxTotal;
+    private final int poolMaxPerRoute;
+    private final long poolTimeToLive;
+    private final long poolIdleTimeout;
+    private final long poolEvictionInterval;
+    private final long poolKeepAlive;
+    private final boolean virtualThreads;
+    private final int maxConcurrentRequests;
+    private final double rateLimitRequestsPerSecond;
+    private final int rateLimitBurst;
+    private final Map<String, Double> rateLimitHosts;
+    private final int jsonPathCacheSize;
+    private final long jsonStreamingThreshold;
+    private final long resourceCacheMaxSize;
+    private final boolean resourceCacheCheckModified;
+    private final boolean resourceCacheRemote;
+    private final boolean httpCacheEnabled;
+    private final String httpCacheScope;
+    private final int httpCacheMaxEntries;
+    private final long httpCacheMaxEntrySize;
+    private final String stubServerHost;
+    private final int stubServerPort;
+    private final String recordingMode;
+    private final File recordingDirectory;
+    private final boolean recordingMatchMethod;
+    private final boolean recordingMatchPath;
+    private final boolean recordingMatchQuery;
+    private final List<String> recordingMatchHeaders;
+    private final boolean recordingMatchBody;
+    private final long responseSpoolThreshold;
+    private final Optional<File> responseSpoolDirectory;
+    private final boolean reportEnabled;
+    private final String reportDirectory;
 
 
     RestDriverSubstepsConfiguration(final String environmentProperty) {
@@ -67,10 +106,62 @@ public enum RestDriverSubstepsConfiguration {
 
         this.connectTimeout = Long.valueOf(properties.getDuration("rest.connectTimeout", TimeUnit.MILLISECONDS)).intValue();
         this.socketTimeout = Long.valueOf(properties.getDuration("rest.socketTimeout", TimeUnit.MILLISECONDS)).intValue();
+        this.requestTimeout = properties.getDuration("rest.requestTimeout", TimeUnit.MILLISECONDS);
         this.userAgent = properties.getString("rest.userAgent");
 
         final String proxy = properties.getString("rest.proxy");
         this.proxy = proxy.isEmpty() ? Optional.empty() : Optional.ofNullable(proxy);
+
+        this.http2 = properties.getBoolean("rest.http2");
+
+        this.poolMaxTotal = properties.getInt("rest.pool.maxTotal");
+        this.poolMaxPerRoute = properties.getInt("rest.pool.maxPerRoute");
+        this.poolTimeToLive = properties.getDuration("rest.pool.timeToLive", TimeUnit.MILLISECONDS);
+        this.poolIdleTimeout = properties.getDuration("rest.pool.idleTimeout", TimeUnit.MILLISECONDS);
+        this.poolEvictionInterval = properties.getDuration("rest.pool.evictionInterval", TimeUnit.MILLISECONDS);
+        this.poolKeepAlive = properties.getDuration("rest.pool.keepAlive", TimeUnit.MILLISECONDS);
+
+        this.virtualThreads = properties.getBoolean("rest.execution.virtualThreads");
+        this.maxConcurrentRequests = properties.getInt("rest.execution.maxConcurrentRequests");
+
+        this.rateLimitRequestsPerSecond = properties.getDouble("rest.rateLimit.requestsPerSecond");
+        this.rateLimitBurst = properties.getInt("rest.rateLimit.burst");
+
+        final Map<String, Double> rateLimitHosts = new HashMap<>();
+        properties.getObject("rest.rateLimit.hosts").forEach((host, value) ->
+                rateLimitHosts.put(host, ((Number) value.unwrapped()).doubleValue())
+        );
+        this.rateLimitHosts = Collections.unmodifiableMap(rateLimitHosts);
+
+        this.jsonPathCacheSize = properties.getInt("rest.json.pathCacheSize");
+        this.jsonStreamingThreshold = properties.getBytes("rest.json.streamingThreshold");
+
+        this.resourceCacheMaxSize = properties.getBytes("rest.request.resourceCache.maxSize");
+        this.resourceCacheCheckModified = properties.getBoolean("rest.request.resourceCache.checkModified");
+        this.resourceCacheRemote = properties.getBoolean("rest.request.resourceCache.remote");
+
+        this.httpCacheEnabled = properties.getBoolean("rest.cache.enabled");
+        this.httpCacheScope = properties.getString("rest.cache.scope");
+        this.httpCacheMaxEntries = properties.getInt("rest.cache.maxEntries");
+        this.httpCacheMaxEntrySize = properties.getBytes("rest.cache.maxEntrySize");
+
+        this.stubServerHost = properties.getString("rest.stubServer.host");
+        this.stubServerPort = properties.getInt("rest.stubServer.port");
+
+        this.recordingMode = properties.getString("rest.recording.mode");
+        this.recordingDirectory = new File(properties.getString("rest.recording.directory"));
+        this.recordingMatchMethod = properties.getBoolean("rest.recording.match.method");
+        this.recordingMatchPath = properties.getBoolean("rest.recording.match.path");
+        this.recordingMatchQuery = properties.getBoolean("rest.recording.match.query");
+        this.recordingMatchHeaders = Collections.unmodifiableList(properties.getStringList("rest.recording.match.headers"));
+        this.recordingMatchBody = properties.getBoolean("rest.recording.match.body");
+
+        this.responseSpoolThreshold = properties.getBytes("rest.response.spoolThreshold");
+        final String spoolDirectory = properties.getString("rest.response.spoolDirectory");
+        this.responseSpoolDirectory = spoolDirectory.isEmpty() ? Optional.empty() : Optional.of(new File(spoolDirectory));
+
+        this.reportEnabled = properties.getBoolean("rest.report.enabled");
+        this.reportDirectory = properties.getString("rest.report.directory");
     }
 
     public String getBaseUrl() {
@@ -85,6 +176,10 @@ public enum RestDriverSubstepsConfiguration {
         return socketTimeout;
     }
 
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
     public String getUserAgent() {
         return userAgent;
     }
@@ -93,6 +188,142 @@ public enum RestDriverSubstepsConfiguration {
         return proxy;
     }
 
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public int getPoolMaxTotal() {
+        return poolMaxTotal;
+    }
+
+    public int getPoolMaxPerRoute() {
+        return poolMaxPerRoute;
+    }
+
+    public long getPoolTimeToLive() {
+        return poolTimeToLive;
+    }
+
+    public long getPoolIdleTimeout() {
+        return poolIdleTimeout;
+    }
+
+    public long getPoolEvictionInterval() {
+        return poolEvictionInterval;
+    }
+
+    public long getPoolKeepAlive() {
+        return poolKeepAlive;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public double getRateLimitRequestsPerSecond() {
+        return rateLimitRequestsPerSecond;
+    }
+
+    public int getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public Map<String, Double> getRateLimitHosts() {
+        return rateLimitHosts;
+    }
+
+    public int getJsonPathCacheSize() {
+        return jsonPathCacheSize;
+    }
+
+    public long getJsonStreamingThreshold() {
+        return jsonStreamingThreshold;
+    }
+
+    public long getResourceCacheMaxSize() {
+        return resourceCacheMaxSize;
+    }
+
+    public boolean isResourceCacheCheckModified() {
+        return resourceCacheCheckModified;
+    }
+
+    public boolean isResourceCacheRemote() {
+        return resourceCacheRemote;
+    }
+
+    public boolean isHttpCacheEnabled() {
+        return httpCacheEnabled;
+    }
+
+    public String getHttpCacheScope() {
+        return httpCacheScope;
+    }
+
+    public int getHttpCacheMaxEntries() {
+        return httpCacheMaxEntries;
+    }
+
+    public long getHttpCacheMaxEntrySize() {
+        return httpCacheMaxEntrySize;
+    }
+
+    public String getStubServerHost() {
+        return stubServerHost;
+    }
+
+    public int getStubServerPort() {
+        return stubServerPort;
+    }
+
+    public String getRecordingMode() {
+        return recordingMode;
+    }
+
+    public File getRecordingDirectory() {
+        return recordingDirectory;
+    }
+
+    public boolean isRecordingMatchMethod() {
+        return recordingMatchMethod;
+    }
+
+    public boolean isRecordingMatchPath() {
+        return recordingMatchPath;
+    }
+
+    public boolean isRecordingMatchQuery() {
+        return recordingMatchQuery;
+    }
+
+    public List<String> getRecordingMatchHeaders() {
+        return recordingMatchHeaders;
+    }
+
+    public boolean isRecordingMatchBody() {
+        return recordingMatchBody;
+    }
+
+    public long getResponseSpoolThreshold() {
+        return responseSpoolThreshold;
+    }
+
+    public Optional<File> getResponseSpoolDirectory() {
+        return responseSpoolDirectory;
+    }
+
+    public boolean isReportEnabled() {
+        return reportEnabled;
+    }
+
+    public String getReportDirectory() {
+        return reportDirectory;
+    }
+
     public Config getProperties() {
         return properties;
     }
@@ -101,7 +332,8 @@ public enum RestDriverSubstepsConfiguration {
         final String property = removeTrailingSlash(baseUrlProperty);
 
         final String baseUrl;
-        if (!property.startsWith("http") && !property.startsWith("file://")) {
+        if (!property.startsWith("http") && !property.startsWith("file://")
+                && !property.startsWith("inproc://") && !property.startsWith("unix:")) {
             baseUrl = removeTrailingSlash(new File(property).toURI().toString());
         } else {
             baseUrl = property;
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.recording;
+
+import com.jayway.restassured.builder.ResponseBuilder;
+import com.jayway.restassured.response.Header;
+import com.jayway.restassured.response.Headers;
+import com.jayway.restassured.response.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recorded request's key and the response it was answered with, as stored in the archive:
+ * <pre>
+ * key, status code, status line, header count, (header name, header value)*, body
+ * </pre>
+ * Where every string is an int length followed by its UTF-8 bytes, and the body is an int length followed by its bytes.
+ */
+public class RecordedExchange {
+
+    private final String key;
+    private final int statusCode;
+    private final String statusLine;
+    private final List<Header> headers;
+    private final byte[] body;
+
+    private RecordedExchange(final String key, final int statusCode, final String statusLine, final List<Header> headers, final byte[] body) {
+        this.key = key;
+        this.statusCode = statusCode;
+        this.statusLine = statusLine;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * @return the exchange without its body, which is streamed into the recording after it, see {@link #headToBytes()}.
+     */
+    public static RecordedExchange of(final String key, final Response response) {
+        return new RecordedExchange(key, response.getStatusCode(), response.getStatusLine(), response.getHeaders().asList(), null);
+    }
+
+    /**
+     * Reads an exchange from where the buffer is positioned.
+     */
+    public static RecordedExchange read(final ByteBuffer buffer) {
+
+        final String key = readString(buffer);
+        final int statusCode = buffer.getInt();
+        final String statusLine = readString(buffer);
+
+        final int count = buffer.getInt();
+        final List<Header> headers = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            headers.add(new Header(readString(buffer), readString(buffer)));
+        }
+
+        return new RecordedExchange(key, statusCode, statusLine, headers, readBytes(buffer));
+    }
+
+    /**
+     * @return everything up to the body, which has to follow it as an int length and then its bytes.
+     */
+    public byte[] headToBytes() throws IOException {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (final DataOutputStream output = new DataOutputStream(bytes)) {
+
+            writeString(output, key);
+            output.writeInt(statusCode);
+            writeString(output, statusLine);
+
+            output.writeInt(headers.size());
+            for (final Header header : headers) {
+                writeString(output, header.getName());
+                writeString(output, header.getValue());
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Only exchanges read back from an archive have a body to answer with.
+     *
+     * @return a new response, as if it had just been received, without a response time as nothing was sent.
+     */
+    public Response toResponse() {
+
+        final Headers all = new Headers(headers);
+
+        final ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(statusCode)
+                .setStatusLine(statusLine)
+                .setHeaders(all)
+                .setBody(body);
+
+        // Needed to parse the body the way it would have been, Rest Assured doesn't take it from the headers.
+        if (all.hasHeaderWithName("Content-Type")) {
+            builder.setContentType(all.getValue("Content-Type"));
+        }
+
+        return builder.build();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        return new String(readBytes(buffer), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.recording;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A recorded archive being replayed, made up of two memory mapped files:
+ * <ul>
+ * <li>{@value #DATA_FILE}, every {@link RecordedExchange} one after the other, in the order they were recorded.</li>
+ * <li>{@value #INDEX_FILE}, a header of magic, version and count followed by a hash of each exchange's key and its
+ * offset in the data, sorted by hash, so an exchange is found by a binary search without reading the data.</li>
+ * </ul>
+ * Keys are compared in full once found by hash, so colliding hashes never answer with the wrong response.
+ */
+public class RecordingArchive {
+
+    static final String DATA_FILE = "recording.data";
+    static final String INDEX_FILE = "recording.index";
+
+    static final int MAGIC = 0x52445243; // RDRC
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 12;
+    private static final int ENTRY_SIZE = 16;
+
+    private final File directory;
+    private final MappedByteBuffer data;
+    private final MappedByteBuffer index;
+    private final int count;
+
+    // Offsets of each key's exchanges and how many have been replayed, so repeated requests are answered in order.
+    private final Map<String, List<Integer>> offsets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> replayed = new ConcurrentHashMap<>();
+
+    private RecordingArchive(final File directory, final MappedByteBuffer data, final MappedByteBuffer index) throws IOException {
+
+        this.directory = directory;
+        this.data = data;
+        this.index = index;
+
+        if (index.getInt(0) != MAGIC || index.getInt(4) != VERSION) {
+            throw new IOException("[" + new File(directory, INDEX_FILE) + "] isn't a version [" + VERSION + "] recording index.");
+        }
+        this.count = index.getInt(8);
+    }
+
+    public static RecordingArchive open(final File directory) throws IOException {
+
+        final File data = new File(directory, DATA_FILE);
+        final File index = new File(directory, INDEX_FILE);
+        if (!data.isFile() || !index.isFile()) {
+            throw new IOException("No recording found in [" + directory + "], it needs recording first.");
+        }
+
+        return new RecordingArchive(directory, map(data), map(index));
+    }
+
+    /**
+     * Safe to call from any thread.
+     *
+     * @return the next recorded exchange for the key, the last one again once they've all been replayed, or null if the
+     * key was never recorded.
+     */
+    public RecordedExchange next(final String key) {
+
+        final List<Integer> found = offsets.computeIfAbsent(key, this::find);
+        if (found.isEmpty()) {
+            return null;
+        }
+
+        final int replay = replayed.computeIfAbsent(key, ignored -> new AtomicInteger()).getAndIncrement();
+
+        return read(found.get(Math.min(replay, found.size() - 1)));
+    }
+
+    /**
+     * The same hash used when writing the index, 64 bit FNV-1a of the key's UTF-8 bytes.
+     */
+    static long hash(final String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (final byte value : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= value & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private List<Integer> find(final String key) {
+
+        final long hash = hash(key);
+
+        // Find the first entry with the hash, the index is sorted by hash then by offset.
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (hashAt(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        final List<Integer> found = new ArrayList<>();
+        for (int entry = low; entry < count && hashAt(entry) == hash; entry++) {
+            final int offset = (int) index.getLong(HEADER_SIZE + entry * ENTRY_SIZE + 8);
+            if (key.equals(read(offset).getKey())) {
+                found.add(offset);
+            }
+        }
+        return found;
+    }
+
+    private long hashAt(final int entry) {
+        return index.getLong(HEADER_SIZE + entry * ENTRY_SIZE);
+    }
+
+    private RecordedExchange read(final int offset) {
+
+        // Each reader needs its own position, the mapped buffer itself is shared between threads.
+        final ByteBuffer buffer = data.duplicate();
+        buffer.position(offset);
+
+        return RecordedExchange.read(buffer);
+    }
+
+    private static MappedByteBuffer map(final File file) throws IOException {
+        try (final RandomAccessFile archive = new RandomAccessFile(file, "r")) {
+            return archive.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, archive.length());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RecordingArchive{directory=" + directory + ", exchanges=" + count + ", keysReplayed=" + replayed.size() + "}";
+    }
+}
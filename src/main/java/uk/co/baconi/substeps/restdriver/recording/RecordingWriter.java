@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.recording;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Writes exchanges to a new {@link RecordingArchive}, appending each to the data file as it's recorded and writing
+ * the index once the recording is closed.
+ * <p>
+ * Bodies are streamed straight into the data file, so recording never holds a whole body on heap.
+ */
+public class RecordingWriter implements AutoCloseable {
+
+    // The index stores offsets as longs, but the archive maps the data as a single buffer.
+    private static final long MAX_DATA_SIZE = Integer.MAX_VALUE;
+
+    private static final int BODY_LENGTH_SIZE = 4;
+
+    private final File directory;
+    private final FileChannel data;
+    private final List<long[]> entries = new ArrayList<>();
+    private long size;
+
+    private RecordingWriter(final File directory, final FileChannel data) {
+        this.directory = directory;
+        this.data = data;
+    }
+
+    /**
+     * Starts a new recording, replacing any already in the directory.
+     */
+    public static RecordingWriter create(final File directory) throws IOException {
+
+        Files.createDirectories(directory.toPath());
+        Files.deleteIfExists(new File(directory, RecordingArchive.INDEX_FILE).toPath());
+
+        final File data = new File(directory, RecordingArchive.DATA_FILE);
+        return new RecordingWriter(directory, FileChannel.open(
+                data.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+        ));
+    }
+
+    /**
+     * Safe to call from any thread, though exchanges are appended one at a time, each reading its whole body.
+     *
+     * @param exchange the exchange, without its body.
+     * @param body     the body to stream in after it, closed by the caller, null is treated as empty.
+     */
+    public synchronized void append(final RecordedExchange exchange, final InputStream body) throws IOException {
+
+        final long start = size;
+        try {
+
+            write(ByteBuffer.wrap(exchange.headToBytes()));
+
+            // Only known once the whole body has been streamed in, so filled in afterwards.
+            final long lengthPosition = data.position();
+            write(ByteBuffer.allocate(BODY_LENGTH_SIZE));
+
+            final long bodyPosition = data.position();
+            if (body != null) {
+                final byte[] buffer = new byte[8192];
+                for (int read = body.read(buffer); read >= 0; read = body.read(buffer)) {
+                    if (data.position() + read > MAX_DATA_SIZE) {
+                        throw new IOException("Recording in [" + directory + "] would grow past [" + MAX_DATA_SIZE + "] bytes.");
+                    }
+                    write(ByteBuffer.wrap(buffer, 0, read));
+                }
+            }
+
+            final long length = data.position() - bodyPosition;
+            final ByteBuffer lengthBytes = ByteBuffer.allocate(BODY_LENGTH_SIZE).putInt(0, (int) length);
+            while (lengthBytes.hasRemaining()) {
+                data.write(lengthBytes, lengthPosition + lengthBytes.position());
+            }
+
+            entries.add(new long[]{RecordingArchive.hash(exchange.getKey()), start});
+            size = data.position();
+
+        } catch (final IOException | RuntimeException exception) {
+            // Leaves out the part written, so the rest of the recording can still be replayed.
+            data.truncate(start);
+            data.position(start);
+            throw exception;
+        }
+    }
+
+    private void write(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            data.write(buffer);
+        }
+    }
+
+    /**
+     * Finishes the data and writes the index, without which the recording can't be replayed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+
+        data.close();
+
+        // Sorted by offset within each hash, so a key's exchanges are replayed in the order they were recorded.
+        entries.sort(Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparingLong(entry -> entry[1]));
+
+        final File index = new File(directory, RecordingArchive.INDEX_FILE);
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(index, false)))) {
+
+            output.writeInt(RecordingArchive.MAGIC);
+            output.writeInt(RecordingArchive.VERSION);
+            output.writeInt(entries.size());
+
+            for (final long[] entry : entries) {
+                output.writeLong(entry[0]);
+                output.writeLong(entry[1]);
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "RecordingWriter{directory=" + directory + ", exchanges=" + entries.size() + ", bytes=" + size + "}";
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.recording;
+
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.RequestSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+import uk.co.baconi.substeps.restdriver.response.SpooledResponseBody;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Records requests as they're performed, or answers them from a recording instead, depending on the configured mode.
+ * <p>
+ * The archive is opened on the first request that needs it, and a recording is only complete once closed.
+ */
+public class Recordings {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Recordings.class);
+
+    private static final RecordingMode MODE = RecordingMode.valueOf(
+            RestDriverSubstepsConfiguration.PROPERTIES.getRecordingMode().toUpperCase(Locale.ENGLISH)
+    );
+
+    private static final File DIRECTORY = RestDriverSubstepsConfiguration.PROPERTIES.getRecordingDirectory();
+
+    private static final RequestMatcher MATCHER = new RequestMatcher(RestDriverSubstepsConfiguration.PROPERTIES);
+
+    private static RecordingWriter writer;
+    private static RecordingArchive archive;
+
+    private Recordings() {
+    }
+
+    public static boolean isReplaying() {
+        return MODE == RecordingMode.REPLAY;
+    }
+
+    /**
+     * Keyed before the request is sent, as a streamed body can only be read the once.
+     *
+     * @param request the request, with everything it will be sent with already added.
+     * @return the key to {@link #record} the request's exchange under once it's been performed, or null if requests
+     * aren't being recorded.
+     */
+    public static String recordingKeyFor(final RequestSpecification request, final String method, final String fullUrl) {
+        return MODE == RecordingMode.RECORD ? MATCHER.keyFor(request, method, fullUrl) : null;
+    }
+
+    /**
+     * @param request the request, with everything it will be sent with already added.
+     * @param send    sends the request, only called if it isn't being replayed.
+     */
+    public static Response perform(final RequestSpecification request, final String method, final String fullUrl, final Supplier<Response> send) {
+        return MODE == RecordingMode.REPLAY ? replay(request, method, fullUrl) : send.get();
+    }
+
+    /**
+     * Records the exchange once the response's body has been read, so writing it isn't counted as the request's time.
+     *
+     * @param key      the key from {@link #recordingKeyFor}, nothing is recorded if it's null.
+     * @param response the response, its body already read in by {@link SpooledResponseBody#read}.
+     */
+    public static void record(final String key, final Response response, final String method, final String fullUrl) {
+
+        if (key == null) {
+            return;
+        }
+
+        final SpooledResponseBody body = SpooledResponseBody.of(response);
+        try (final InputStream stream = body != null ? body.openStream() : response.asInputStream()) {
+            getWriter().append(RecordedExchange.of(key, response), stream);
+        } catch (final IOException exception) {
+            throw new AssertionError("Unable to record request [" + method + " " + fullUrl + "].", exception);
+        }
+    }
+
+    /**
+     * Writes the index of anything recorded, then lets go of the archive.
+     */
+    public static synchronized void close() throws IOException {
+
+        if (writer != null) {
+            LOG.info("Closing {}.", writer);
+            writer.close();
+            writer = null;
+        }
+
+        if (archive != null) {
+            LOG.info("Closing {}.", archive);
+            archive = null;
+        }
+    }
+
+    private static Response replay(final RequestSpecification request, final String method, final String fullUrl) {
+
+        final String key = MATCHER.keyFor(request, method, fullUrl);
+
+        final RecordedExchange exchange = getArchive().next(key);
+        if (exchange == null) {
+            throw new AssertionError("No recorded response for request [" + method + " " + fullUrl + "], matched on:\n" + key);
+        }
+
+        LOG.debug("Replaying recorded response for request [{} {}].", method, fullUrl);
+
+        return exchange.toResponse();
+    }
+
+    private static synchronized RecordingWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = RecordingWriter.create(DIRECTORY);
+            LOG.info("Recording requests to [{}].", DIRECTORY);
+        }
+        return writer;
+    }
+
+    private static synchronized RecordingArchive getArchive() {
+        if (archive == null) {
+            try {
+                archive = RecordingArchive.open(DIRECTORY);
+            } catch (final IOException exception) {
+                throw new AssertionError("Unable to open the recording in [" + DIRECTORY + "].", exception);
+            }
+            LOG.info("Replaying requests from {}.", archive);
+        }
+        return archive;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.recording;
+
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.RequestSpecification;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+import uk.co.baconi.substeps.restdriver.utils.RequestUrlUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Reduces a request to the key its recorded response is stored under, made up of only the parts of the request that
+ * are configured to be matched, so requests that differ in anything else share the same recorded response.
+ */
+public class RequestMatcher {
+
+    private static final String STREAMED_BODY = "streamed";
+
+    private final boolean method;
+    private final boolean path;
+    private final boolean query;
+    private final List<String> headers;
+    private final boolean body;
+
+    public RequestMatcher(final RestDriverSubstepsConfiguration configuration) {
+        this.method = configuration.isRecordingMatchMethod();
+        this.path = configuration.isRecordingMatchPath();
+        this.query = configuration.isRecordingMatchQuery();
+        this.headers = configuration.getRecordingMatchHeaders().stream()
+                .map(name -> name.toLowerCase(Locale.ENGLISH))
+                .sorted()
+                .collect(Collectors.toList());
+        this.body = configuration.isRecordingMatchBody();
+    }
+
+    /**
+     * @return the key of the request, one line per part matched, so it reads well in failure messages.
+     */
+    public String keyFor(final RequestSpecification request, final String method, final String fullUrl) {
+
+        // Rest Assured's only implementation of a request is also filterable, which is how its contents can be read.
+        final FilterableRequestSpecification filterable = (FilterableRequestSpecification) request;
+
+        final StringBuilder key = new StringBuilder();
+
+        if (this.method) {
+            key.append("method: ").append(method.toUpperCase(Locale.ENGLISH)).append('\n');
+        }
+
+        if (this.path) {
+            key.append("path: ").append(pathOf(RequestUrlUtil.fillPathParams(filterable, fullUrl))).append('\n');
+        }
+
+        if (this.query) {
+            key.append("query: ").append(String.join("&", RequestUrlUtil.queryParamsOf(filterable, method, fullUrl))).append('\n');
+        }
+
+        for (final String header : headers) {
+            key.append("header: ").append(header).append('=')
+                    .append(String.join(",", filterable.getHeaders().getValues(header))).append('\n');
+        }
+
+        if (this.body) {
+            key.append("body: ").append(hashBody(filterable)).append('\n');
+        }
+
+        return key.toString();
+    }
+
+    static String pathOf(final String fullUrl) {
+
+        final int scheme = fullUrl.indexOf("://");
+        final int start = scheme >= 0 ? fullUrl.indexOf('/', scheme + 3) : 0;
+        if (start < 0) {
+            return "/";
+        }
+
+        final int end = fullUrl.indexOf('?', start);
+        return end >= 0 ? fullUrl.substring(start, end) : fullUrl.substring(start);
+    }
+
+    private String hashBody(final FilterableRequestSpecification request) {
+
+        final MessageDigest digest = sha256();
+
+        final Object content = request.getBody();
+        if (content instanceof InputStream) {
+            return STREAMED_BODY;
+        } else if (content instanceof byte[]) {
+            digest.update((byte[]) content);
+        } else if (content instanceof File) {
+            // Streamed through the digest, so large files are never read onto the heap.
+            try (final InputStream file = new FileInputStream((File) content)) {
+                final byte[] buffer = new byte[8192];
+                for (int read = file.read(buffer); read >= 0; read = file.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                }
+            } catch (final IOException exception) {
+                throw new AssertionError("Unable to read the request body from [" + content + "].", exception);
+            }
+        } else if (content != null) {
+            digest.update(content.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        final List<String> form = new ArrayList<>();
+        RequestUrlUtil.addParameters(form, request.getFormParams());
+        form.sort(null);
+        form.forEach(parameter -> digest.update(("\n" + parameter).getBytes(StandardCharsets.UTF_8)));
+
+        final StringBuilder hex = new StringBuilder();
+        for (final byte value : digest.digest()) {
+            hex.append(String.format("%02x", value));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Every JVM is required to support SHA-256.", exception);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.response;
+
+import com.jayway.restassured.internal.RestAssuredResponseImpl;
+import com.jayway.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The body of a rest response, held on heap while it's small and spooled to a temporary file once it grows past a
+ * threshold, so holding on to responses never holds on to large amounts of heap.
+ * <p>
+ * Spooled bodies are memory mapped for reading, and the file is deleted once the body is closed.
+ */
+public class SpooledResponseBody implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpooledResponseBody.class);
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final byte[] bytes;
+    private final File file;
+    private final MappedByteBuffer mapped;
+    private final long size;
+    private final Map<String, String> digests = new ConcurrentHashMap<>();
+
+    private SpooledResponseBody(final byte[] bytes) {
+        this.bytes = bytes;
+        this.file = null;
+        this.mapped = null;
+        this.size = bytes.length;
+    }
+
+    private SpooledResponseBody(final File file) throws IOException {
+        this.bytes = null;
+        this.file = file;
+        this.size = file.length();
+
+        // A single mapping can only cover 2GB, anything bigger is read straight from the file instead.
+        if (size <= Integer.MAX_VALUE) {
+            try (final RandomAccessFile spooled = new RandomAccessFile(file, "r")) {
+                this.mapped = spooled.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        } else {
+            this.mapped = null;
+        }
+    }
+
+    /**
+     * Reads the whole of the body, closing it afterwards.
+     *
+     * @param body      the body to read, null is treated as empty.
+     * @param threshold bodies bigger than this many bytes are spooled to a file.
+     * @param directory where to create the files, null for the default temporary directory.
+     */
+    public static SpooledResponseBody spool(final InputStream body, final long threshold, final File directory) throws IOException {
+
+        if (body == null) {
+            return new SpooledResponseBody(EMPTY);
+        }
+
+        try (final InputStream input = body) {
+
+            final ByteArrayOutputStream memory = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+
+            for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+
+                if (memory.size() + read > threshold) {
+                    return spoolToFile(memory, buffer, read, input, directory);
+                }
+
+                memory.write(buffer, 0, read);
+            }
+
+            return new SpooledResponseBody(memory.toByteArray());
+        }
+    }
+
+    /**
+     * Reads the whole body of the response now, rather than whenever it's first asked for, leaving the response to be
+     * read from the spooled body instead of the connection.
+     *
+     * @param threshold bodies bigger than this many bytes are spooled to a file.
+     * @param directory where to create the files, null for the default temporary directory.
+     * @return the body, which belongs to the response until it's taken.
+     */
+    public static SpooledResponseBody read(final Response response, final long threshold, final File directory) throws IOException {
+
+        final SpooledResponseBody body = spool(response.asInputStream(), threshold, directory);
+
+        // Every response Rest Assured creates, including those built by its ResponseBuilder, is one of its own.
+        ((RestAssuredResponseImpl) response).setContent(new ContentStream(body));
+
+        return body;
+    }
+
+    /**
+     * @return the body read into the response, which still belongs to it, or null if it wasn't read into the response
+     * or Rest Assured has since read it itself.
+     */
+    public static SpooledResponseBody of(final Response response) {
+        final InputStream content = response.asInputStream();
+        return content instanceof ContentStream ? ((ContentStream) content).body : null;
+    }
+
+    /**
+     * Takes the body read into the response, leaving the response with an empty body.
+     *
+     * @return the body, which the caller is now responsible for closing, or null if there isn't one to take.
+     */
+    public static SpooledResponseBody take(final Response response) {
+        final SpooledResponseBody body = of(response);
+        if (body != null) {
+            ((RestAssuredResponseImpl) response).setContent(new ByteArrayInputStream(EMPTY));
+        }
+        return body;
+    }
+
+    private static SpooledResponseBody spoolToFile(
+            final ByteArrayOutputStream memory, final byte[] buffer, final int read, final InputStream input, final File directory
+    ) throws IOException {
+
+        final File file = File.createTempFile("rest-driver-response-", ".body", directory);
+
+        try (final OutputStream output = new FileOutputStream(file)) {
+            memory.writeTo(output);
+            output.write(buffer, 0, read);
+            for (int next = input.read(buffer); next >= 0; next = input.read(buffer)) {
+                output.write(buffer, 0, next);
+            }
+        } catch (final IOException exception) {
+            delete(file);
+            throw exception;
+        }
+
+        LOG.debug("Spooled response body of [{}] bytes to [{}].", file.length(), file);
+
+        return new SpooledResponseBody(file);
+    }
+
+    /**
+     * @return the size of the body in bytes.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return true if the body is held in a file, rather than on heap.
+     */
+    public boolean isSpooled() {
+        return file != null;
+    }
+
+    /**
+     * @return a new stream of the whole body, which can be called any number of times.
+     */
+    public InputStream openStream() throws IOException {
+
+        final InputStream stream;
+        if (bytes != null) {
+            stream = new ByteArrayInputStream(bytes);
+        } else if (mapped != null) {
+            stream = new ByteBufferInputStream(mapped.duplicate());
+        } else {
+            stream = new BufferedInputStream(new FileInputStream(file));
+        }
+
+        return stream;
+    }
+
+    /**
+     * @return the whole body on heap, only use this when the body is known to be small or there is no alternative.
+     */
+    public byte[] toByteArray() throws IOException {
+
+        if (bytes != null) {
+            return bytes;
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream((int) Math.min(size, Integer.MAX_VALUE - 8));
+        try (final InputStream input = openStream()) {
+            final byte[] buffer = new byte[8192];
+            for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                output.write(buffer, 0, read);
+            }
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Reads through the body once per algorithm, in constant memory, remembering the result for any later calls.
+     *
+     * @param algorithm the name of the MessageDigest algorithm, such as MD5 or SHA-256.
+     * @return the lower case hex digest of the whole body.
+     */
+    public String digest(final String algorithm) throws IOException {
+
+        final String cached = digests.get(algorithm);
+        if (cached != null) {
+            return cached;
+        }
+
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new AssertionError("Unsupported digest algorithm [" + algorithm + "].", exception);
+        }
+
+        try (final InputStream input = openStream()) {
+            final byte[] buffer = new byte[8192];
+            for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        final String hex = toHex(digest.digest());
+        digests.put(algorithm, hex);
+
+        return hex;
+    }
+
+    /**
+     * @return true if the body starts with the given bytes, only reading as much of the body as there are bytes given.
+     */
+    public boolean startsWith(final byte[] prefix) throws IOException {
+
+        if (prefix.length > size) {
+            return false;
+        }
+
+        final byte[] start = new byte[prefix.length];
+        try (final InputStream input = openStream()) {
+            int offset = 0;
+            while (offset < start.length) {
+                final int read = input.read(start, offset, start.length - offset);
+                if (read < 0) {
+                    return false;
+                }
+                offset += read;
+            }
+        }
+
+        return Arrays.equals(start, prefix);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte value : bytes) {
+            hex.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    @Override
+    public void close() {
+        if (file != null) {
+            delete(file);
+        }
+    }
+
+    private static void delete(final File file) {
+        // Mapped files can't be deleted on some platforms until the mapping is collected, only those are left until exit.
+        if (!file.delete() && file.exists()) {
+            LOG.debug("Unable to delete spooled response body [{}] yet, it will be deleted on exit.", file);
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * The content of a response that has been read into a spooled body, only opening the body if it's read again.
+     */
+    private static class ContentStream extends InputStream {
+
+        private final SpooledResponseBody body;
+        private InputStream stream;
+
+        private ContentStream(final SpooledResponseBody body) {
+            this.body = body;
+        }
+
+        private InputStream stream() throws IOException {
+            if (stream == null) {
+                stream = body.openStream();
+            }
+            return stream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return stream().read();
+        }
+
+        @Override
+        public int read(final byte[] target, final int offset, final int length) throws IOException {
+            return stream().read(target, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+
+    /**
+     * Reads from its own view of a buffer, so each stream starts at the beginning of the body.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] target, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, read);
+            return read;
+        }
+
+        @Override
+        public long skip(final long length) {
+            final int skipped = (int) Math.max(0, Math.min(length, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
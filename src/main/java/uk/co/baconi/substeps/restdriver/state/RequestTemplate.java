@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.state;
+
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.config.RestAssuredConfig;
+import com.jayway.restassured.specification.RequestSpecification;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyBuilder;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A named snapshot of a request as it was being built, which is never changed once saved so any number of scenarios,
+ * on any number of threads, can start new requests from it by copying it rather than building them up again.
+ */
+public class RequestTemplate {
+
+    private final String name;
+    private final RequestSpecification request;
+    private final RestAssuredConfig config;
+    private final long timeout;
+    private final RequestBodyBuilder bodyBuilder;
+    private final List<RequestBodyEntry> bodyData;
+
+    public RequestTemplate(
+            final String name, final RequestSpecification request, final RestAssuredConfig config, final long timeout,
+            final RequestBodyBuilder bodyBuilder, final List<RequestBodyEntry> bodyData
+    ) {
+        this.name = name;
+        // Copied so later changes to the request being built don't leak into the template.
+        this.request = RestAssured.given().spec(request);
+        this.config = config;
+        this.timeout = timeout;
+        this.bodyBuilder = bodyBuilder;
+        this.bodyData = Collections.unmodifiableList(new ArrayList<>(bodyData));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return a new request, copied from the template, that can be changed without affecting the template.
+     */
+    public RequestSpecification newRequest() {
+        return RestAssured.given().spec(request).config(config);
+    }
+
+    public RestAssuredConfig getConfig() {
+        return config;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @return the body builder, or null if one wasn't chosen before the template was saved.
+     */
+    public RequestBodyBuilder getBodyBuilder() {
+        return bodyBuilder;
+    }
+
+    /**
+     * @return a new list of the body data, that can be added to without affecting the template.
+     */
+    public List<RequestBodyEntry> newBodyData() {
+        return new ArrayList<>(bodyData);
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTemplate{name=" + name + ", timeout=" + timeout + ", bodyData=" + bodyData.size() + "}";
+    }
+}
@@ -0,0 +1,543 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.state;
+
+import com.jayway.restassured.config.RestAssuredConfig;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.response.ValidatableResponse;
+import com.jayway.restassured.specification.RequestSpecification;
+import com.technophobia.substeps.model.Scope;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyBuilder;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyEntry;
+import uk.co.baconi.substeps.restdriver.cache.CacheStatus;
+import uk.co.baconi.substeps.restdriver.cache.HttpCache;
+import uk.co.baconi.substeps.restdriver.client.AsyncRequestExecutor;
+import uk.co.baconi.substeps.restdriver.client.RateLimiter;
+import uk.co.baconi.substeps.restdriver.json.JsonEvaluation;
+import uk.co.baconi.substeps.restdriver.json.ParsedJsonDocument;
+import uk.co.baconi.substeps.restdriver.load.LoadTestResult;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+import uk.co.baconi.substeps.restdriver.response.SpooledResponseBody;
+import uk.co.baconi.substeps.restdriver.stub.Stub;
+import uk.co.baconi.substeps.restdriver.stub.StubServer;
+import uk.co.baconi.substeps.restdriver.utils.ExecutionContextUtil;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Everything the driver holds within a scope, kept in a single object per scope so each step reads plain fields
+ * rather than looking up, type checking and copying string keyed values in the ExecutionContext.
+ * <p>
+ * Each thread has its own ExecutionContext, so SUITE scoped cookies, templates and the SUITE http cache are held
+ * statically where every thread, such as those performing async requests, can see them. Everything else, FEATURE
+ * scope included, lives in the ExecutionContext of the thread running the scenarios and isn't shared between threads.
+ */
+public class RestDriverState {
+
+    private static final String STATE = "REST_DRIVER_STATE";
+
+    private static final Scope[] SCOPES = Scope.values();
+
+    private static final Map<String, String> SUITE_COOKIES = new ConcurrentHashMap<>();
+    private static final Map<String, RequestTemplate> SUITE_TEMPLATES = new ConcurrentHashMap<>();
+    private static final HttpCache SUITE_HTTP_CACHE = new HttpCache(RestDriverSubstepsConfiguration.PROPERTIES);
+
+    // Bumped on every change to the cookies of any scope, on any thread, so merged views know when they're stale.
+    private static final AtomicLong COOKIES_VERSION = new AtomicLong();
+
+    // Set once a scope's cookies have been handed out to be changed directly, which can't be tracked, after which the
+    // merged cookies are rebuilt every time they're asked for.
+    private static volatile boolean cookiesChangedDirectly;
+
+    private final Scope scope;
+
+    private RequestSpecification request;
+    private RestAssuredConfig requestConfig;
+    private Long requestTimeout;
+    private RateLimiter rateLimiter;
+    private Scope httpCacheScope;
+    private List<RequestBodyEntry> requestBodyData = new ArrayList<>();
+    private RequestBodyBuilder requestBodyBuilder;
+
+    private ValidatableResponse response;
+    private Long responseTime;
+    private long rateLimitWait;
+    private CacheStatus cacheStatus;
+    private ParsedJsonDocument responseJson;
+    private SpooledResponseBody responseBody;
+    private Long responseSpoolThreshold;
+    private JsonEvaluation jsonEvaluation = JsonEvaluation.AUTO;
+
+    private final Map<String, CompletableFuture<Response>> asyncResponses = new LinkedHashMap<>();
+    private LoadTestResult loadTestResult;
+
+    private Stub stub;
+    private final List<Stub> registeredStubs = new ArrayList<>();
+
+    private final Map<String, RequestTemplate> templates;
+    private final HttpCache httpCache;
+
+    private Map<String, String> cookies;
+    private Map<String, String> mergedCookies;
+    private Map<String, String> mergedCookiesView;
+    private long mergedCookiesVersion = -1;
+
+    private RestDriverState(final Scope scope) {
+        this.scope = scope;
+        this.cookies = createCookieStore(scope, Collections.emptyMap());
+        this.templates = createTemplateStore(scope);
+        this.httpCache = scope == Scope.SUITE ? SUITE_HTTP_CACHE : new HttpCache(RestDriverSubstepsConfiguration.PROPERTIES);
+
+        if (RestDriverSubstepsConfiguration.PROPERTIES.isHttpCacheEnabled()) {
+            this.httpCacheScope = Scope.valueOf(RestDriverSubstepsConfiguration.PROPERTIES.getHttpCacheScope());
+        }
+    }
+
+    /**
+     * @return the state for the given scope, creating it if this is the first time the scope has been used.
+     */
+    public static RestDriverState forScope(final Scope scope) {
+
+        final Optional<RestDriverState> existing = ExecutionContextUtil.get(scope, STATE, RestDriverState.class);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        return create(scope);
+    }
+
+    /**
+     * Replaces the state for the given scope with an empty one, releasing any response body it held.
+     */
+    public static synchronized void reset(final Scope scope) {
+
+        release(scope);
+
+        if (scope == Scope.SUITE) {
+            SUITE_COOKIES.clear();
+            SUITE_TEMPLATES.clear();
+            SUITE_HTTP_CACHE.clear();
+        }
+
+        ExecutionContextUtil.put(scope, STATE, new RestDriverState(scope));
+        COOKIES_VERSION.incrementAndGet();
+    }
+
+    /**
+     * Releases the response body held in the given scope, and any async requests still outstanding, without creating
+     * the scope's state if it's never been used.
+     */
+    public static void release(final Scope scope) {
+        ExecutionContextUtil.get(scope, STATE, RestDriverState.class).ifPresent(state -> {
+            AsyncRequestExecutor.release(state.asyncResponses.values());
+            state.asyncResponses.clear();
+            state.setResponseBody(null);
+            state.unregisterStubs();
+        });
+    }
+
+    private static synchronized RestDriverState create(final Scope scope) {
+
+        // Guards against the scope being created twice, should a runner ever share it between threads.
+        final Optional<RestDriverState> existing = ExecutionContextUtil.get(scope, STATE, RestDriverState.class);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        final RestDriverState created = new RestDriverState(scope);
+        ExecutionContextUtil.put(scope, STATE, created);
+        return created;
+    }
+
+    private static Map<String, String> createCookieStore(final Scope scope, final Map<String, String> cookies) {
+
+        final Map<String, String> cookieStore;
+        switch (scope) {
+            case SUITE: {
+                cookieStore = SUITE_COOKIES;
+                break;
+            }
+            case FEATURE: {
+                cookieStore = new ConcurrentHashMap<>(cookies);
+                break;
+            }
+            default: {
+                cookieStore = new HashMap<>(cookies);
+                break;
+            }
+        }
+
+        return cookieStore;
+    }
+
+    private static Map<String, RequestTemplate> createTemplateStore(final Scope scope) {
+
+        final Map<String, RequestTemplate> templateStore;
+        switch (scope) {
+            case SUITE: {
+                templateStore = SUITE_TEMPLATES;
+                break;
+            }
+            case FEATURE: {
+                templateStore = new ConcurrentHashMap<>();
+                break;
+            }
+            default: {
+                templateStore = new HashMap<>();
+                break;
+            }
+        }
+
+        return templateStore;
+    }
+
+    /**
+     * @return the named template from the narrowest scope that has one, or null if no scope has it.
+     */
+    public static RequestTemplate findTemplate(final String name) {
+
+        for (int index = SCOPES.length - 1; index >= 0; index--) {
+
+            final Scope scope = SCOPES[index];
+            final Map<String, RequestTemplate> templates;
+            if (scope == Scope.SUITE) {
+                templates = SUITE_TEMPLATES;
+            } else {
+                final Optional<RestDriverState> state = ExecutionContextUtil.get(scope, STATE, RestDriverState.class);
+                templates = state.isPresent() ? state.get().templates : Collections.emptyMap();
+            }
+
+            final RequestTemplate template = templates.get(name);
+            if (template != null) {
+                return template;
+            }
+        }
+
+        return null;
+    }
+
+    private static Map<String, String> getCookiesIn(final Scope scope) {
+
+        if (scope == Scope.SUITE) {
+            return SUITE_COOKIES;
+        }
+
+        final Optional<RestDriverState> state = ExecutionContextUtil.get(scope, STATE, RestDriverState.class);
+        return state.isPresent() ? state.get().cookies : Collections.emptyMap();
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    //
+    // Request
+    //
+    public RequestSpecification getRequest() {
+        return request;
+    }
+
+    public void setRequest(final RequestSpecification request) {
+        this.request = request;
+    }
+
+    public RestAssuredConfig getRequestConfig() {
+        return requestConfig;
+    }
+
+    public void setRequestConfig(final RestAssuredConfig requestConfig) {
+        this.requestConfig = requestConfig;
+    }
+
+    public Long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(final Long requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * @return the rate limit requests are paced by, in addition to the suite wide and per host limits, or null if
+     * there isn't one.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public void setRateLimiter(final RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @return the scope whose http cache requests are answered from, or null if they aren't cached.
+     */
+    public Scope getHttpCacheScope() {
+        return httpCacheScope;
+    }
+
+    public void setHttpCacheScope(final Scope httpCacheScope) {
+        this.httpCacheScope = httpCacheScope;
+    }
+
+    /**
+     * @return the responses cached in this scope.
+     */
+    public HttpCache getHttpCache() {
+        return httpCache;
+    }
+
+    /**
+     * @return the request body data, which is added to in place.
+     */
+    public List<RequestBodyEntry> getRequestBodyData() {
+        return requestBodyData;
+    }
+
+    public void setRequestBodyData(final List<RequestBodyEntry> requestBodyData) {
+        this.requestBodyData = requestBodyData;
+    }
+
+    public RequestBodyBuilder getRequestBodyBuilder() {
+        return requestBodyBuilder;
+    }
+
+    public void setRequestBodyBuilder(final RequestBodyBuilder requestBodyBuilder) {
+        this.requestBodyBuilder = requestBodyBuilder;
+    }
+
+    //
+    // Response
+    //
+    public ValidatableResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Replaces the response, along with anything derived from the previous one.
+     */
+    public void setResponse(final ValidatableResponse response, final long responseTime, final SpooledResponseBody responseBody) {
+        this.response = response;
+        this.responseTime = responseTime;
+        this.responseJson = null;
+        setResponseBody(responseBody);
+    }
+
+    public Long getResponseTime() {
+        return responseTime;
+    }
+
+    /**
+     * @return the time the last request waited for the rate limit, in nanoseconds.
+     */
+    public long getRateLimitWait() {
+        return rateLimitWait;
+    }
+
+    public void setRateLimitWait(final long rateLimitWait) {
+        this.rateLimitWait = rateLimitWait;
+    }
+
+    /**
+     * @return how the http cache answered the last request, or null if the cache wasn't used.
+     */
+    public CacheStatus getCacheStatus() {
+        return cacheStatus;
+    }
+
+    public void setCacheStatus(final CacheStatus cacheStatus) {
+        this.cacheStatus = cacheStatus;
+    }
+
+    public ParsedJsonDocument getResponseJson() {
+        return responseJson;
+    }
+
+    public void setResponseJson(final ParsedJsonDocument responseJson) {
+        this.responseJson = responseJson;
+    }
+
+    public SpooledResponseBody getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * Replaces the response body, deleting any spooled file held by the previous one.
+     */
+    private void setResponseBody(final SpooledResponseBody responseBody) {
+        if (this.responseBody != null && this.responseBody != responseBody) {
+            this.responseBody.close();
+        }
+        this.responseBody = responseBody;
+    }
+
+    /**
+     * @return the size over which response bodies are spooled to disk, or null to use the configured threshold.
+     */
+    public Long getResponseSpoolThreshold() {
+        return responseSpoolThreshold;
+    }
+
+    public void setResponseSpoolThreshold(final Long responseSpoolThreshold) {
+        this.responseSpoolThreshold = responseSpoolThreshold;
+    }
+
+    public JsonEvaluation getJsonEvaluation() {
+        return jsonEvaluation;
+    }
+
+    public void setJsonEvaluation(final JsonEvaluation jsonEvaluation) {
+        this.jsonEvaluation = jsonEvaluation;
+    }
+
+    /**
+     * @return the requests performed asynchronously, by name in the order they were started.
+     */
+    public Map<String, CompletableFuture<Response>> getAsyncResponses() {
+        return asyncResponses;
+    }
+
+    public LoadTestResult getLoadTestResult() {
+        return loadTestResult;
+    }
+
+    public void setLoadTestResult(final LoadTestResult loadTestResult) {
+        this.loadTestResult = loadTestResult;
+    }
+
+    /**
+     * @return the stub most recently registered in this scope, which later steps add headers and delays to.
+     */
+    public Stub getStub() {
+        return stub;
+    }
+
+    public void setStub(final Stub stub) {
+        this.stub = stub;
+    }
+
+    /**
+     * @return the stubs registered on the suite's stub server in this scope, which are removed once it ends.
+     */
+    public List<Stub> getRegisteredStubs() {
+        return registeredStubs;
+    }
+
+    /**
+     * Removes the stubs registered in this scope from the suite's stub server, leaving those of every other scope.
+     */
+    public void unregisterStubs() {
+        StubServer.getSuite().ifPresent(server -> server.unregister(registeredStubs));
+        registeredStubs.clear();
+        stub = null;
+    }
+
+    //
+    // Templates
+    //
+    public void putTemplate(final RequestTemplate template) {
+        templates.put(template.getName(), template);
+    }
+
+    //
+    // Cookies
+    //
+
+    /**
+     * @return the cookies in this scope, which can be changed directly, though from then on the merged cookies are
+     * rebuilt for every request, so {@link #putCookie} and {@link #setCookies} are preferred.
+     */
+    public Map<String, String> getCookies() {
+        cookiesChangedDirectly = true;
+        return cookies;
+    }
+
+    public void putCookie(final String name, final String value) {
+
+        cookies.put(name, value);
+
+        final long previous = COOKIES_VERSION.getAndIncrement();
+
+        // Requests are only performed from the SCENARIO scope, so that's where the merged view is kept up to date.
+        final RestDriverState scenario = scope == Scope.SCENARIO ? this : forScope(Scope.SCENARIO);
+        scenario.mergeCookie(scope, name, value, previous);
+    }
+
+    public void setCookies(final Map<String, String> cookieStore) {
+
+        if (scope == Scope.SUITE) {
+            SUITE_COOKIES.clear();
+            SUITE_COOKIES.putAll(cookieStore);
+        } else {
+            cookies = createCookieStore(scope, cookieStore);
+        }
+
+        COOKIES_VERSION.incrementAndGet();
+    }
+
+    /**
+     * @return a read only view of the cookies of every scope, where narrower scopes take precedence. The view is only
+     * rebuilt when the cookies of a scope have been replaced, or changed by another thread, since it was last built,
+     * unless {@link #getCookies} has ever been used, when it's rebuilt every time.
+     */
+    public Map<String, String> getMergedCookies() {
+
+        // Read before merging, so a change made while merging leaves the view stale rather than missing it.
+        final long version = COOKIES_VERSION.get();
+        if (!cookiesChangedDirectly && mergedCookiesView != null && mergedCookiesVersion == version) {
+            return mergedCookiesView;
+        }
+
+        final Map<String, String> merged = new HashMap<>();
+        for (final Scope each : SCOPES) {
+            merged.putAll(each == scope ? cookies : getCookiesIn(each));
+        }
+
+        mergedCookies = merged;
+        mergedCookiesView = Collections.unmodifiableMap(merged);
+        mergedCookiesVersion = version;
+
+        return mergedCookiesView;
+    }
+
+    /**
+     * Applies a single cookie change to the merged view in place, if it was up to date with every change before it.
+     */
+    private void mergeCookie(final Scope changed, final String name, final String value, final long previous) {
+
+        if (mergedCookiesView == null || mergedCookiesVersion != previous) {
+            return;
+        }
+
+        // A narrower scope holding the same cookie still takes precedence.
+        for (int index = changed.ordinal() + 1; index < SCOPES.length; index++) {
+            if (getCookiesIn(SCOPES[index]).containsKey(name)) {
+                mergedCookiesVersion = previous + 1;
+                return;
+            }
+        }
+
+        mergedCookies.put(name, value);
+        mergedCookiesVersion = previous + 1;
+    }
+}
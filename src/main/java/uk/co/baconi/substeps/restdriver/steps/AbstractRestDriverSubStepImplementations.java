@@ -20,29 +20,65 @@
 package uk.co.baconi.substeps.restdriver.steps;
 
 import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.builder.ResponseBuilder;
+import com.jayway.restassured.config.HttpClientConfig;
+import com.jayway.restassured.config.RestAssuredConfig;
+import com.jayway.restassured.response.Response;
 import com.jayway.restassured.response.ValidatableResponse;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
 import com.jayway.restassured.specification.RequestSpecification;
 import com.technophobia.substeps.model.Scope;
+import org.apache.http.client.methods.*;
+import org.apache.http.params.CoreConnectionPNames;
 import uk.co.baconi.substeps.restdriver.builders.KeyPairRequestBodyEntry;
 import uk.co.baconi.substeps.restdriver.builders.RequestBodyBuilder;
 import uk.co.baconi.substeps.restdriver.builders.RequestBodyEntry;
+import uk.co.baconi.substeps.restdriver.cache.CacheStatus;
+import uk.co.baconi.substeps.restdriver.cache.CachedResponse;
+import uk.co.baconi.substeps.restdriver.cache.HttpCache;
+import uk.co.baconi.substeps.restdriver.client.Http2Transport;
+import uk.co.baconi.substeps.restdriver.client.RateLimits;
+import uk.co.baconi.substeps.restdriver.client.RequestDeadline;
+import uk.co.baconi.substeps.restdriver.client.RequestExecutors;
+import uk.co.baconi.substeps.restdriver.client.RequestOptions;
+import uk.co.baconi.substeps.restdriver.client.RequestTimings;
+import uk.co.baconi.substeps.restdriver.client.RestDriverHttpClient;
+import uk.co.baconi.substeps.restdriver.client.UnixDomainSockets;
+import uk.co.baconi.substeps.restdriver.inprocess.InProcessTransport;
+import uk.co.baconi.substeps.restdriver.json.ParsedJsonDocument;
+import uk.co.baconi.substeps.restdriver.metrics.EndpointLatencies;
+import uk.co.baconi.substeps.restdriver.metrics.PerformanceReport;
 import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+import uk.co.baconi.substeps.restdriver.recording.Recordings;
+import uk.co.baconi.substeps.restdriver.response.SpooledResponseBody;
+import uk.co.baconi.substeps.restdriver.state.RestDriverState;
+import uk.co.baconi.substeps.restdriver.stub.StubServer;
+import uk.co.baconi.substeps.restdriver.utils.RequestUrlUtil;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
-import static uk.co.baconi.substeps.restdriver.utils.ExecutionContextUtil.*;
+import static uk.co.baconi.substeps.restdriver.utils.ExecutionContextUtil.get;
 
 public abstract class AbstractRestDriverSubStepImplementations {
 
-    private static final String BASE_REST_DRIVER = "REST_DRIVER_";
-    private static final String REQUEST = BASE_REST_DRIVER + "REQUEST";
-    private static final String REQUEST_BODY_DATA = BASE_REST_DRIVER + "REQUEST_BODY_DATA";
-    private static final String CURRENT_REST_REQUEST_BUILDER = BASE_REST_DRIVER + "REQUEST_BODY_BUILDER";
-    private static final String CURRENT_REST_RESPONSE = BASE_REST_DRIVER + "RESPONSE";
-    private static final String CURRENT_COOKIE_STORE = BASE_REST_DRIVER + "COOKIES";
-    //private static final String CURRENT_JSON_ELEMENT = BASE_REST_DRIVER + "CURRENT_JSON_ELEMENT";
+    // Urls relative to the suite's stub server, rather than the base url.
+    private static final String STUB_URL_PREFIX = "stub:";
+
+    //private static final String CURRENT_JSON_ELEMENT = "REST_DRIVER_CURRENT_JSON_ELEMENT";
+
+    //
+    // State
+    //
+    protected RestDriverState getState() {
+        return getState(Scope.SCENARIO);
+    }
+
+    protected RestDriverState getState(final Scope scope) {
+        return RestDriverState.forScope(scope);
+    }
 
     //
     // Request
@@ -52,7 +88,7 @@ public abstract class AbstractRestDriverSubStepImplementations {
     }
 
     protected void setRequest(final RequestSpecification request, final Scope scope) {
-        put(scope, REQUEST, request);
+        getState(scope).setRequest(request);
     }
 
     protected RequestSpecification getRequest() {
@@ -60,7 +96,8 @@ public abstract class AbstractRestDriverSubStepImplementations {
     }
 
     protected RequestSpecification getRequest(final Scope scope) {
-        return get(scope, REQUEST, RequestSpecification.class).orElseGet(this::createNewRequest);
+        final RequestSpecification request = getState(scope).getRequest();
+        return request != null ? request : createNewRequest();
     }
 
     protected RequestSpecification createNewRequest() {
@@ -70,18 +107,348 @@ public abstract class AbstractRestDriverSubStepImplementations {
         //
         // Setup default values from properties.
         //
-        //response.connectTimeout(RestDriverSubstepsConfiguration.PROPERTIES.getConnectTimeout());
-        //response.socketTimeout(RestDriverSubstepsConfiguration.PROPERTIES.getSocketTimeout());
+        request.config(createNewRequestConfig());
         request.header("User-Agent", RestDriverSubstepsConfiguration.PROPERTIES.getUserAgent());
         RestDriverSubstepsConfiguration.PROPERTIES.getProxy().ifPresent(request::proxy);
 
         return request;
     }
 
+    //
+    // Request Config
+    //
+    protected RestAssuredConfig createNewRequestConfig() {
+
+        // Send everything through the suite wide connection pool.
+        final RestAssuredConfig config = RestDriverHttpClient.getConfig();
+
+        HttpClientConfig httpClientConfig = config.getHttpClientConfig();
+
+        // Negative timeouts are undefined, so leave them as the http client's defaults.
+        final int connectTimeout = RestDriverSubstepsConfiguration.PROPERTIES.getConnectTimeout();
+        if (connectTimeout >= 0) {
+            httpClientConfig = httpClientConfig.setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeout);
+        }
+        final int socketTimeout = RestDriverSubstepsConfiguration.PROPERTIES.getSocketTimeout();
+        if (socketTimeout >= 0) {
+            httpClientConfig = httpClientConfig.setParam(CoreConnectionPNames.SO_TIMEOUT, socketTimeout);
+        }
+        if (RestDriverSubstepsConfiguration.PROPERTIES.isHttp2()) {
+            httpClientConfig = httpClientConfig.setParam(Http2Transport.PARAM, true);
+        }
+
+        return config.httpClient(httpClientConfig);
+    }
+
+    protected void setRequestConfig(final RestAssuredConfig config) {
+        getState().setRequestConfig(config);
+        getRequest().config(config);
+    }
+
+    protected RestAssuredConfig getRequestConfig() {
+        final RestAssuredConfig config = getState().getRequestConfig();
+        return config != null ? config : createNewRequestConfig();
+    }
+
+    protected void setHttpClientParam(final String name, final Object value) {
+        final RestAssuredConfig config = getRequestConfig();
+        setRequestConfig(config.httpClient(config.getHttpClientConfig().setParam(name, value)));
+    }
+
+    protected void setRequestTimeout(final long timeout) {
+        getState().setRequestTimeout(timeout);
+    }
+
+    protected long getRequestTimeout() {
+        final Long timeout = getState().getRequestTimeout();
+        return timeout != null ? timeout : RestDriverSubstepsConfiguration.PROPERTIES.getRequestTimeout();
+    }
+
     protected <A> A getCustomVariable(final String variableName, final Class<A> type) {
         return getOrThrowError("Custom Scenario Variable", () -> get(Scope.SCENARIO, variableName, type));
     }
 
+    //
+    // Request Execution
+    //
+    protected String resolveUrl(final String url) {
+
+        //
+        // Create a URL comprising of the Base URL and the value passed in.
+        //
+        final String fullUrl;
+        if (url.startsWith("http://") || url.startsWith("https://") || url.startsWith("file://")
+                || url.startsWith(InProcessTransport.SCHEME) || url.startsWith(UnixDomainSockets.SCHEME)) {
+            fullUrl = url;
+        } else if (url.startsWith(STUB_URL_PREFIX)) {
+            fullUrl = getStubServer().getBaseUrl() + url.substring(STUB_URL_PREFIX.length());
+        } else {
+            fullUrl = RestDriverSubstepsConfiguration.PROPERTIES.getBaseUrl() + url;
+        }
+
+        return fullUrl;
+    }
+
+    /**
+     * Adds everything held outside of the request itself, the cookies from every scope and the request body data.
+     */
+    protected void prepareRequest(final RequestSpecification request) throws IOException {
+
+        //
+        // Load in all the CookieStores for each Scope available.
+        //
+        request.cookies(getCookieStores());
+
+        //
+        // Add the Request Body data to the request.
+        //
+        final List<RequestBodyEntry> requestBody = getRequestBodyData();
+        if (!requestBody.isEmpty()) {
+
+            // This will explode if the 'NewRequestBody using <RequestBodyBuilder>' step hasn't been run.
+            final RequestBodyBuilder bodyBuilder = getRequestBodyBuilder();
+            bodyBuilder.build(request, requestBody);
+        }
+    }
+
+    /**
+     * @return the options for performing a request in the current scenario.
+     */
+    protected RequestOptions createRequestOptions() {
+
+        final Long threshold = getState().getResponseSpoolThreshold();
+
+        return new RequestOptions(
+                getRequestTimeout(),
+                Arrays.asList(
+                        EndpointLatencies.forScope(Scope.SUITE),
+                        EndpointLatencies.forScope(Scope.FEATURE),
+                        EndpointLatencies.forScope(Scope.SCENARIO)
+                ),
+                getState(Scope.FEATURE).getRateLimiter(),
+                threshold != null ? threshold : RestDriverSubstepsConfiguration.PROPERTIES.getResponseSpoolThreshold()
+        );
+    }
+
+    /**
+     * Performs the request through the http cache, if the scenario is using one.
+     */
+    protected Response performRequest(final RequestSpecification request, final String method, final String fullUrl) {
+
+        final Scope cacheScope = getState().getHttpCacheScope();
+        if (cacheScope == null) {
+            getState().setCacheStatus(null);
+            return sendRequest(request, method, fullUrl);
+        }
+
+        return performCachedRequest(getState(cacheScope).getHttpCache(), request, method, fullUrl);
+    }
+
+    /**
+     * Answers a GET from the cache while the cached response is fresh, revalidates it once it's stale, and otherwise
+     * sends the request, caching the response if it can be.
+     */
+    private Response performCachedRequest(final HttpCache cache, final RequestSpecification request, final String method, final String fullUrl) {
+
+        final FilterableRequestSpecification filterable = (FilterableRequestSpecification) request;
+        final String cacheControl = filterable.getHeaders().getValue("Cache-Control");
+
+        // Cached by the url that's actually sent, so requests for different path or query params never share a response.
+        final String sentUrl = RequestUrlUtil.sentUrlOf(filterable, method, fullUrl);
+
+        if (!HttpGet.METHOD_NAME.equalsIgnoreCase(method) || CachedResponse.hasDirective(cacheControl, "no-store")) {
+
+            // Anything that might change what's at the url makes what's cached for it stale.
+            if (!HttpHead.METHOD_NAME.equalsIgnoreCase(method) && !HttpOptions.METHOD_NAME.equalsIgnoreCase(method)) {
+                cache.invalidate(sentUrl);
+            }
+
+            return cached(cache, CacheStatus.BYPASS, sendRequest(request, method, fullUrl));
+        }
+
+        final CachedResponse cached = cache.get(sentUrl, request);
+
+        if (cached != null && cached.isFresh() && !CachedResponse.hasDirective(cacheControl, "no-cache")) {
+            getState().setRateLimitWait(0);
+            return cached(cache, CacheStatus.HIT, cached.toResponse());
+        }
+
+        final boolean revalidating = cached != null && cached.hasValidators();
+        final Response response = sendRequest(revalidating ? cached.conditional(request) : request, method, fullUrl);
+
+        if (revalidating && CachedResponse.isNotModified(response)) {
+            final CachedResponse revalidated = cached.revalidated(response);
+            cache.put(sentUrl, revalidated);
+            return cached(cache, CacheStatus.REVALIDATION, revalidated.toResponse());
+        }
+
+        // Checked before reading the body, so responses too big to cache, or of unknown size, are left to be spooled.
+        if (CachedResponse.isCacheable(response) && cache.fits(response.getHeader("Content-Length"))) {
+            final SpooledResponseBody body = SpooledResponseBody.of(response);
+            cache.put(sentUrl, CachedResponse.of(request, response, body != null ? toByteArray(body) : response.asByteArray()));
+        } else {
+            cache.invalidate(sentUrl);
+        }
+
+        return cached(cache, CacheStatus.MISS, response);
+    }
+
+    private static byte[] toByteArray(final SpooledResponseBody body) {
+        try {
+            return body.toByteArray();
+        } catch (final IOException exception) {
+            throw new AssertionError("Unable to read the response body to cache it.", exception);
+        }
+    }
+
+    private Response cached(final HttpCache cache, final CacheStatus status, final Response response) {
+        cache.record(status);
+        getState().setCacheStatus(status);
+        return response;
+    }
+
+    private Response sendRequest(final RequestSpecification request, final String method, final String fullUrl) {
+
+        final Response response = performRequest(request, method, fullUrl, createRequestOptions());
+        getState().setRateLimitWait(RateLimits.getLastWait());
+
+        return response;
+    }
+
+    /**
+     * Performs the request without reading anything from the scenario, so it's safe to call from other threads.
+     * <p>
+     * The whole response body has been read by the time it returns, and is held in a {@link SpooledResponseBody} that
+     * belongs to the response until it's taken.
+     */
+    protected Response performRequest(final RequestSpecification request, final String method, final String fullUrl, final RequestOptions options) {
+
+        final String recordingKey = Recordings.recordingKeyFor(request, method, fullUrl);
+
+        // Paced and given a permit before the clock starts, so time spent queueing isn't counted as request latency.
+        // Pacing comes first, so requests held back by the rate limit aren't also holding permits.
+        // Replayed requests never reach a server, so there's nothing to pace.
+        final long rateLimitWait = Recordings.isReplaying() ? 0 : RateLimits.acquire(fullUrl, options.getRateLimiter());
+        RequestExecutors.acquire();
+
+        final RequestDeadline deadline = RequestDeadline.start(options.getRequestTimeout());
+        final RequestTimings timings = RequestTimings.start();
+        timings.setRateLimitWait(rateLimitWait);
+        try {
+
+            final Response response = Recordings.perform(request, method, fullUrl, () -> performRequestImpl(request, method, fullUrl));
+
+            // In process handlers can only be interrupted by the deadline, so one that ignores it still has to fail.
+            if (deadline.hasExpired()) {
+                throw new AssertionError("Request [" + method + " " + fullUrl + "] was answered after its deadline.");
+            }
+
+            // Rest Assured only reads the body once it's asked for, so read it now, while the request is still timed
+            // and before the deadline is closed.
+            readBody(response, options, method, fullUrl);
+            timings.finish();
+
+            Recordings.record(recordingKey, response, method, fullUrl);
+
+            final String endpoint = EndpointLatencies.endpoint(method, fullUrl);
+            options.getLatencies().forEach(latencies -> latencies.record(endpoint, timings.getTotal()));
+
+            PerformanceReport.getInstance().record(method, fullUrl, response.getStatusCode(), timings);
+
+            return response;
+
+        } catch (final Exception | AssertionError exception) {
+            timings.finish();
+            PerformanceReport.getInstance().record(method, fullUrl, 0, timings);
+
+            // Aborted requests can surface as checked IOExceptions, rethrown by Rest Assured without being declared.
+            if (deadline.hasExpired()) {
+                throw new AssertionError(
+                        "Request [" + method + " " + fullUrl + "] exceeded its deadline of [" + deadline.getTimeout() + "ms].",
+                        exception
+                );
+            }
+            throw exception;
+        } finally {
+            timings.close();
+            deadline.close();
+            RequestExecutors.release();
+        }
+    }
+
+    private static void readBody(final Response response, final RequestOptions options, final String method, final String fullUrl) {
+        try {
+            SpooledResponseBody.read(
+                    response,
+                    options.getResponseSpoolThreshold(),
+                    RestDriverSubstepsConfiguration.PROPERTIES.getResponseSpoolDirectory().orElse(null)
+            );
+        } catch (final IOException exception) {
+            throw new AssertionError("Unable to read the response to request [" + method + " " + fullUrl + "].", exception);
+        }
+    }
+
+    private Response performRequestImpl(final RequestSpecification request, final String method, final String fullUrl) {
+
+        if (InProcessTransport.isInProcess(fullUrl)) {
+            return InProcessTransport.perform(request, method, fullUrl);
+        }
+
+        // The java.net.http client can't send over unix domain sockets, so those are always sent as HTTP/1.1.
+        if (Http2Transport.isEnabled(request) && !UnixDomainSockets.isUnix(fullUrl)) {
+            return Http2Transport.perform(request, method, fullUrl);
+        }
+
+        // Only rewritten here, so everything else still reports the request by the url it was made with.
+        final String targetUrl = UnixDomainSockets.isUnix(fullUrl) ? UnixDomainSockets.toHttpUrl(fullUrl) : fullUrl;
+
+        final Response response;
+        switch (method.toUpperCase()) {
+            case HttpDelete.METHOD_NAME: {
+                response = request.delete(targetUrl);
+                break;
+            }
+            case HttpGet.METHOD_NAME: {
+                response = request.get(targetUrl);
+                break;
+            }
+            case HttpHead.METHOD_NAME: {
+                response = request.head(targetUrl);
+                break;
+            }
+            case HttpOptions.METHOD_NAME: {
+                response = request.options(targetUrl);
+                break;
+            }
+            case HttpPatch.METHOD_NAME: {
+                response = request.patch(targetUrl);
+                break;
+            }
+            case HttpPost.METHOD_NAME: {
+                response = request.post(targetUrl);
+                break;
+            }
+            case HttpPut.METHOD_NAME: {
+                response = request.put(targetUrl);
+                break;
+            }
+            default: {
+                throw new AssertionError("Supplied HTTP method [" + method + "] is not accepted.");
+            }
+        }
+
+        return response;
+    }
+
+
+    //
+    // Stub Server
+    //
+    protected StubServer getStubServer() {
+        return getOrThrowError("StubServer", StubServer::getSuite);
+    }
+
+
     //
     // Request Body
     //
@@ -90,9 +457,7 @@ public abstract class AbstractRestDriverSubStepImplementations {
     }
 
     protected void addToRequestBodyData(final RequestBodyEntry entry) {
-        final List<RequestBodyEntry> requestBody = getRequestBodyData();
-        requestBody.add(entry);
-        setRequestBodyData(requestBody);
+        getRequestBodyData().add(entry);
     }
 
     protected void setRequestBodyData(final List<RequestBodyEntry> body) {
@@ -100,7 +465,7 @@ public abstract class AbstractRestDriverSubStepImplementations {
     }
 
     protected void setRequestBodyData(final Scope scope, final List<RequestBodyEntry> body) {
-        put(scope, REQUEST_BODY_DATA, body);
+        getState(scope).setRequestBodyData(body);
     }
 
     protected List<RequestBodyEntry> getRequestBodyData() {
@@ -108,7 +473,7 @@ public abstract class AbstractRestDriverSubStepImplementations {
     }
 
     protected List<RequestBodyEntry> getRequestBodyData(final Scope scope) {
-        return getList(scope, REQUEST_BODY_DATA);
+        return getState(scope).getRequestBodyData();
     }
 
 
@@ -120,7 +485,7 @@ public abstract class AbstractRestDriverSubStepImplementations {
     }
 
     protected void setRequestBodyBuilder(final RequestBodyBuilder builder, final Scope scope) {
-        put(scope, CURRENT_REST_REQUEST_BUILDER, builder);
+        getState(scope).setRequestBodyBuilder(builder);
     }
 
     protected RequestBodyBuilder getRequestBodyBuilder() {
@@ -128,7 +493,7 @@ public abstract class AbstractRestDriverSubStepImplementations {
     }
 
     protected RequestBodyBuilder getRequestBodyBuilder(final Scope scope) {
-        return getOrThrowError("RestRequestBodyBuilder", () -> get(scope, CURRENT_REST_REQUEST_BUILDER, RequestBodyBuilder.class));
+        return getOrThrowError("RestRequestBodyBuilder", getState(scope).getRequestBodyBuilder());
     }
 
 
@@ -139,46 +504,99 @@ public abstract class AbstractRestDriverSubStepImplementations {
         setResponse(response, Scope.SCENARIO);
     }
 
+    /**
+     * Takes the body already read by performRequest, or reads the whole body now, spooling it to disk if it's large,
+     * so only the rest of the response is held on heap.
+     */
     protected void setResponse(final ValidatableResponse response, final Scope scope) throws IOException {
-        put(scope, CURRENT_REST_RESPONSE, response);
+
+        final Response original = response.extract().response();
+
+        final SpooledResponseBody read = SpooledResponseBody.take(original);
+        final Long threshold = getState(scope).getResponseSpoolThreshold();
+        final SpooledResponseBody body = read != null ? read : SpooledResponseBody.spool(
+                original.asInputStream(),
+                threshold != null ? threshold : RestDriverSubstepsConfiguration.PROPERTIES.getResponseSpoolThreshold(),
+                RestDriverSubstepsConfiguration.PROPERTIES.getResponseSpoolDirectory().orElse(null)
+        );
+
+        // Spooled bodies are only read through getResponseBody, so the response itself doesn't need to hold them.
+        final Response stored = new ResponseBuilder()
+                .clone(original)
+                .setBody(body.isSpooled() ? new byte[0] : body.toByteArray())
+                .build();
+
+        getState(scope).setResponse(stored.then(), original.time(), body);
     }
 
     protected ValidatableResponse getResponse() {
         return getResponse(Scope.SCENARIO);
     }
 
+    /**
+     * @return the response, whose body is empty if it was spooled to disk, so read bodies through getResponseBody.
+     */
     protected ValidatableResponse getResponse(final Scope scope) {
-        return getOrThrowError("RestResponse", () -> get(scope, CURRENT_REST_RESPONSE, ValidatableResponse.class));
+        return getOrThrowError("RestResponse", getState(scope).getResponse());
+    }
+
+    protected long getResponseTime(final TimeUnit unit) {
+        return getResponseTime(Scope.SCENARIO, unit);
+    }
+
+    /**
+     * @return how long the response took, as measured by Rest Assured.
+     */
+    protected long getResponseTime(final Scope scope, final TimeUnit unit) {
+        final long time = getOrThrowError("RestResponseTime", getState(scope).getResponseTime());
+        return unit.convert(time, TimeUnit.MILLISECONDS);
     }
 
 
     //
-    // Response Body
+    // Response JSON
     //
-//    protected String getResponseBody() throws IOException {
-//        return getResponseBody(Scope.SCENARIO);
-//    }
+    protected ParsedJsonDocument getResponseJson() {
+        return getResponseJson(Scope.SCENARIO);
+    }
 
-//    protected String getResponseBody(final Scope scope) throws IOException {
-//        return IOUtil.readAll(getRawResponseBody(scope));
-//    }
+    /**
+     * @return the response body parsed as JSON, which is only parsed once per response no matter how often it's used.
+     */
+    protected ParsedJsonDocument getResponseJson(final Scope scope) {
 
-//    protected InputStream getRawResponseBody() throws IOException {
-//        return getRawResponseBody(Scope.SCENARIO);
-//    }
+        final RestDriverState state = getState(scope);
+        final ValidatableResponse response = getResponse(scope);
 
-//    protected InputStream getRawResponseBody(final Scope scope) throws IOException {
-//        return getResponse(scope).getEntity().getContent();
-//    }
+        final ParsedJsonDocument cached = state.getResponseJson();
+        if (cached != null && cached.isFor(response)) {
+            return cached;
+        }
+
+        final ParsedJsonDocument document = ParsedJsonDocument.parse(response, getResponseBody(scope));
+        state.setResponseJson(document);
+
+        return document;
+    }
+
+
+    //
+    // Response Body
+    //
+    protected SpooledResponseBody getResponseBody() {
+        return getResponseBody(Scope.SCENARIO);
+    }
+
+    protected SpooledResponseBody getResponseBody(final Scope scope) {
+        return getOrThrowError("RestResponseBody", getState(scope).getResponseBody());
+    }
 
 
     //
     // Cookies
     //
     protected void addCookie(final String name, final String value, final Scope scope) {
-        final Map<String, String> cookieStore = getCookieStore(scope);
-        cookieStore.put(name, value);
-        setCookieStore(cookieStore, scope);
+        getState(scope).putCookie(name, value);
     }
 
     protected void setCookieStore(final Map<String, String> cookieStore) {
@@ -186,26 +604,18 @@ public abstract class AbstractRestDriverSubStepImplementations {
     }
 
     protected void setCookieStore(final Map<String, String> cookieStore, final Scope scope) {
-        put(scope, CURRENT_COOKIE_STORE, cookieStore);
+        getState(scope).setCookies(cookieStore);
     }
 
+    /**
+     * @return the cookies of every scope merged together, which is only rebuilt when the cookies have changed.
+     */
     protected Map<String, String> getCookieStores() {
-        return EnumSet.
-                allOf(Scope.class).
-                stream().
-                map(
-                        this::getCookieStore
-                ).
-                reduce(new HashMap<String, String>(),
-                        (result, entry) -> {
-                            result.putAll(entry);
-                            return result;
-                        }
-                );
+        return getState().getMergedCookies();
     }
 
     protected Map<String, String> getCookieStore(final Scope scope) {
-        return getMap(scope, CURRENT_COOKIE_STORE);
+        return getState(scope).getCookies();
     }
 
 
@@ -232,6 +642,13 @@ public abstract class AbstractRestDriverSubStepImplementations {
     //
     // Helpers
     //
+    protected <A> A getOrThrowError(final String getting, final A value) {
+        if (value == null) {
+            throw new AssertionError("Unable to find the [" + getting + "].");
+        }
+        return value;
+    }
+
     protected <A> A getOrThrowError(final String getting, final Supplier<Optional<A>> getter) {
         return getter.get().orElseThrow(
                 () -> new AssertionError("Unable to find the [" + getting + "].")
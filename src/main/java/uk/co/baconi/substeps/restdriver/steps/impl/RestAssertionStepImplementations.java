@@ -19,18 +19,28 @@
 
 package uk.co.baconi.substeps.restdriver.steps.impl;
 
+import com.technophobia.substeps.model.Scope;
 import com.technophobia.substeps.model.SubSteps.Step;
 import com.technophobia.substeps.model.SubSteps.StepImplementations;
 import com.technophobia.substeps.model.SubSteps.StepParameter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.co.baconi.substeps.restdriver.RestDriverSetupAndTearDown;
+import uk.co.baconi.substeps.restdriver.cache.CacheStatus;
+import uk.co.baconi.substeps.restdriver.converters.ScopeConverter;
 import uk.co.baconi.substeps.restdriver.converters.TimeUnitConverter;
+import uk.co.baconi.substeps.restdriver.metrics.EndpointLatencies;
+import uk.co.baconi.substeps.restdriver.metrics.LatencyHistogram;
 import uk.co.baconi.substeps.restdriver.steps.AbstractRestDriverSubStepImplementations;
 
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static uk.co.baconi.substeps.restdriver.metrics.LatencyStatistics.STATISTICS;
+import static uk.co.baconi.substeps.restdriver.utils.ComparisonMatchers.OPERATORS;
+import static uk.co.baconi.substeps.restdriver.utils.ComparisonMatchers.compareWith;
 
 @StepImplementations(requiredInitialisationClasses = RestDriverSetupAndTearDown.class)
 public class RestAssertionStepImplementations extends AbstractRestDriverSubStepImplementations {
@@ -69,6 +79,49 @@ public class RestAssertionStepImplementations extends AbstractRestDriverSubStepI
         getResponse().statusLine(is(equalTo(reason)));
     }
 
+    /**
+     * Check the status line of the rest response without depending on the protocol version it was sent with, so the
+     * same check works for HTTP/1.0, HTTP/1.1 and HTTP/2 responses.
+     *
+     * @param statusCode the expected status code
+     * @param reason     the expected reason phrase
+     * @example AssertRestResponse has status line with code '200' and reason 'OK'
+     * @section Rest Assertion
+     */
+    @Step("AssertRestResponse has status line with code '([0-9]{3})' and reason '([^']*)'")
+    public void assertRestResponseHasStatusLineWithCodeAndReason(final int statusCode, final String reason) {
+
+        LOG.debug("Asserting that the status line has code [{}] and reason [{}]", statusCode, reason);
+
+        getResponse().statusCode(is(equalTo(statusCode)));
+
+        final String statusLine = getResponse().extract().statusLine();
+        final int protocolEnd = statusLine.indexOf(' ');
+        final String withoutProtocol = protocolEnd < 0 ? statusLine : statusLine.substring(protocolEnd + 1);
+
+        assertThat("RestResponse status line", withoutProtocol.trim(), is(equalTo((statusCode + " " + reason).trim())));
+    }
+
+    /**
+     * Check the protocol version the rest response was sent with, HTTP/2 is only ever used once a request has opted in
+     * to it.
+     *
+     * @param protocol the expected protocol version
+     * @example AssertRestResponse has protocol 'HTTP/1.1'
+     * @section Rest Assertion
+     */
+    @Step("AssertRestResponse has protocol '(HTTP/1\\.0|HTTP/1\\.1|HTTP/2)'")
+    public void assertRestResponseHasProtocol(final String protocol) {
+
+        LOG.debug("Asserting that the response protocol is [{}]", protocol);
+
+        final String statusLine = getResponse().extract().statusLine();
+        final int protocolEnd = statusLine.indexOf(' ');
+        final String actual = protocolEnd < 0 ? statusLine : statusLine.substring(0, protocolEnd);
+
+        assertThat("RestResponse protocol", actual.toUpperCase(), is(equalTo(protocol)));
+    }
+
     /**
      * Check that the rest response has the expected http status is within the given range.
      *
@@ -146,7 +199,7 @@ public class RestAssertionStepImplementations extends AbstractRestDriverSubStepI
      * @example AssertRestResponse took lessThan 30 MILLISECONDS
      * @section Rest Assertion
      */
-    @Step("AssertRestResponse took (lessThan|lessThanOrEqualTo|equalTo|greaterThan|greaterThanOrEqualTo|<|=|>|<=|>=) ([0-9]+) (NANOSECONDS|MICROSECONDS|MILLISECONDS|SECONDS|MINUTES|HOURS|DAYS)")
+    @Step("AssertRestResponse took " + OPERATORS + " ([0-9]+) (NANOSECONDS|MICROSECONDS|MILLISECONDS|SECONDS|MINUTES|HOURS|DAYS)")
     public void assertRestResponseTookSomeTime(
             final String operator, final Long timeout,
             @StepParameter(converter = TimeUnitConverter.class) final TimeUnit unit
@@ -154,36 +207,7 @@ public class RestAssertionStepImplementations extends AbstractRestDriverSubStepI
 
         LOG.debug("Asserting that the request took [{} {} {}] to complete.", operator, timeout, unit);
 
-        switch (operator) {
-            case "lessThan":
-            case "<": {
-                getResponse().time(lessThan(timeout), unit);
-                break;
-            }
-            case "lessThanOrEqualTo":
-            case "<=": {
-                getResponse().time(lessThanOrEqualTo(timeout), unit);
-                break;
-            }
-            case "equalTo":
-            case "=": {
-                getResponse().time(equalTo(timeout), unit);
-                break;
-            }
-            case "greaterThan":
-            case ">": {
-                getResponse().time(greaterThan(timeout), unit);
-                break;
-            }
-            case "greaterThanOrEqualTo":
-            case ">=": {
-                getResponse().time(greaterThanOrEqualTo(timeout), unit);
-                break;
-            }
-            default: {
-                throw new AssertionError("Unsupported Type [" + operator + "]");
-            }
-        }
+        assertThat("RestResponse time in " + unit, getResponseTime(unit), compareWith(operator, timeout));
     }
 
     /**
@@ -202,6 +226,163 @@ public class RestAssertionStepImplementations extends AbstractRestDriverSubStepI
 
         LOG.debug("Asserting that the request took between [{}] and [{}] [{}] to complete.", from, to, unit);
 
-        getResponse().time(is(both(greaterThanOrEqualTo(from)).and(lessThanOrEqualTo(to))), unit);
+        assertThat("RestResponse time in " + unit, getResponseTime(unit), is(both(greaterThanOrEqualTo(from)).and(lessThanOrEqualTo(to))));
+    }
+
+    /**
+     * Check how long the last rest request waited for the rate limit before being sent, which isn't included in the
+     * time the request took.
+     *
+     * @param operator the comparison type to make
+     * @param time     the amount of time waited
+     * @param unit     the unit of time waited, which maps directly to the TimeUnit enum
+     * @example AssertRestResponse waited for the rate limit < 100 MILLISECONDS
+     * @section Rest Assertion
+     */
+    @Step("AssertRestResponse waited for the rate limit " + OPERATORS + " ([0-9]+) (NANOSECONDS|MICROSECONDS|MILLISECONDS|SECONDS|MINUTES|HOURS|DAYS)")
+    public void assertRestResponseWaitedForTheRateLimit(
+            final String operator, final Long time,
+            @StepParameter(converter = TimeUnitConverter.class) final TimeUnit unit
+    ) {
+
+        LOG.debug("Asserting that the request waited [{} {} {}] for the rate limit.", operator, time, unit);
+
+        final long waited = unit.convert(getState().getRateLimitWait(), TimeUnit.NANOSECONDS);
+
+        assertThat("Rate limit wait in " + unit, waited, compareWith(operator, time));
+    }
+
+    /**
+     * Check how the http cache answered the last rest request: a hit was answered locally without being sent, a
+     * revalidation was confirmed unchanged by the server with a 304 Not Modified, a miss was answered by the server
+     * in full and a bypass was a request the cache doesn't apply to.
+     *
+     * @param status how the request was answered
+     * @example AssertRestResponse was a cache hit
+     * @section Rest Assertion
+     */
+    @Step("AssertRestResponse was a cache (hit|revalidation|miss|bypass)")
+    public void assertRestResponseWasACache(final String status) {
+
+        LOG.debug("Asserting that the request was a cache [{}].", status);
+
+        final CacheStatus actual = getOrThrowError("RestResponse cache status", getState().getCacheStatus());
+
+        assertThat("RestResponse cache status", actual, is(CacheStatus.valueOf(status.toUpperCase())));
+    }
+
+    /**
+     * Check the latency of every request made to an endpoint within a scope, at a percentile, the maximum or the mean.
+     * Latencies are recorded in fixed memory histograms, so percentiles are accurate to within 1.6%.
+     *
+     * @param method    the HTTP method of the endpoint
+     * @param url       the URL of the endpoint, as used when performing the requests
+     * @param scope     the scope to check the requests within
+     * @param statistic the latency statistic to check
+     * @param operator  the comparison type to make
+     * @param time      the amount of time taken
+     * @param unit      the unit of time taken, which maps directly to the TimeUnit enum
+     * @example AssertRestResponses for 'GET' on '/get-stuff' in scope 'FEATURE' p99 took < 250 MILLISECONDS
+     * @section Rest Assertion
+     */
+    @Step("AssertRestResponses for '(DELETE|GET|HEAD|OPTIONS|PATCH|POST|PUT)' on '([^']+)' in scope '(SUITE|FEATURE|SCENARIO)' " + STATISTICS + " took " + OPERATORS + " ([0-9]+) (NANOSECONDS|MICROSECONDS|MILLISECONDS|SECONDS|MINUTES|HOURS|DAYS)")
+    public void assertRestResponsesForEndpointInScopeTook(
+            final String method, final String url, @StepParameter(converter = ScopeConverter.class) final Scope scope,
+            final String statistic, final String operator, final Long time,
+            @StepParameter(converter = TimeUnitConverter.class) final TimeUnit unit
+    ) {
+
+        LOG.debug("Asserting that requests [{} {}] in scope [{}] took [{}] [{} {} {}].", method, url, scope, statistic, operator, time, unit);
+
+        final String endpoint = EndpointLatencies.endpoint(method, resolveUrl(url));
+
+        final LatencyHistogram histogram = getOrThrowError(
+                "Latencies for " + endpoint + " in scope " + scope,
+                () -> EndpointLatencies.forScope(scope).get(endpoint)
+        );
+
+        assertThat(endpoint + " " + statistic + " in " + unit, histogram.getStatistic(statistic, unit), compareWith(operator, time));
+    }
+
+    //
+    // Response Body
+    //
+
+    /**
+     * Check the size of the rest response body, without needing to hold the body in memory.
+     *
+     * @param operator the comparison type to make
+     * @param size     the size in bytes to compare against
+     * @example AssertRestResponseBody has size >= 1048576 bytes
+     * @section Rest Assertion - Body
+     */
+    @Step("AssertRestResponseBody has size " + OPERATORS + " ([0-9]+) bytes")
+    public void assertRestResponseBodyHasSize(final String operator, final Long size) {
+
+        LOG.debug("Asserting that the body has size [{} {}] bytes.", operator, size);
+
+        assertThat("RestResponseBody size in bytes", getResponseBody().size(), compareWith(operator, size));
+    }
+
+    /**
+     * Check the checksum of the rest response body, which is calculated by reading through the body in constant memory.
+     *
+     * @param algorithm the checksum algorithm to use
+     * @param checksum  the expected checksum in hex, in either case
+     * @throws IOException if the response body could not be read
+     * @example AssertRestResponseBody has sha256 'e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855'
+     * @section Rest Assertion - Body
+     */
+    @Step("AssertRestResponseBody has (md5|sha1|sha256|sha512) '([0-9a-fA-F]+)'")
+    public void assertRestResponseBodyHasChecksum(final String algorithm, final String checksum) throws IOException {
+
+        LOG.debug("Asserting that the body has [{}] checksum [{}].", algorithm, checksum);
+
+        final String digest = getResponseBody().digest(toDigestAlgorithm(algorithm));
+
+        assertThat("RestResponseBody " + algorithm, digest, is(equalToIgnoringCase(checksum)));
+    }
+
+    /**
+     * Check the first bytes of the rest response body, such as the magic number of a file format.
+     *
+     * @param prefix the expected first bytes of the body in hex
+     * @throws IOException if the response body could not be read
+     * @example AssertRestResponseBody starts with hex '504b0304'
+     * @section Rest Assertion - Body
+     */
+    @Step("AssertRestResponseBody starts with hex '((?:[0-9a-fA-F]{2})+)'")
+    public void assertRestResponseBodyStartsWithHex(final String prefix) throws IOException {
+
+        LOG.debug("Asserting that the body starts with hex [{}].", prefix);
+
+        final byte[] bytes = new byte[prefix.length() / 2];
+        for (int index = 0; index < bytes.length; index++) {
+            bytes[index] = (byte) Integer.parseInt(prefix.substring(index * 2, index * 2 + 2), 16);
+        }
+
+        if (!getResponseBody().startsWith(bytes)) {
+            throw new AssertionError("RestResponseBody does not start with hex [" + prefix + "].");
+        }
+    }
+
+    private String toDigestAlgorithm(final String algorithm) {
+        switch (algorithm) {
+            case "md5": {
+                return "MD5";
+            }
+            case "sha1": {
+                return "SHA-1";
+            }
+            case "sha256": {
+                return "SHA-256";
+            }
+            case "sha512": {
+                return "SHA-512";
+            }
+            default: {
+                throw new AssertionError("Unsupported checksum algorithm [" + algorithm + "].");
+            }
+        }
     }
 }
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.steps.impl;
+
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.RequestSpecification;
+import com.technophobia.substeps.model.SubSteps.Step;
+import com.technophobia.substeps.model.SubSteps.StepImplementations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.RestDriverSetupAndTearDown;
+import uk.co.baconi.substeps.restdriver.client.AsyncRequestExecutor;
+import uk.co.baconi.substeps.restdriver.client.RequestOptions;
+import uk.co.baconi.substeps.restdriver.steps.AbstractRestDriverSubStepImplementations;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@StepImplementations(requiredInitialisationClasses = RestDriverSetupAndTearDown.class)
+public class RestAsyncStepImplementations extends AbstractRestDriverSubStepImplementations {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RestAsyncStepImplementations.class);
+
+    /**
+     * Perform the current rest request in the background, returning straight away. The response is held under the
+     * given name until it's awaited, the current request can be changed and performed again in the meantime.
+     *
+     * @param method the HTTP method type to create the request as.
+     * @param url    the URL where the request will be sent to.
+     * @param name   the name to await the response by.
+     * @throws IOException if the request body cannot be built.
+     * @example RestRequest perform async 'GET' on '/get-stuff' as 'stuff'
+     * @section Rest Async
+     */
+    @Step("RestRequest perform async '(DELETE|GET|HEAD|OPTIONS|PATCH|POST|PUT)' on '([^']+)' as '([^']+)'")
+    public void restRequestPerformAsyncMethodOnUrlAs(final String method, final String url, final String name) throws IOException {
+
+        final RequestSpecification request = getRequest();
+
+        final String fullUrl = resolveUrl(url);
+
+        LOG.debug("Performing async Request [{}] with Method [{}], URL [{}].", name, method, fullUrl);
+
+        prepareRequest(request);
+
+        // Copied, so later steps changing the current request don't affect this one while it's in flight.
+        final RequestSpecification copy = RestAssured.given().spec(request);
+
+        // The background thread can't see the scenario, so read anything it needs up front.
+        final RequestOptions options = createRequestOptions();
+
+        getAsyncResponses().put(name, AsyncRequestExecutor.submit(() -> performRequest(copy, method, fullUrl, options)));
+    }
+
+    /**
+     * Wait for the named async request to complete, making its response the current response for the assertion steps.
+     *
+     * @param name the name the request was performed as.
+     * @throws IOException if the response cannot be saved.
+     * @example RestRequest await 'stuff'
+     * @section Rest Async
+     */
+    @Step("RestRequest await '([^']+)'")
+    public void restRequestAwait(final String name) throws IOException {
+
+        LOG.debug("Awaiting async Request [{}].", name);
+
+        setResponse(awaitResponse(name).then());
+    }
+
+    /**
+     * Wait for every async request performed in this scenario to complete, failing if any of them failed.
+     *
+     * @example RestRequest await all
+     * @section Rest Async
+     */
+    @Step("RestRequest await all")
+    public void restRequestAwaitAll() {
+
+        LOG.debug("Awaiting all async Requests.");
+
+        final List<String> failed = new ArrayList<>();
+        getAsyncResponses().keySet().forEach(name -> {
+            try {
+                awaitResponse(name);
+            } catch (final AssertionError | RuntimeException exception) {
+                LOG.debug("Async Request [{}] failed.", name, exception);
+                failed.add(name);
+            }
+        });
+
+        if (!failed.isEmpty()) {
+            throw new AssertionError("Async requests " + failed + " failed.");
+        }
+    }
+
+    /**
+     * Wait for the named async request to complete and check its status code, without changing the current response.
+     *
+     * @param name       the name the request was performed as.
+     * @param statusCode the expected status code.
+     * @example AssertRestResponse 'stuff' has code '200'
+     * @section Rest Async
+     */
+    @Step("AssertRestResponse '([^']+)' has code '([0-9]{3})'")
+    public void assertRestResponseHasCode(final String name, final Integer statusCode) {
+
+        LOG.debug("Asserting async Request [{}] has code [{}].", name, statusCode);
+
+        assertThat("Async response [" + name + "] status code", awaitResponse(name).getStatusCode(), is(equalTo(statusCode)));
+    }
+
+    private Response awaitResponse(final String name) {
+
+        final CompletableFuture<Response> response = getOrThrowError(
+                "Async response [" + name + "]",
+                () -> Optional.ofNullable(getAsyncResponses().get(name))
+        );
+
+        try {
+            return response.get();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while awaiting async response [" + name + "].", exception);
+        } catch (final ExecutionException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof AssertionError) {
+                throw (AssertionError) cause;
+            }
+            throw new AssertionError("Async request [" + name + "] failed.", cause);
+        }
+    }
+
+    private Map<String, CompletableFuture<Response>> getAsyncResponses() {
+        return getState().getAsyncResponses();
+    }
+}
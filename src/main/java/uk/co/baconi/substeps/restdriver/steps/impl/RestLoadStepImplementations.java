@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.steps.impl;
+
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.specification.RequestSpecification;
+import com.technophobia.substeps.model.SubSteps.Step;
+import com.technophobia.substeps.model.SubSteps.StepImplementations;
+import com.technophobia.substeps.model.SubSteps.StepParameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.RestDriverSetupAndTearDown;
+import uk.co.baconi.substeps.restdriver.client.RequestOptions;
+import uk.co.baconi.substeps.restdriver.converters.TimeUnitConverter;
+import uk.co.baconi.substeps.restdriver.load.LoadGenerator;
+import uk.co.baconi.substeps.restdriver.load.LoadTestResult;
+import uk.co.baconi.substeps.restdriver.steps.AbstractRestDriverSubStepImplementations;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static uk.co.baconi.substeps.restdriver.metrics.LatencyStatistics.STATISTICS;
+import static uk.co.baconi.substeps.restdriver.utils.ComparisonMatchers.OPERATORS;
+import static uk.co.baconi.substeps.restdriver.utils.ComparisonMatchers.compareWith;
+
+@StepImplementations(requiredInitialisationClasses = RestDriverSetupAndTearDown.class)
+public class RestLoadStepImplementations extends AbstractRestDriverSubStepImplementations {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RestLoadStepImplementations.class);
+
+    /**
+     * Perform the current rest request many times, from a number of concurrent workers, and store the aggregate
+     * throughput, error rate and latencies for the AssertLoadTest steps. Requests share the suite wide connection pool,
+     * so its max per route should be at least the concurrency.
+     *
+     * @param method      the HTTP method type to create the requests as.
+     * @param url         the URL where the requests will be sent to.
+     * @param times       the total number of requests to perform.
+     * @param concurrency the number of requests in flight at once.
+     * @throws IOException          if the request body cannot be built.
+     * @throws InterruptedException if interrupted while waiting for the requests to complete.
+     * @example RestRequest perform 'GET' on '/get-stuff' 1000 times with concurrency 50
+     * @section Rest Load
+     */
+    @Step("RestRequest perform '(DELETE|GET|HEAD|OPTIONS|PATCH|POST|PUT)' on '([^']+)' ([0-9]+) times with concurrency ([0-9]+)")
+    public void restRequestPerformMethodOnUrlTimesWithConcurrency(
+            final String method, final String url, final Integer times, final Integer concurrency
+    ) throws IOException, InterruptedException {
+
+        final RequestSpecification request = getRequest();
+
+        final String fullUrl = resolveUrl(url);
+
+        LOG.debug("Performing Request with Method [{}], URL [{}], [{}] times with concurrency [{}].", method, fullUrl, times, concurrency);
+
+        prepareRequest(request);
+
+        // Workers can't see the scenario, so read anything they need up front.
+        final RequestOptions options = createRequestOptions();
+
+        final LoadTestResult result = LoadGenerator.run(times, concurrency, () -> {
+            final RequestSpecification copy;
+            synchronized (request) {
+                copy = RestAssured.given().spec(request);
+            }
+            return performRequest(copy, method, fullUrl, options);
+        });
+
+        LOG.info("Load test of [{} {}] completed: {}", method, url, result);
+
+        getState().setLoadTestResult(result);
+    }
+
+    /**
+     * Check the throughput of the last load test, in requests completed per second.
+     *
+     * @param operator   the comparison type to make
+     * @param throughput the requests per second to compare against
+     * @example AssertLoadTest throughput >= 100 per second
+     * @section Rest Load Assertion
+     */
+    @Step("AssertLoadTest throughput " + OPERATORS + " ([0-9]+(?:\\.[0-9]+)?) per second")
+    public void assertLoadTestThroughput(final String operator, final Double throughput) {
+
+        LOG.debug("Asserting that the load test throughput was [{} {}] per second.", operator, throughput);
+
+        assertThat("Load test throughput per second", getLoadTestResult().getThroughput(), compareWith(operator, throughput));
+    }
+
+    /**
+     * Check the error rate of the last load test, as a percentage of requests that got no response or a 4xx/5xx.
+     *
+     * @param operator  the comparison type to make
+     * @param errorRate the percentage to compare against
+     * @example AssertLoadTest error rate <= 1 percent
+     * @section Rest Load Assertion
+     */
+    @Step("AssertLoadTest error rate " + OPERATORS + " ([0-9]+(?:\\.[0-9]+)?) percent")
+    public void assertLoadTestErrorRate(final String operator, final Double errorRate) {
+
+        LOG.debug("Asserting that the load test error rate was [{} {}] percent.", operator, errorRate);
+
+        assertThat("Load test error rate percent", getLoadTestResult().getErrorRate(), compareWith(operator, errorRate));
+    }
+
+    /**
+     * Check the latency of the requests in the last load test, at a percentile, the maximum or the mean.
+     *
+     * @param statistic the latency statistic to check
+     * @param operator  the comparison type to make
+     * @param time      the amount of time taken
+     * @param unit      the unit of time taken, which maps directly to the TimeUnit enum
+     * @example AssertLoadTest p99 took < 250 MILLISECONDS
+     * @section Rest Load Assertion
+     */
+    @Step("AssertLoadTest " + STATISTICS + " took " + OPERATORS + " ([0-9]+) (NANOSECONDS|MICROSECONDS|MILLISECONDS|SECONDS|MINUTES|HOURS|DAYS)")
+    public void assertLoadTestTook(
+            final String statistic, final String operator, final Long time,
+            @StepParameter(converter = TimeUnitConverter.class) final TimeUnit unit
+    ) {
+
+        LOG.debug("Asserting that the load test [{}] took [{} {} {}].", statistic, operator, time, unit);
+
+        final long actual = getLoadTestResult().getStatistic(statistic, unit);
+
+        assertThat("Load test " + statistic + " in " + unit, actual, compareWith(operator, time));
+    }
+
+    /**
+     * Check that every request in the last load test got a response with the given status code.
+     *
+     * @param statusCode the expected status code
+     * @example AssertLoadTest every response has code '200'
+     * @section Rest Load Assertion
+     */
+    @Step("AssertLoadTest every response has code '([0-9]{3})'")
+    public void assertLoadTestEveryResponseHasCode(final int statusCode) {
+
+        LOG.debug("Asserting that every load test response had code [{}].", statusCode);
+
+        final LoadTestResult result = getLoadTestResult();
+
+        assertThat("Load test status codes", result.getStatusCodes().getOrDefault(statusCode, 0), is(equalTo(result.getRequests())));
+    }
+
+    private LoadTestResult getLoadTestResult() {
+        return getOrThrowError("LoadTestResult", getState().getLoadTestResult());
+    }
+}
@@ -25,17 +25,22 @@ import com.technophobia.substeps.model.Scope;
 import com.technophobia.substeps.model.SubSteps.Step;
 import com.technophobia.substeps.model.SubSteps.StepImplementations;
 import com.technophobia.substeps.model.SubSteps.StepParameter;
-import org.apache.http.client.methods.*;
+import org.apache.http.params.CoreConnectionPNames;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.co.baconi.substeps.restdriver.RestDriverSetupAndTearDown;
 import uk.co.baconi.substeps.restdriver.builders.FromUrlRequestBodyEntry;
 import uk.co.baconi.substeps.restdriver.builders.GroupedKeyPairRequestBodyEntry;
 import uk.co.baconi.substeps.restdriver.builders.RequestBodyBuilder;
-import uk.co.baconi.substeps.restdriver.builders.RequestBodyEntry;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyResourceCache;
+import uk.co.baconi.substeps.restdriver.builders.impl.StreamingFromUriRequestBodyBuilder;
+import uk.co.baconi.substeps.restdriver.client.Http2Transport;
+import uk.co.baconi.substeps.restdriver.client.RateLimits;
 import uk.co.baconi.substeps.restdriver.converters.RequestBodyBuilderConverter;
 import uk.co.baconi.substeps.restdriver.converters.ScopeConverter;
 import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+import uk.co.baconi.substeps.restdriver.state.RequestTemplate;
+import uk.co.baconi.substeps.restdriver.state.RestDriverState;
 import uk.co.baconi.substeps.restdriver.steps.AbstractRestDriverSubStepImplementations;
 
 import java.io.IOException;
@@ -43,7 +48,6 @@ import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.List;
 
 import static uk.co.baconi.substeps.restdriver.utils.ExecutionContextUtil.get;
 
@@ -61,11 +65,75 @@ public class RestRequestBuilderStepImplementations extends AbstractRestDriverSub
     @Step("RestRequest setup new request")
     public void restRequestSetupNewRequest() {
         setRequest(createNewRequest());
+        setRequestConfig(createNewRequestConfig());
+        setRequestTimeout(RestDriverSubstepsConfiguration.PROPERTIES.getRequestTimeout());
         setRequestBodyData(new ArrayList<>());
 
         // TODO - Consider resetting other parts?
     }
 
+    /**
+     * Saves the rest request being built, along with its config, timeout, body builder and body data, as a named
+     * template in the FEATURE scope. Every scenario in the feature, such as each row of a scenario outline, can then
+     * set up a new request by copying the template rather than building it up again. Any cookies are still added
+     * from their own scopes when each request is performed.
+     *
+     * @param name the name to save the template as
+     * @example RestRequest save as template 'authenticated'
+     * @section Rest Builder
+     */
+    @Step("RestRequest save as template '([^']+)'")
+    public void restRequestSaveAsTemplate(final String name) {
+        restRequestSaveAsTemplateInScope(name, Scope.FEATURE);
+    }
+
+    /**
+     * Saves the rest request being built as a named template in the given scope, templates saved in the SUITE scope
+     * are shared by every feature.
+     *
+     * @param name  the name to save the template as
+     * @param scope the scope where the template will persist in
+     * @example RestRequest save as template 'authenticated' in scope 'SUITE'
+     * @section Rest Builder
+     */
+    @Step("RestRequest save as template '([^']+)' in scope '(SUITE|FEATURE|SCENARIO)'")
+    public void restRequestSaveAsTemplateInScope(
+            final String name, @StepParameter(converter = ScopeConverter.class) final Scope scope
+    ) {
+
+        LOG.debug("Saving Request as template [{}] in scope [{}].", name, scope);
+
+        final RestDriverState state = getState();
+
+        getState(scope).putTemplate(new RequestTemplate(
+                name, getRequest(), getRequestConfig(), getRequestTimeout(),
+                state.getRequestBodyBuilder(), state.getRequestBodyData()
+        ));
+    }
+
+    /**
+     * Setups up a new rest request copied from the named template, from the narrowest scope that has one, and throws
+     * away any that are in the current scenario scope.
+     *
+     * @param name the name of the template to copy
+     * @example RestRequest setup new request from template 'authenticated'
+     * @section Rest Builder
+     */
+    @Step("RestRequest setup new request from template '([^']+)'")
+    public void restRequestSetupNewRequestFromTemplate(final String name) {
+
+        LOG.debug("Setting up new Request from template [{}].", name);
+
+        final RequestTemplate template = getOrThrowError("RequestTemplate " + name, RestDriverState.findTemplate(name));
+
+        final RestDriverState state = getState();
+        state.setRequest(template.newRequest());
+        state.setRequestConfig(template.getConfig());
+        state.setRequestTimeout(template.getTimeout());
+        state.setRequestBodyBuilder(template.getBodyBuilder());
+        state.setRequestBodyData(template.newBodyData());
+    }
+
     /**
      * Create a new rest request using the given HTTP method and URL. The URL can either be absolute or relative to the
      * base url in the properties.
@@ -84,71 +152,19 @@ public class RestRequestBuilderStepImplementations extends AbstractRestDriverSub
 
         final RequestSpecification request = getRequest();
 
-        //
-        // Create a URL comprising of the Base URL and the value passed in.
-        //
-        final String fullUrl;
-        if (url.startsWith("http://") || url.startsWith("https://") || url.startsWith("file://")) {
-            fullUrl = url;
-        } else {
-            fullUrl = RestDriverSubstepsConfiguration.PROPERTIES.getBaseUrl() + url;
-        }
+        final String fullUrl = resolveUrl(url);
 
         LOG.debug("Creating new fluent Request with Method [{}], URL [{}].", method, fullUrl);
 
         //
-        // Load in all the CookieStores for each Scope available.
-        //
-        request.cookies(getCookieStores());
-
-        //
-        // Add the Request Body data to the request.
+        // Load in the cookies and request body.
         //
-        final List<RequestBodyEntry> requestBody = getRequestBodyData();
-        if (!requestBody.isEmpty()) {
-
-            // This will explode if the 'NewRequestBody using <RequestBodyBuilder>' step hasn't been run.
-            final RequestBodyBuilder bodyBuilder = getRequestBodyBuilder();
-            bodyBuilder.build(request, requestBody);
-        }
+        prepareRequest(request);
 
         //
         // Create new Request
         //
-        final Response response;
-        switch (method.toUpperCase()) {
-            case HttpDelete.METHOD_NAME: {
-                response = request.delete(fullUrl);
-                break;
-            }
-            case HttpGet.METHOD_NAME: {
-                response = request.get(fullUrl);
-                break;
-            }
-            case HttpHead.METHOD_NAME: {
-                response = request.head(fullUrl);
-                break;
-            }
-            case HttpOptions.METHOD_NAME: {
-                response = request.options(fullUrl);
-                break;
-            }
-            case HttpPatch.METHOD_NAME: {
-                response = request.patch(fullUrl);
-                break;
-            }
-            case HttpPost.METHOD_NAME: {
-                response = request.post(fullUrl);
-                break;
-            }
-            case HttpPut.METHOD_NAME: {
-                response = request.put(fullUrl);
-                break;
-            }
-            default: {
-                throw new AssertionError("Supplied HTTP method [" + method + "] is not accepted.");
-            }
-        }
+        final Response response = performRequest(request, method, fullUrl);
 
         //
         // Set the Request on the Scenario scope.
@@ -257,7 +273,7 @@ public class RestRequestBuilderStepImplementations extends AbstractRestDriverSub
 
         LOG.debug("Adding Data for Rest Request from file [{}]", resourceFile);
 
-        addToRequestBodyData(new FromUrlRequestBodyEntry(Thread.currentThread().getContextClassLoader().getResource(resourceFile)));
+        addToRequestBodyData(new FromUrlRequestBodyEntry(RequestBodyResourceCache.getInstance().getResource(resourceFile)));
     }
 
     @Step("RestRequest add data from url '([^']+)'")
@@ -276,7 +292,7 @@ public class RestRequestBuilderStepImplementations extends AbstractRestDriverSub
      * @example NewRestRequestBody using the 'JsonObjectRequestBodyBuilder'
      * @section Rest Builder
      */
-    @Step("RestRequest build body using the '(JsonArrayRequestBodyBuilder|JsonObjectRequestBodyBuilder|JsonFromUriRequestBodyBuilder|FormRequestBodyBuilder)'")
+    @Step("RestRequest build body using the '(JsonArrayRequestBodyBuilder|JsonObjectRequestBodyBuilder|JsonFromUriRequestBodyBuilder|StreamingFromUriRequestBodyBuilder|FormRequestBodyBuilder)'")
     public void restRequestBuildBodyUsingThe(@StepParameter(converter = RequestBodyBuilderConverter.class) final RequestBodyBuilder builder) {
 
         LOG.debug("Setting RequestBodyBuilder to [{}]", builder.getClass().getName());
@@ -284,6 +300,22 @@ public class RestRequestBuilderStepImplementations extends AbstractRestDriverSub
         setRequestBodyBuilder(builder);
     }
 
+    /**
+     * Stream the request body from the url or resource file added as data, sending it as the given content type rather
+     * than application/octet-stream. The body is never read onto the heap, so it's suitable for very large uploads.
+     *
+     * @param contentType the content type to send the request body as
+     * @example RestRequest build body using the 'StreamingFromUriRequestBodyBuilder' with content type 'application/json'
+     * @section Rest Builder
+     */
+    @Step("RestRequest build body using the 'StreamingFromUriRequestBodyBuilder' with content type '([^']+)'")
+    public void restRequestBuildBodyUsingStreamingWithContentType(final String contentType) {
+
+        LOG.debug("Setting RequestBodyBuilder to [{}] with content type [{}]", StreamingFromUriRequestBodyBuilder.class.getName(), contentType);
+
+        setRequestBodyBuilder(new StreamingFromUriRequestBodyBuilder(contentType));
+    }
+
     //
     // Request Configuration
     //
@@ -319,36 +351,128 @@ public class RestRequestBuilderStepImplementations extends AbstractRestDriverSub
     }
 
     /**
-     * Set the connect timeout for the current rest request.
+     * Set the connect timeout for the current rest request, overriding the configured default.
      *
      * @param timeout the connect timeout in milliseconds
      * @example RestRequest set connect timeout as '5000'
      * @section Rest Builder
      */
-//    @Step("RestRequest set connect timeout as '([0-9]+)'")
-//    public void restRequestSetConnectTimeoutAs(final int timeout) {
-//
-//        LOG.debug("Setting Connection Timeout on Rest Request as [{}]", timeout);
-//
-//        // TODO - Work out how
-//        getRequest().connectTimeout(timeout);
-//    }
+    @Step("RestRequest set connect timeout as '([0-9]+)'")
+    public void restRequestSetConnectTimeoutAs(final int timeout) {
+
+        LOG.debug("Setting Connection Timeout on Rest Request as [{}]", timeout);
+
+        setHttpClientParam(CoreConnectionPNames.CONNECTION_TIMEOUT, timeout);
+    }
 
     /**
-     * Set the socket timeout for the current rest request.
+     * Set the socket timeout for the current rest request, overriding the configured default.
      *
      * @param timeout the socket timeout in milliseconds
-     * @example RestRequest set connect timeout as '5000'
+     * @example RestRequest set socket timeout as '5000'
+     * @section Rest Builder
+     */
+    @Step("RestRequest set socket timeout as '([0-9]+)'")
+    public void restRequestSetSocketTimeoutAs(final int timeout) {
+
+        LOG.debug("Setting Socket Timeout on Rest Request as [{}]", timeout);
+
+        setHttpClientParam(CoreConnectionPNames.SO_TIMEOUT, timeout);
+    }
+
+    /**
+     * Set the overall deadline for the current rest request, after which it is aborted and the step fails.
+     *
+     * @param timeout the request timeout in milliseconds, zero means there is no deadline
+     * @example RestRequest set request timeout as '10000'
+     * @section Rest Builder
+     */
+    @Step("RestRequest set request timeout as '([0-9]+)'")
+    public void restRequestSetRequestTimeoutAs(final long timeout) {
+
+        LOG.debug("Setting Request Timeout on Rest Request as [{}]", timeout);
+
+        setRequestTimeout(timeout);
+    }
+
+    /**
+     * Set the protocol for the current rest request, overriding the configured default. HTTP/2 sends the request with
+     * the java.net.http client, which needs Java 11 or later, negotiating HTTP/2 for https urls and trying an h2c
+     * upgrade for http urls, either falling back to HTTP/1.1 when the server doesn't support it.
+     *
+     * @param protocol the protocol to send the request with
+     * @example RestRequest use protocol 'HTTP/2'
      * @section Rest Builder
      */
-//    @Step("RestRequest set socket timeout as '([0-9]+)'")
-//    public void restRequestSetSocketTimeoutAs(final int timeout) {
-//
-//        LOG.debug("Setting Socket Timeout on Rest Request as [{}]", timeout);
-//
-//        // TODO - Work out how
-//        getRequest().socketTimeout(timeout);
-//    }
+    @Step("RestRequest use protocol '(HTTP/1\\.1|HTTP/2)'")
+    public void restRequestUseProtocol(final String protocol) {
+
+        LOG.debug("Setting Protocol on Rest Request as [{}]", protocol);
+
+        setHttpClientParam(Http2Transport.PARAM, "HTTP/2".equals(protocol));
+    }
+
+    /**
+     * Spool response bodies bigger than the given size to disk for the rest of the scenario, rather than holding them
+     * on heap. Once spooled, assertions read the body back from the file.
+     *
+     * @param threshold the size in bytes, zero spools every body
+     * @example RestRequest spool response bodies bigger than '1048576' bytes
+     * @section Rest Builder
+     */
+    @Step("RestRequest spool response bodies bigger than '([0-9]+)' bytes")
+    public void restRequestSpoolResponseBodiesBiggerThanBytes(final long threshold) {
+
+        LOG.debug("Spooling response bodies bigger than [{}] bytes", threshold);
+
+        getState().setResponseSpoolThreshold(threshold);
+    }
+
+    /**
+     * Pace every request performed for the rest of the feature to the given rate, waiting rather than failing when
+     * over it. This applies on top of the suite wide and per host limits in the configuration.
+     *
+     * @param requestsPerSecond the maximum requests per second
+     * @example RestRequest rate limit feature to 5 requests per second
+     * @section Rest Builder
+     */
+    @Step("RestRequest rate limit feature to ([0-9]+(?:\\.[0-9]+)?) requests per second")
+    public void restRequestRateLimitFeatureToRequestsPerSecond(final Double requestsPerSecond) {
+
+        LOG.debug("Rate limiting the feature to [{}] requests per second", requestsPerSecond);
+
+        getState(Scope.FEATURE).setRateLimiter(RateLimits.create(requestsPerSecond));
+    }
+
+    /**
+     * Answer GET requests for the rest of the scenario from the given scope's http cache, while the cached response is
+     * fresh, revalidating it with the server once it's stale. Other requests to the same url invalidate what's cached.
+     *
+     * @param scope the scope whose cache to use, FEATURE and SUITE caches are shared with other scenarios
+     * @example RestRequest use the http cache in scope 'FEATURE'
+     * @section Rest Builder
+     */
+    @Step("RestRequest use the http cache in scope '(SUITE|FEATURE|SCENARIO)'")
+    public void restRequestUseTheHttpCacheInScope(@StepParameter(converter = ScopeConverter.class) final Scope scope) {
+
+        LOG.debug("Using the http cache in scope [{}]", scope);
+
+        getState().setHttpCacheScope(scope);
+    }
+
+    /**
+     * Send every request for the rest of the scenario to the server, without using the http cache.
+     *
+     * @example RestRequest don't use the http cache
+     * @section Rest Builder
+     */
+    @Step("RestRequest don't use the http cache")
+    public void restRequestDontUseTheHttpCache() {
+
+        LOG.debug("Not using the http cache");
+
+        getState().setHttpCacheScope(null);
+    }
 
     //
     // Params
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.steps.impl;
+
+import com.technophobia.substeps.model.Scope;
+import com.technophobia.substeps.model.SubSteps.Step;
+import com.technophobia.substeps.model.SubSteps.StepImplementations;
+import com.technophobia.substeps.model.SubSteps.StepParameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.RestDriverSetupAndTearDown;
+import uk.co.baconi.substeps.restdriver.builders.RequestBodyResourceCache;
+import uk.co.baconi.substeps.restdriver.converters.TimeUnitConverter;
+import uk.co.baconi.substeps.restdriver.steps.AbstractRestDriverSubStepImplementations;
+import uk.co.baconi.substeps.restdriver.stub.Stub;
+import uk.co.baconi.substeps.restdriver.stub.StubServer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.co.baconi.substeps.restdriver.utils.ComparisonMatchers.OPERATORS;
+import static uk.co.baconi.substeps.restdriver.utils.ComparisonMatchers.compareWith;
+
+@StepImplementations(requiredInitialisationClasses = RestDriverSetupAndTearDown.class)
+public class RestStubServerStepImplementations extends AbstractRestDriverSubStepImplementations {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RestStubServerStepImplementations.class);
+
+    private static final String METHODS = "(ANY|DELETE|GET|HEAD|OPTIONS|PATCH|POST|PUT)";
+
+    /**
+     * Start the stub server shared by the whole suite, if it isn't already running. Requests to urls starting with
+     * 'stub:' are then sent to it, for example 'stub:/users/1'. It's stopped once all features have run.
+     *
+     * @throws IOException if the server cannot listen on the configured host and port.
+     * @example StubServer start
+     * @section Stub Server
+     */
+    @Step("StubServer start")
+    public void stubServerStart() throws IOException {
+
+        LOG.debug("Starting the stub server.");
+
+        StubServer.startSuite();
+    }
+
+    /**
+     * Respond to requests with the given method and path with an empty response. Stubs registered later take
+     * precedence over earlier ones for the same method and path.
+     *
+     * @param method the HTTP method to respond to, or ANY for every method
+     * @param path   the path to respond to, without any query
+     * @param status the status code to respond with
+     * @example StubServer respond to 'DELETE' on '/users/1' with code '204'
+     * @section Stub Server
+     */
+    @Step("StubServer respond to '" + METHODS + "' on '([^']+)' with code '([0-9]+)'")
+    public void stubServerRespondToMethodOnPathWithCode(final String method, final String path, final Integer status) {
+        register(Stub.respond(method, path, status, new byte[0]));
+    }
+
+    /**
+     * Respond to requests with the given method and path with the given body.
+     *
+     * @param method the HTTP method to respond to, or ANY for every method
+     * @param path   the path to respond to, without any query
+     * @param status the status code to respond with
+     * @param body   the body to respond with
+     * @example StubServer respond to 'GET' on '/users/1' with code '200' and body '{"name":"bob"}'
+     * @section Stub Server
+     */
+    @Step("StubServer respond to '" + METHODS + "' on '([^']+)' with code '([0-9]+)' and body '([^']*)'")
+    public void stubServerRespondToMethodOnPathWithCodeAndBody(
+            final String method, final String path, final Integer status, final String body
+    ) {
+        register(Stub.respond(method, path, status, body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Respond to requests with the given method and path with the contents of a file on the classpath.
+     *
+     * @param method   the HTTP method to respond to, or ANY for every method
+     * @param path     the path to respond to, without any query
+     * @param status   the status code to respond with
+     * @param resource the name of the file on the classpath
+     * @throws IOException if the file cannot be read.
+     * @example StubServer respond to 'GET' on '/users' with code '200' and body from resource '/json/users.json'
+     * @section Stub Server
+     */
+    @Step("StubServer respond to '" + METHODS + "' on '([^']+)' with code '([0-9]+)' and body from resource '([^']+)'")
+    public void stubServerRespondToMethodOnPathWithCodeAndBodyFromResource(
+            final String method, final String path, final Integer status, final String resource
+    ) throws IOException {
+
+        final RequestBodyResourceCache cache = RequestBodyResourceCache.getInstance();
+
+        register(Stub.respond(method, path, status, cache.getContent(cache.getResource(resource))));
+    }
+
+    /**
+     * Respond to requests with the given method and path with the request's own body and content type, along with
+     * each of its headers prefixed by 'Echo-'.
+     *
+     * @param method the HTTP method to respond to, or ANY for every method
+     * @param path   the path to respond to, without any query
+     * @example StubServer echo 'POST' on '/echo'
+     * @section Stub Server
+     */
+    @Step("StubServer echo '" + METHODS + "' on '([^']+)'")
+    public void stubServerEchoMethodOnPath(final String method, final String path) {
+        register(Stub.echo(method, path));
+    }
+
+    /**
+     * Add a header to the responses of the stub registered last.
+     *
+     * @param name  the name of the header
+     * @param value the value of the header
+     * @example StubServer add response header with name 'Content-Type' and value 'application/json'
+     * @section Stub Server
+     */
+    @Step("StubServer add response header with name '([^']+)' and value '([^']+)'")
+    public void stubServerAddResponseHeaderWithNameAndValue(final String name, final String value) {
+
+        LOG.debug("Adding to the stub response header [{}] with value [{}].", name, value);
+
+        getStub().header(name, value);
+    }
+
+    /**
+     * Delay the responses of the stub registered last, to stand in for a slow service.
+     *
+     * @param delay the amount of time to delay for
+     * @param unit  the unit of time to delay for, which maps directly to the TimeUnit enum
+     * @example StubServer delay response by 200 MILLISECONDS
+     * @section Stub Server
+     */
+    @Step("StubServer delay response by ([0-9]+) (NANOSECONDS|MICROSECONDS|MILLISECONDS|SECONDS|MINUTES|HOURS|DAYS)")
+    public void stubServerDelayResponseBy(final Long delay, @StepParameter(converter = TimeUnitConverter.class) final TimeUnit unit) {
+
+        LOG.debug("Delaying the stub response by [{}] [{}].", delay, unit);
+
+        getStub().delay(delay, unit);
+    }
+
+    /**
+     * Remove every stub the current feature has registered on the stub server, leaving those of any other feature.
+     * They're also removed once the feature ends.
+     *
+     * @example StubServer reset
+     * @section Stub Server
+     */
+    @Step("StubServer reset")
+    public void stubServerReset() {
+
+        LOG.debug("Removing the feature's stubs from the stub server.");
+
+        getState(Scope.FEATURE).unregisterStubs();
+        getState().setStub(null);
+    }
+
+    /**
+     * Check how many requests the stub for the given method and path has responded to.
+     *
+     * @param method   the HTTP method the stub responds to, or ANY
+     * @param path     the path the stub responds to
+     * @param operator the comparison type to make
+     * @param count    the number of requests
+     * @example AssertStubServer received requests for 'GET' on '/users/1' = 2
+     * @section Stub Server
+     */
+    @Step("AssertStubServer received requests for '" + METHODS + "' on '([^']+)' " + OPERATORS + " ([0-9]+)")
+    public void assertStubServerReceivedRequestsFor(final String method, final String path, final String operator, final Integer count) {
+
+        LOG.debug("Asserting that the stub for [{} {}] received [{} {}] requests.", method, path, operator, count);
+
+        final Stub stub = getOrThrowError("Stub for [" + method + " " + path + "]", () -> getStubServer().find(method, path));
+
+        assertThat("Requests received by " + stub, stub.getRequestCount(), compareWith(operator, count));
+    }
+
+    private void register(final Stub stub) {
+
+        LOG.debug("Registering {}.", stub);
+
+        getState().setStub(getStubServer().register(stub));
+        getState(Scope.FEATURE).getRegisteredStubs().add(stub);
+    }
+
+    private Stub getStub() {
+        return getOrThrowError("Stub", getState().getStub());
+    }
+}
@@ -29,6 +29,8 @@ import uk.co.baconi.substeps.restdriver.steps.AbstractRestDriverSubStepImplement
 import uk.co.baconi.substeps.restdriver.utils.ExecutionContextUtil;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -61,11 +63,11 @@ public class RestJsonAssertionStepImplementations extends AbstractRestDriverSubS
 
         switch (type) {
             case "object": {
-                finderImpl.findJsonElementByJsonPathInRestResponseBodyAnObject("$");
+                finderImpl.assertJsonElementByJsonPathInRestResponseBodyIsA("$", Map.class);
                 break;
             }
             case "array": {
-                finderImpl.findJsonElementByJsonPathInRestResponseBodyAnArray("$");
+                finderImpl.assertJsonElementByJsonPathInRestResponseBodyIsA("$", List.class);
                 break;
             }
             default: {
@@ -188,11 +190,11 @@ public class RestJsonAssertionStepImplementations extends AbstractRestDriverSubS
 
         switch (type) {
             case "object": {
-                finderImpl.findJsonElementByJsonPathInRestResponseBodyAnObject(jsonPath);
+                finderImpl.assertJsonElementByJsonPathInRestResponseBodyIsA(jsonPath, Map.class);
                 break;
             }
             case "array": {
-                finderImpl.findJsonElementByJsonPathInRestResponseBodyAnArray(jsonPath);
+                finderImpl.assertJsonElementByJsonPathInRestResponseBodyIsA(jsonPath, List.class);
                 break;
             }
             default: {
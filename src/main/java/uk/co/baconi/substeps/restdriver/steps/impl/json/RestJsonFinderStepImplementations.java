@@ -19,19 +19,28 @@
 
 package uk.co.baconi.substeps.restdriver.steps.impl.json;
 
+import com.jayway.restassured.path.json.JsonPath;
 import com.technophobia.substeps.model.SubSteps.Step;
 import com.technophobia.substeps.model.SubSteps.StepImplementations;
 import org.hamcrest.Matcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.co.baconi.substeps.restdriver.RestDriverSetupAndTearDown;
+import uk.co.baconi.substeps.restdriver.json.JsonEvaluation;
+import uk.co.baconi.substeps.restdriver.json.JsonPathCache;
+import uk.co.baconi.substeps.restdriver.json.JsonPathExpression;
+import uk.co.baconi.substeps.restdriver.json.StreamingJsonEvaluator;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+import uk.co.baconi.substeps.restdriver.response.SpooledResponseBody;
 import uk.co.baconi.substeps.restdriver.steps.AbstractRestDriverSubStepImplementations;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
 
@@ -40,6 +49,23 @@ public class RestJsonFinderStepImplementations extends AbstractRestDriverSubStep
 
     private static final Logger LOG = LoggerFactory.getLogger(RestJsonFinderStepImplementations.class);
 
+    /**
+     * Choose how JsonPaths are evaluated against response bodies for the rest of the scenario. Streaming never holds
+     * the whole body in memory, which suits very large bodies, but reads through the body again for each JsonPath.
+     * By default bodies are only streamed if they're bigger than the configured threshold.
+     *
+     * @param evaluation auto, tree or streaming
+     * @example FindJsonElement evaluate by 'streaming'
+     * @section Rest Finder - JSON
+     */
+    @Step("FindJsonElement evaluate by '(auto|tree|streaming)'")
+    public void findJsonElementEvaluateBy(final String evaluation) {
+
+        LOG.debug("Evaluating JsonPaths by [{}]", evaluation);
+
+        getState().setJsonEvaluation(JsonEvaluation.valueOf(evaluation.toUpperCase()));
+    }
+
     /**
      * Find a JSON object by the given JsonPath and store it for further inspection.
      * For JsonPath See: https://github.com/jayway/JsonPath#getting-started
@@ -115,22 +141,98 @@ public class RestJsonFinderStepImplementations extends AbstractRestDriverSubStep
         return findJsonElementByJsonPathInRestResponseBodyImpl(jsonPath, isA(Boolean.class));
     }
 
+    /**
+     * Assert that there is a JSON element of the given type by the given JsonPath, without keeping it. When streaming
+     * an object or array is skipped over rather than read in, so checking the type of a large one stays cheap.
+     *
+     * @param jsonPath     the JsonPath to search with
+     * @param expectedType the type of element to expect, such as Map or List
+     */
+    public void assertJsonElementByJsonPathInRestResponseBodyIsA(final String jsonPath, final Class<?> expectedType) {
+
+        LOG.debug("Checking by JsonPath [{}] for expected type [{}]", jsonPath, expectedType);
+
+        final Object searchedJson = findJsonElementByJsonPath(jsonPath, true);
+
+        assertThat("JsonPath [" + jsonPath + "] in RestResponseBody", searchedJson, is(instanceOf(expectedType)));
+    }
+
+    @SuppressWarnings("unchecked")
     private <A, B extends A> B findJsonElementByJsonPathInRestResponseBodyImpl(final String jsonPath, final Matcher<A> expectedType) throws IOException {
 
         LOG.debug("Find by JsonPath [{}] and expected type [{}]", jsonPath, expectedType);
 
         // Find by path
-        final B searchedJson = getResponse().body(jsonPath, expectedType).extract().path(jsonPath);
+        final Object searchedJson = findJsonElementByJsonPath(jsonPath, false);
 
         // Assert that something is there
-        // TODO - Review the need for this now.
-        assertThat(searchedJson, is(expectedType));
+        assertThat("JsonPath [" + jsonPath + "] in RestResponseBody", searchedJson, is(expectedType));
 
         // Store as current read value
         // TODO - Review this.
         // setCurrentJsonElement(searchedJson);
 
+        return (B) searchedJson;
+    }
+
+    private Object findJsonElementByJsonPath(final String jsonPath, final boolean typeOnly) {
+
+        final JsonPathExpression expression = JsonPathCache.getInstance().compile(jsonPath);
+
+        final Object searchedJson;
+        if (expression.isStreamable() && isStreaming()) {
+            // Walk through the body without ever holding all of it.
+            searchedJson = typeOnly
+                    ? StreamingJsonEvaluator.evaluateType(getResponseBody(), expression)
+                    : StreamingJsonEvaluator.evaluate(getResponseBody(), expression);
+        } else if (expression.isSupported()) {
+            // Walk the body that has already been parsed for this response.
+            searchedJson = expression.evaluate(getResponseJson().getRoot());
+        } else {
+            LOG.debug("JsonPath [{}] is not supported on the parsed body, falling back on Rest Assured.", jsonPath);
+            searchedJson = findJsonElementWithRestAssured(jsonPath);
+        }
+
         return searchedJson;
     }
 
-}
\ No newline at end of file
+    private boolean isStreaming() {
+
+        final JsonEvaluation evaluation = getState().getJsonEvaluation();
+
+        final boolean streaming;
+        switch (evaluation) {
+            case TREE: {
+                streaming = false;
+                break;
+            }
+            case STREAMING: {
+                streaming = true;
+                break;
+            }
+            default: {
+                final long threshold = RestDriverSubstepsConfiguration.PROPERTIES.getJsonStreamingThreshold();
+                streaming = getResponseBody().size() >= threshold;
+                break;
+            }
+        }
+
+        return streaming;
+    }
+
+    private Object findJsonElementWithRestAssured(final String jsonPath) {
+
+        final SpooledResponseBody body = getResponseBody();
+        if (!body.isSpooled()) {
+            return getResponse().extract().path(jsonPath);
+        }
+
+        // Spooled bodies aren't held by the response, so read this one back in from disk.
+        try (final InputStream input = body.openStream()) {
+            return new JsonPath(input).get(jsonPath);
+        } catch (final IOException exception) {
+            throw new AssertionError("Unable to read the RestResponseBody.", exception);
+        }
+    }
+
+}
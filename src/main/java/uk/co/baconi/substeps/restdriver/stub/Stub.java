@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.stub;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A canned response to requests with a method and path, or an echo of the request back to its sender.
+ * <p>
+ * Headers and delays can be added once registered, as the steps that add them follow the one that registered it.
+ */
+public class Stub {
+
+    public static final String ANY_METHOD = "ANY";
+
+    private static final String ECHO_HEADER_PREFIX = "Echo-";
+
+    private final String method;
+    private final String path;
+    private final int status;
+    private final byte[] body;
+    private final boolean echo;
+
+    private final Map<String, String> headers = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile long delay;
+
+    private Stub(final String method, final String path, final int status, final byte[] body, final boolean echo) {
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.body = body;
+        this.echo = echo;
+    }
+
+    /**
+     * @param method the method to respond to, or {@link #ANY_METHOD}.
+     */
+    public static Stub respond(final String method, final String path, final int status, final byte[] body) {
+        return new Stub(method, path, status, body, false);
+    }
+
+    /**
+     * Responds with the request's body and content type, along with each of its headers prefixed by "Echo-".
+     *
+     * @param method the method to respond to, or {@link #ANY_METHOD}.
+     */
+    public static Stub echo(final String method, final String path) {
+        return new Stub(method, path, 200, new byte[0], true);
+    }
+
+    public Stub header(final String name, final String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    public Stub delay(final long delay, final TimeUnit unit) {
+        this.delay = unit.toMillis(delay);
+        return this;
+    }
+
+    public boolean matches(final String method, final String path) {
+        return (ANY_METHOD.equals(this.method) || this.method.equalsIgnoreCase(method)) && this.path.equals(path);
+    }
+
+    /**
+     * @return how many requests this stub has responded to.
+     */
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    void respond(final HttpExchange exchange, final byte[] requestBody) throws IOException, InterruptedException {
+
+        requests.incrementAndGet();
+
+        if (delay > 0) {
+            TimeUnit.MILLISECONDS.sleep(delay);
+        }
+
+        final Headers responseHeaders = exchange.getResponseHeaders();
+        headers.forEach(responseHeaders::set);
+
+        final byte[] responseBody;
+        if (echo) {
+            for (final Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+                responseHeaders.put(ECHO_HEADER_PREFIX + header.getKey(), header.getValue());
+            }
+            final String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            if (contentType != null) {
+                responseHeaders.set("Content-Type", contentType);
+            }
+            responseBody = requestBody;
+        } else {
+            responseBody = body;
+        }
+
+        send(exchange, status, responseBody);
+    }
+
+    static void send(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+
+        // A length of -1 tells the server there's no body at all, which HEAD requests and some statuses require.
+        final boolean empty = body.length == 0 || "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, empty ? -1 : body.length);
+
+        if (!empty) {
+            try (final OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Stub{" + method + " " + path + (echo ? " echo" : " " + status) + ", requests=" + requests + "}";
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.co.baconi.substeps.restdriver.client.RequestExecutors;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A lightweight http server, built on the JDK's own, answering requests with the stubs registered on it. It starts in
+ * milliseconds on a free port by default, so suites can use it in place of booting a real application.
+ * <p>
+ * The most recently registered stub matching a request's method and path answers it, the query is ignored, and
+ * requests without a stub get a 404 saying so.
+ * <p>
+ * Stubs registered by steps only last until the end of their feature. Features run one at a time, so although the one
+ * suite wide server is shared by every feature, a feature's stubs are gone before the next feature starts.
+ */
+public class StubServer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StubServer.class);
+
+    private static StubServer suite;
+
+    private final String host;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<Stub> stubs = new CopyOnWriteArrayList<>();
+
+    private StubServer(final String host, final HttpServer server, final ExecutorService executor) {
+        this.host = host;
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * @param port the port to listen on, zero for any free port.
+     */
+    public static StubServer start(final String host, final int port) throws IOException {
+
+        final HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        final ExecutorService executor = RequestExecutors.newExecutor("RestDriver-StubServer", 0);
+
+        final StubServer stubServer = new StubServer(host, server, executor);
+        server.createContext("/", stubServer::handle);
+        server.setExecutor(executor);
+        server.start();
+
+        LOG.info("Started a stub server on [{}].", stubServer.getBaseUrl());
+
+        return stubServer;
+    }
+
+    /**
+     * @return the stub server shared by the whole suite, started from the configuration if it isn't already.
+     */
+    public static synchronized StubServer startSuite() throws IOException {
+        if (suite == null) {
+            suite = start(
+                    RestDriverSubstepsConfiguration.PROPERTIES.getStubServerHost(),
+                    RestDriverSubstepsConfiguration.PROPERTIES.getStubServerPort()
+            );
+        }
+        return suite;
+    }
+
+    /**
+     * @return the stub server shared by the whole suite, if it's been started.
+     */
+    public static synchronized Optional<StubServer> getSuite() {
+        return Optional.ofNullable(suite);
+    }
+
+    public static synchronized void stopSuite() {
+        if (suite != null) {
+            suite.close();
+            suite = null;
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the url of the server's root, without a trailing slash.
+     */
+    public String getBaseUrl() {
+        return "http://" + host + ":" + getPort();
+    }
+
+    public Stub register(final Stub stub) {
+        stubs.add(0, stub);
+        return stub;
+    }
+
+    /**
+     * @return the most recently registered stub for the method and path, if there is one.
+     */
+    public Optional<Stub> find(final String method, final String path) {
+        return stubs.stream().filter(stub -> stub.matches(method, path)).findFirst();
+    }
+
+    public void unregister(final Collection<Stub> unregistered) {
+        stubs.removeAll(unregistered);
+    }
+
+    /**
+     * Removes every stub, including those registered by other features.
+     */
+    public void reset() {
+        stubs.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        LOG.info("Stopped the stub server on [{}], with {}.", getBaseUrl(), stubs);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+
+            final byte[] requestBody = readAll(exchange.getRequestBody());
+
+            final String method = exchange.getRequestMethod();
+            final String path = exchange.getRequestURI().getPath();
+
+            final Optional<Stub> stub = find(method, path);
+            if (stub.isPresent()) {
+                stub.get().respond(exchange, requestBody);
+            } else {
+                LOG.debug("No stub registered for [{} {}].", method, path);
+                Stub.send(exchange, 404, ("No stub registered for [" + method + " " + path + "].").getBytes(StandardCharsets.UTF_8));
+            }
+
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] readAll(final InputStream input) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.utils;
+
+import org.hamcrest.Matcher;
+
+import static org.hamcrest.Matchers.*;
+
+public class ComparisonMatchers {
+
+    /**
+     * Regex for the comparison operators accepted by {@link #compareWith(String, Comparable)}, for use in steps.
+     */
+    public static final String OPERATORS = "(lessThan|lessThanOrEqualTo|equalTo|greaterThan|greaterThanOrEqualTo|<|=|>|<=|>=)";
+
+    private ComparisonMatchers() {
+    }
+
+    public static <A extends Comparable<A>> Matcher<A> compareWith(final String operator, final A expected) {
+
+        final Matcher<A> matcher;
+        switch (operator) {
+            case "lessThan":
+            case "<": {
+                matcher = lessThan(expected);
+                break;
+            }
+            case "lessThanOrEqualTo":
+            case "<=": {
+                matcher = lessThanOrEqualTo(expected);
+                break;
+            }
+            case "equalTo":
+            case "=": {
+                matcher = comparesEqualTo(expected);
+                break;
+            }
+            case "greaterThan":
+            case ">": {
+                matcher = greaterThan(expected);
+                break;
+            }
+            case "greaterThanOrEqualTo":
+            case ">=": {
+                matcher = greaterThanOrEqualTo(expected);
+                break;
+            }
+            default: {
+                throw new AssertionError("Unsupported Type [" + operator + "]");
+            }
+        }
+
+        return matcher;
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.utils;
+
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Works out the url a request is actually sent to, from the url it was performed on and what was added to the request.
+ */
+public class RequestUrlUtil {
+
+    private static final Pattern PATH_PARAM = Pattern.compile("\\{([^{}/]+)}");
+
+    private RequestUrlUtil() {
+    }
+
+    /**
+     * @return the url the request is sent to, with its path params filled in and every query parameter in the same
+     * order no matter what order they were added in, so requests for the same thing always have the same url.
+     */
+    public static String sentUrlOf(final FilterableRequestSpecification request, final String method, final String url) {
+
+        final String filled = fillPathParams(request, url);
+        final int query = filled.indexOf('?');
+        final String withoutQuery = query >= 0 ? filled.substring(0, query) : filled;
+
+        final List<String> parameters = queryParamsOf(request, method, filled);
+        return parameters.isEmpty() ? withoutQuery : withoutQuery + "?" + String.join("&", parameters);
+    }
+
+    /**
+     * @return the url with each {name} in it replaced by the request's url encoded path param of that name, as Rest
+     * Assured sends it. Any without a path param are left as they are.
+     */
+    public static String fillPathParams(final FilterableRequestSpecification request, final String url) {
+
+        final Map<String, ?> pathParams = request.getPathParams();
+        if (pathParams.isEmpty() || url.indexOf('{') < 0) {
+            return url;
+        }
+
+        final Matcher matcher = PATH_PARAM.matcher(url);
+        final StringBuffer filled = new StringBuffer(url.length());
+        while (matcher.find()) {
+            final Object value = pathParams.get(matcher.group(1));
+            final String replacement = value == null ? matcher.group() : encode(String.valueOf(value));
+            matcher.appendReplacement(filled, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(filled);
+
+        return filled.toString();
+    }
+
+    /**
+     * @return the query parameters the request is sent with, both those in the url and those added to the request,
+     * sorted so the same parameters added in any order are equal.
+     */
+    public static List<String> queryParamsOf(final FilterableRequestSpecification request, final String method, final String url) {
+
+        final List<String> parameters = new ArrayList<>();
+
+        final int start = url.indexOf('?');
+        if (start >= 0 && start < url.length() - 1) {
+            for (final String parameter : url.substring(start + 1).split("&")) {
+                parameters.add(parameter);
+            }
+        }
+
+        addParameters(parameters, request.getQueryParams());
+
+        // Rest Assured sends the plain parameters of a GET as its query string.
+        if ("GET".equalsIgnoreCase(method)) {
+            addParameters(parameters, request.getRequestParams());
+        }
+
+        parameters.sort(null);
+
+        return parameters;
+    }
+
+    /**
+     * Adds each parameter as its url encoded name=value, as it's sent, once for every value of those with more than one.
+     */
+    public static void addParameters(final List<String> parameters, final Map<String, ?> values) {
+        values.forEach((name, value) -> {
+            if (value instanceof Collection) {
+                ((Collection<?>) value).forEach(each -> parameters.add(encode(name) + "=" + encode(String.valueOf(each))));
+            } else {
+                parameters.add(encode(name) + "=" + encode(String.valueOf(value)));
+            }
+        });
+    }
+
+    private static String encode(final String value) {
+        try {
+            // Form encoding turns spaces into pluses, which only mean a space in a query string.
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name()).replace("+", "%20");
+        } catch (final UnsupportedEncodingException exception) {
+            throw new IllegalStateException("Every JVM is required to support UTF-8.", exception);
+        }
+    }
+}
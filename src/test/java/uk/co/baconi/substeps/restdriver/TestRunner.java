@@ -14,7 +14,10 @@
 
 package uk.co.baconi.substeps.restdriver;
 
+import uk.co.baconi.substeps.restdriver.impl.RequestFailureSteps;
+import uk.co.baconi.substeps.restdriver.impl.SpooledResponseSteps;
 import uk.co.baconi.substeps.restdriver.impl.TestServerSetup;
+import uk.co.baconi.substeps.restdriver.impl.UnixSocketServerSteps;
 import com.technophobia.substeps.runner.JunitFeatureRunner;
 import com.technophobia.substeps.runner.JunitFeatureRunner.SubStepsConfiguration;
 import org.junit.runner.RunWith;
@@ -24,8 +27,14 @@ import org.junit.runner.RunWith;
         subStepsFile = "./target/test-classes/substeps",
         stepImplementations = {
                 BaseRestDriverStepImplementations.class,
-                TestServerSetup.class
-        }
+                TestServerSetup.class,
+                SpooledResponseSteps.class,
+                RequestFailureSteps.class,
+                UnixSocketServerSteps.class
+        },
+        // Unix domain sockets need Java 16 or later and the HTTP/2 client Java 11 or later, so are left to the
+        // TestUnixSocketRunner and TestHttp2Runner.
+        tagList = "--@unix-socket --@http2"
 )
 @RunWith(JunitFeatureRunner.class)
 public class TestRunner {
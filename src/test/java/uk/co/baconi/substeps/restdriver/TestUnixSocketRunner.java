@@ -0,0 +1,41 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver;
+
+import uk.co.baconi.substeps.restdriver.impl.RequestFailureSteps;
+import uk.co.baconi.substeps.restdriver.impl.SpooledResponseSteps;
+import uk.co.baconi.substeps.restdriver.impl.UnixSocketServerSteps;
+import com.technophobia.substeps.runner.JunitFeatureRunner;
+import com.technophobia.substeps.runner.JunitFeatureRunner.SubStepsConfiguration;
+import org.junit.runner.RunWith;
+
+/**
+ * Runs the features sending requests over unix domain sockets, which need Java 16 or later, so this runner is left out
+ * of the build on anything older by the before-java-16 profile. It doesn't need the test application.
+ */
+@SubStepsConfiguration(
+        featureFile = "./target/test-classes/features",
+        subStepsFile = "./target/test-classes/substeps",
+        stepImplementations = {
+                BaseRestDriverStepImplementations.class,
+                SpooledResponseSteps.class,
+                RequestFailureSteps.class,
+                UnixSocketServerSteps.class
+        },
+        tagList = "@unix-socket"
+)
+@RunWith(JunitFeatureRunner.class)
+public class TestUnixSocketRunner {
+}
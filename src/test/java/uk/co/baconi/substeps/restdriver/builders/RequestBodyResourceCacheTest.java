@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.builders;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.co.baconi.substeps.restdriver.stub.Stub;
+import uk.co.baconi.substeps.restdriver.stub.StubServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class RequestBodyResourceCacheTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private StubServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = StubServer.start("localhost", 0);
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyUsedContentOnceOverTheMaximumSize() throws IOException {
+
+        final RequestBodyResourceCache cache = new RequestBodyResourceCache(10, true, false);
+        final URL first = write("first.json", "[1234]");
+        final URL second = write("second.json", "[5678]");
+
+        assertThat(read(cache, first), is("[1234]"));
+        assertThat(read(cache, second), is("[5678]"));
+        assertThat(cache.size(), is(6L));
+
+        // The first was evicted to make room for the second, so has to be read again.
+        assertThat(read(cache, first), is("[1234]"));
+        assertThat(cache.getHits(), is(0L));
+        assertThat(cache.getMisses(), is(3L));
+
+        assertThat(read(cache, first), is("[1234]"));
+        assertThat(cache.getHits(), is(1L));
+    }
+
+    @Test
+    public void neverCachesContentBiggerThanTheMaximumSize() throws IOException {
+
+        final RequestBodyResourceCache cache = new RequestBodyResourceCache(4, true, false);
+        final URL big = write("big.json", "[1234]");
+
+        read(cache, big);
+        read(cache, big);
+
+        assertThat(cache.size(), is(0L));
+        assertThat(cache.getHits(), is(0L));
+        assertThat(cache.getMisses(), is(2L));
+    }
+
+    @Test
+    public void rereadsFilesThatHaveBeenModified() throws IOException {
+
+        final RequestBodyResourceCache cache = new RequestBodyResourceCache(1024, true, false);
+        final URL url = write("modified.json", "[1]");
+
+        assertThat(read(cache, url), is("[1]"));
+        modify(url, "[22]");
+
+        assertThat(read(cache, url), is("[22]"));
+        assertThat(cache.getMisses(), is(2L));
+        assertThat(cache.size(), is(4L));
+    }
+
+    @Test
+    public void keepsFilesThatHaveBeenModifiedWhenNotChecking() throws IOException {
+
+        final RequestBodyResourceCache cache = new RequestBodyResourceCache(1024, false, false);
+        final URL url = write("unchecked.json", "[1]");
+
+        assertThat(read(cache, url), is("[1]"));
+        modify(url, "[22]");
+
+        assertThat(read(cache, url), is("[1]"));
+        assertThat(cache.getHits(), is(1L));
+    }
+
+    @Test
+    public void fetchesHttpUrlsEveryTimeUnlessOptedIn() throws IOException {
+
+        final Stub stub = server.register(Stub.respond("GET", "/some.json", 200, bytes("[1]")));
+        final URL url = new URL(server.getBaseUrl() + "/some.json");
+
+        final RequestBodyResourceCache uncached = new RequestBodyResourceCache(1024, true, false);
+        assertThat(read(uncached, url), is("[1]"));
+        assertThat(read(uncached, url), is("[1]"));
+        assertThat(stub.getRequestCount(), is(2));
+
+        final RequestBodyResourceCache cached = new RequestBodyResourceCache(1024, true, true);
+        assertThat(read(cached, url), is("[1]"));
+        assertThat(read(cached, url), is("[1]"));
+        assertThat(stub.getRequestCount(), is(3));
+        assertThat(cached.getHits(), is(1L));
+    }
+
+    private URL write(final String name, final String content) throws IOException {
+        final File file = folder.newFile(name);
+        Files.write(file.toPath(), bytes(content));
+        return file.toURI().toURL();
+    }
+
+    /**
+     * Rewrites the file, moving its last modified time on as file systems can be too coarse to notice the change.
+     */
+    private static void modify(final URL url, final String content) throws IOException {
+        final File file = new File(url.getPath());
+        final long lastModified = file.lastModified();
+        Files.write(file.toPath(), bytes(content));
+        assertThat(file.setLastModified(lastModified + 2000), is(true));
+    }
+
+    private static String read(final RequestBodyResourceCache cache, final URL url) throws IOException {
+        return new String(cache.getContent(url), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(final String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.cache;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class HttpCacheTest {
+
+    private final HttpCache cache = new HttpCache(10, 1024);
+
+    @Test
+    public void fitsResponsesUpToTheMaximumEntrySize() {
+        assertThat(cache.fits("0"), is(true));
+        assertThat(cache.fits("1024"), is(true));
+        assertThat(cache.fits(" 512 "), is(true));
+        assertThat(cache.fits("1025"), is(false));
+    }
+
+    @Test
+    public void treatsResponsesOfUnknownSizeAsTooBig() {
+        assertThat(cache.fits(null), is(false));
+        assertThat(cache.fits(""), is(false));
+        assertThat(cache.fits("chunked"), is(false));
+        assertThat(cache.fits("-1"), is(false));
+        assertThat(cache.fits("99999999999999999999"), is(false));
+    }
+
+    @Test
+    public void fitsNothingWhenDisabled() {
+        assertThat(new HttpCache(0, 1024).fits("1"), is(false));
+    }
+}
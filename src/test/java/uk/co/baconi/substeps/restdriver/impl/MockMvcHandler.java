@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.impl;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import uk.co.baconi.substeps.restdriver.inprocess.InProcessHandler;
+import uk.co.baconi.substeps.restdriver.inprocess.InProcessRequest;
+import uk.co.baconi.substeps.restdriver.inprocess.InProcessResponse;
+
+import javax.servlet.http.Cookie;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands in process requests to the test application's own Spring MVC dispatcher, so the same controllers answer
+ * inproc:// urls as answer over the network.
+ */
+public class MockMvcHandler implements InProcessHandler {
+
+    private final MockMvc mockMvc;
+
+    public MockMvcHandler(final WebApplicationContext context) {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Override
+    public InProcessResponse handle(final InProcessRequest request) throws Exception {
+
+        final URI uri = URI.create(request.getQuery().isEmpty() ? request.getPath() : request.getPath() + "?" + request.getQuery());
+        final MockHttpServletRequestBuilder builder = MockMvcRequestBuilders.request(HttpMethod.valueOf(request.getMethod()), uri);
+
+        for (final Map.Entry<String, List<String>> header : request.getHeaders().entrySet()) {
+            if ("Content-Type".equalsIgnoreCase(header.getKey())) {
+                builder.contentType(MediaType.parseMediaType(header.getValue().get(0)));
+            } else if ("Cookie".equalsIgnoreCase(header.getKey())) {
+                builder.cookie(toCookies(header.getValue()));
+            } else {
+                builder.header(header.getKey(), header.getValue().toArray());
+            }
+        }
+
+        // A servlet container reads form bodies into parameters, the mock request doesn't.
+        final String contentType = request.getHeader("Content-Type");
+        if (contentType != null && MediaType.APPLICATION_FORM_URLENCODED.includes(MediaType.parseMediaType(contentType))) {
+            addFormParameters(builder, request.getBodyAsString(StandardCharsets.UTF_8));
+        }
+
+        builder.content(request.getBody());
+
+        final MockHttpServletResponse response = mockMvc.perform(builder).andReturn().getResponse();
+
+        final InProcessResponse inProcessResponse = InProcessResponse.status(response.getStatus());
+        for (final String name : response.getHeaderNames()) {
+            for (final String value : response.getHeaders(name)) {
+                inProcessResponse.header(name, value);
+            }
+        }
+        if (response.getContentType() != null && !response.containsHeader("Content-Type")) {
+            inProcessResponse.header("Content-Type", response.getContentType());
+        }
+
+        return inProcessResponse.body(response.getContentAsByteArray());
+    }
+
+    private static Cookie[] toCookies(final List<String> headers) {
+        return headers.stream()
+                .flatMap(header -> Arrays.stream(header.split(";")))
+                .map(String::trim)
+                .filter(cookie -> cookie.indexOf('=') > 0)
+                .map(cookie -> new Cookie(cookie.substring(0, cookie.indexOf('=')), cookie.substring(cookie.indexOf('=') + 1)))
+                .toArray(Cookie[]::new);
+    }
+
+    private static void addFormParameters(final MockHttpServletRequestBuilder builder, final String form) throws Exception {
+        for (final String parameter : form.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            final int equals = parameter.indexOf('=');
+            final String name = equals >= 0 ? parameter.substring(0, equals) : parameter;
+            final String value = equals >= 0 ? parameter.substring(equals + 1) : "";
+            builder.param(
+                    URLDecoder.decode(name, StandardCharsets.UTF_8.name()),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8.name())
+            );
+        }
+    }
+}
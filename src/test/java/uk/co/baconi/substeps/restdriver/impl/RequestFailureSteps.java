@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.impl;
+
+import com.jayway.restassured.specification.RequestSpecification;
+import com.technophobia.substeps.model.SubSteps.Step;
+import com.technophobia.substeps.model.SubSteps.StepImplementations;
+import uk.co.baconi.substeps.restdriver.RestDriverSetupAndTearDown;
+import uk.co.baconi.substeps.restdriver.steps.AbstractRestDriverSubStepImplementations;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+/**
+ * Test only steps that check a request fails the step performing it, and how.
+ */
+@StepImplementations(requiredInitialisationClasses = RestDriverSetupAndTearDown.class)
+public class RequestFailureSteps extends AbstractRestDriverSubStepImplementations {
+
+    @Step("AssertRestRequest perform '(DELETE|GET|HEAD|OPTIONS|PATCH|POST|PUT)' on '([^']+)' fails with '([^']+)'")
+    public void assertRestRequestPerformOnFailsWith(final String method, final String url, final String message) throws IOException {
+
+        final RequestSpecification request = getRequest();
+        prepareRequest(request);
+
+        try {
+            performRequest(request, method, resolveUrl(url));
+        } catch (final AssertionError failure) {
+            assertThat("Request failure", String.valueOf(failure.getMessage()), containsString(message));
+            return;
+        }
+
+        throw new AssertionError("Expected the request to fail with [" + message + "], but it was answered.");
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.impl;
+
+import com.technophobia.substeps.model.Scope;
+import com.technophobia.substeps.model.SubSteps.Step;
+import com.technophobia.substeps.model.SubSteps.StepImplementations;
+import uk.co.baconi.substeps.restdriver.RestDriverSetupAndTearDown;
+import uk.co.baconi.substeps.restdriver.state.RestDriverState;
+import uk.co.baconi.substeps.restdriver.steps.AbstractRestDriverSubStepImplementations;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Test only steps that look behind the spooling of response bodies, at the files they're spooled to.
+ */
+@StepImplementations(requiredInitialisationClasses = RestDriverSetupAndTearDown.class)
+public class SpooledResponseSteps extends AbstractRestDriverSubStepImplementations {
+
+    private final List<File> spooled = new ArrayList<>();
+
+    @Step("AssertRestResponseBody is spooled")
+    public void assertRestResponseBodyIsSpooled() {
+
+        assertThat("RestResponseBody is spooled", getResponseBody().isSpooled(), is(true));
+        assertThat("RestResponse body", getResponse().extract().asByteArray().length, is(0));
+
+        spooled.clear();
+        spooled.addAll(findSpooledFiles());
+        assertThat("Spooled files", spooled, is(not(empty())));
+    }
+
+    @Step("End the scenario scope")
+    public void endTheScenarioScope() {
+        RestDriverState.release(Scope.SCENARIO);
+    }
+
+    @Step("AssertSpooledResponseBody has been deleted")
+    public void assertSpooledResponseBodyHasBeenDeleted() {
+
+        for (final File file : spooled) {
+            assertThat("Spooled file [" + file + "] exists", file.exists(), is(false));
+        }
+    }
+
+    private static List<File> findSpooledFiles() {
+        final File[] files = new File(System.getProperty("java.io.tmpdir"))
+                .listFiles((directory, name) -> name.startsWith("rest-driver-response-") && name.endsWith(".body"));
+        return files == null ? new ArrayList<>() : Arrays.asList(files);
+    }
+}
@@ -21,6 +21,10 @@ import uk.co.baconi.substeps.restdriver.impl.models.NumberPair;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -128,6 +132,17 @@ public class TestRestController {
         unit.sleep(value);
     }
 
+    @RequestMapping("/trickle")
+    void trickle(@RequestParam("chunks") final int chunks, final HttpServletResponse response) throws IOException, InterruptedException {
+        response.setContentType("text/plain");
+        final OutputStream body = response.getOutputStream();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            body.write("trickle\n".getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+    }
+
     @RequestMapping("/replay-json-array")
     @ResponseStatus(HttpStatus.OK)
     List<Map<String, String>> replayJsonArray(@RequestBody List<Map<String, String>> body) {
@@ -139,4 +154,21 @@ public class TestRestController {
     Result<String> replayPathParam() {
         return new Result<>(UUID.randomUUID().toString());
     }
+
+    @RequestMapping(value = "/cacheable", method = RequestMethod.GET)
+    ResponseEntity<Result<String>> cacheable(
+            @RequestParam("max-age") final long maxAge,
+            @RequestHeader(value = "If-None-Match", required = false) final String ifNoneMatch
+    ) {
+        final String etag = "\"cacheable-v1\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).header("Cache-Control", "max-age=" + maxAge).build();
+        }
+        return ResponseEntity.ok().eTag(etag).header("Cache-Control", "max-age=" + maxAge).body(new Result<>("cached"));
+    }
+
+    @RequestMapping(value = "/cacheable/{id}", method = RequestMethod.GET)
+    ResponseEntity<Result<String>> cacheableById(@PathVariable final String id) {
+        return ResponseEntity.ok().header("Cache-Control", "max-age=60").body(new Result<>(id));
+    }
 }
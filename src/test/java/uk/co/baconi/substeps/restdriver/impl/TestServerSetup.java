@@ -18,6 +18,9 @@ import com.technophobia.substeps.model.SubSteps.StepImplementations;
 import com.technophobia.substeps.runner.setupteardown.Annotations.BeforeAllFeatures;
 import org.springframework.boot.SpringApplication;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.context.WebApplicationContext;
+import uk.co.baconi.substeps.restdriver.inprocess.InProcessResponse;
+import uk.co.baconi.substeps.restdriver.inprocess.InProcessTransport;
 
 @StepImplementations(requiredInitialisationClasses = TestServerSetup.class)
 public class TestServerSetup {
@@ -26,6 +29,17 @@ public class TestServerSetup {
     public void beforeAllFeatures() {
         final ConfigurableApplicationContext server = SpringApplication.run(TestApplication.class);
         server.registerShutdownHook();
+
+        InProcessTransport.register("test", request -> {
+            if ("/replay-header".equals(request.getPath())) {
+                return InProcessResponse.status(200)
+                        .header("Content-Type", "application/json")
+                        .body("{\"result\":\"" + request.getHeader("replay") + "\"}");
+            }
+            return InProcessResponse.status(404);
+        });
+
+        InProcessTransport.register("spring", new MockMvcHandler((WebApplicationContext) server));
     }
 
 }
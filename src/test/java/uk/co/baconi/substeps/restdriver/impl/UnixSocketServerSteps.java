@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.impl;
+
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.RequestSpecification;
+import com.technophobia.substeps.model.SubSteps.Step;
+import com.technophobia.substeps.model.SubSteps.StepImplementations;
+import com.technophobia.substeps.runner.setupteardown.Annotations.AfterAllFeatures;
+import uk.co.baconi.substeps.restdriver.RestDriverSetupAndTearDown;
+import uk.co.baconi.substeps.restdriver.client.UnixDomainSockets;
+import uk.co.baconi.substeps.restdriver.steps.AbstractRestDriverSubStepImplementations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test only steps that serve canned HTTP/1.1 responses over a unix domain socket, which needs Java 16 or later.
+ * <p>
+ * Each response body says which connection it was sent over and how many requests that connection has answered, so
+ * features can tell whether connections are being reused. Requests for /slow are answered after two seconds.
+ */
+@StepImplementations(requiredInitialisationClasses = RestDriverSetupAndTearDown.class)
+public class UnixSocketServerSteps extends AbstractRestDriverSubStepImplementations {
+
+    private static Server server;
+
+    /**
+     * Starts a new server on a new socket, stopping any already started, so nothing carries over between scenarios.
+     */
+    @Step("UnixSocketServer start")
+    public void unixSocketServerStart() throws IOException {
+        stopServer();
+        server = new Server(Files.createTempDirectory("rest-driver-unix").resolve("test.sock"));
+    }
+
+    @Step("RestRequest perform '(DELETE|GET|HEAD|OPTIONS|PATCH|POST|PUT)' on the unix socket server at '([^']+)'")
+    public void restRequestPerformOnTheUnixSocketServerAt(final String method, final String path) throws IOException {
+
+        final RequestSpecification request = getRequest();
+        prepareRequest(request);
+
+        final Response response = performRequest(request, method, socketUrl(path));
+        setResponse(response.then());
+    }
+
+    @Step("AssertRestRequest perform '(DELETE|GET|HEAD|OPTIONS|PATCH|POST|PUT)' on the unix socket server at '([^']+)' times out")
+    public void assertRestRequestPerformOnTheUnixSocketServerAtTimesOut(final String method, final String path) throws IOException {
+
+        final RequestSpecification request = getRequest();
+        prepareRequest(request);
+
+        try {
+            performRequest(request, method, socketUrl(path));
+        } catch (final Exception | AssertionError failure) {
+            for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+                if (cause instanceof SocketTimeoutException) {
+                    return;
+                }
+            }
+            throw new AssertionError("Expected the request to time out, but it failed otherwise.", failure);
+        }
+
+        throw new AssertionError("Expected the request to time out, but it was answered.");
+    }
+
+    @Step("AssertUnixSocketServer accepted '([0-9]+)' connections")
+    public void assertUnixSocketServerAcceptedConnections(final int expected) {
+        assertThat("Unix socket server connections", getServer().connections.get(), is(expected));
+    }
+
+    @AfterAllFeatures
+    public void afterAllFeatures() throws IOException {
+        stopServer();
+    }
+
+    private static String socketUrl(final String path) {
+        return UnixDomainSockets.SCHEME + getServer().socket + path;
+    }
+
+    private static Server getServer() {
+        if (server == null) {
+            throw new AssertionError("The unix socket server hasn't been started.");
+        }
+        return server;
+    }
+
+    private static void stopServer() throws IOException {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+
+    private static final class Server {
+
+        private final Path socket;
+        private final ServerSocketChannel channel;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final List<SocketChannel> accepted = new CopyOnWriteArrayList<>();
+
+        private Server(final Path socket) throws IOException {
+            this.socket = socket;
+            this.channel = open(socket);
+
+            final Thread acceptor = new Thread(this::accept, "unix-socket-server-" + socket);
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        private void accept() {
+            try {
+                for (; ; ) {
+                    final SocketChannel connection = channel.accept();
+                    accepted.add(connection);
+
+                    final int number = connections.incrementAndGet();
+                    final Thread handler = new Thread(() -> serve(connection, number), "unix-socket-connection-" + number);
+                    handler.setDaemon(true);
+                    handler.start();
+                }
+            } catch (final IOException stopped) {
+                // Closed by stop.
+            }
+        }
+
+        private static void serve(final SocketChannel connection, final int number) {
+            try (final SocketChannel closing = connection) {
+
+                final BufferedReader input = new BufferedReader(new InputStreamReader(Channels.newInputStream(closing), StandardCharsets.ISO_8859_1));
+                final OutputStream output = Channels.newOutputStream(closing);
+
+                for (int requests = 1; ; requests++) {
+
+                    final String requestLine = input.readLine();
+                    if (requestLine == null) {
+                        return;
+                    }
+
+                    long contentLength = 0;
+                    for (String header = input.readLine(); header != null && !header.isEmpty(); header = input.readLine()) {
+                        if (header.toLowerCase(Locale.ENGLISH).startsWith("content-length:")) {
+                            contentLength = Long.parseLong(header.substring("content-length:".length()).trim());
+                        }
+                    }
+                    input.skip(contentLength);
+
+                    if (requestLine.split(" ")[1].startsWith("/slow")) {
+                        TimeUnit.SECONDS.sleep(2);
+                    }
+
+                    final byte[] body = ("{\"connection\":" + number + ",\"request\":" + requests + "}").getBytes(StandardCharsets.UTF_8);
+                    final String head = "HTTP/1.1 200 OK\r\n"
+                            + "Content-Type: application/json\r\n"
+                            + "Content-Length: " + body.length + "\r\n"
+                            + "\r\n";
+
+                    output.write(head.getBytes(StandardCharsets.ISO_8859_1));
+                    output.write(body);
+                    output.flush();
+                }
+
+            } catch (final IOException | InterruptedException stopped) {
+                // Closed by the client, or by stop.
+            }
+        }
+
+        private void stop() throws IOException {
+            channel.close();
+            for (final SocketChannel connection : accepted) {
+                connection.close();
+            }
+            Files.deleteIfExists(socket);
+            Files.deleteIfExists(socket.getParent());
+        }
+
+        /**
+         * The tests are built for Java 8 like the driver, so the unix domain socket channels are reached by reflection.
+         */
+        private static ServerSocketChannel open(final Path socket) throws IOException {
+            try {
+                final ProtocolFamily unix = StandardProtocolFamily.valueOf("UNIX");
+                final Method open = ServerSocketChannel.class.getMethod("open", ProtocolFamily.class);
+                final Method of = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class);
+
+                final ServerSocketChannel channel = (ServerSocketChannel) open.invoke(null, unix);
+                channel.bind((SocketAddress) of.invoke(null, socket));
+                return channel;
+            } catch (final ReflectiveOperationException | IllegalArgumentException exception) {
+                throw new AssertionError("Unix domain sockets need Java 16 or later.", exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.json;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class JsonPathCacheTest {
+
+    @Test
+    public void returnsTheSameCompiledExpressionForTheSamePath() {
+
+        final JsonPathCache cache = new JsonPathCache(2);
+
+        final JsonPathExpression first = cache.compile("list[*].value");
+        final JsonPathExpression second = cache.compile("list[*].value");
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyUsedExpressionOnceOverTheMaximumSize() {
+
+        final JsonPathCache cache = new JsonPathCache(2);
+
+        final JsonPathExpression first = cache.compile("first");
+        final JsonPathExpression second = cache.compile("second");
+
+        // Using the first again makes the second the least recently used, so it's the one evicted for the third.
+        assertThat(cache.compile("first"), is(sameInstance(first)));
+        cache.compile("third");
+        assertThat(cache.size(), is(2));
+
+        assertThat(cache.compile("first"), is(sameInstance(first)));
+        assertThat(cache.getHits(), is(2L));
+        assertThat(cache.getMisses(), is(3L));
+
+        assertThat(cache.compile("second"), is(not(sameInstance(second))));
+        assertThat(cache.getMisses(), is(4L));
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    public void cachesPathsThatAreNotSupported() {
+
+        final JsonPathCache cache = new JsonPathCache(2);
+
+        final JsonPathExpression unsupported = cache.compile("list.findAll { it.value > 1 }");
+
+        assertThat(unsupported.isSupported(), is(false));
+        assertThat(cache.compile("list.findAll { it.value > 1 }"), is(sameInstance(unsupported)));
+        assertThat(cache.getHits(), is(1L));
+    }
+
+    @Test
+    public void neverCachesWithAMaximumSizeOfZero() {
+
+        final JsonPathCache cache = new JsonPathCache(0);
+
+        final JsonPathExpression first = cache.compile("result");
+
+        assertThat(cache.compile("result"), is(not(sameInstance(first))));
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getHits(), is(0L));
+        assertThat(cache.getMisses(), is(2L));
+    }
+
+    @Test
+    public void clearingResetsTheCounters() {
+
+        final JsonPathCache cache = new JsonPathCache(2);
+        cache.compile("result");
+        cache.compile("result");
+
+        cache.clear();
+
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getHits(), is(0L));
+        assertThat(cache.getMisses(), is(0L));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.json;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class JsonPathExpressionTest {
+
+    static final String DOCUMENT = "{" +
+            "\"result\":\"bob\"," +
+            "\"count\":3," +
+            "\"flag\":true," +
+            "\"nothing\":null," +
+            "\"some\":{\"nested\":{\"value\":1.5}}," +
+            "\"list\":[{\"value\":1,\"name\":\"a\"},{\"value\":2,\"name\":\"b\"},{\"value\":3}]," +
+            "\"numbers\":[10,20,30]," +
+            "\"matrix\":[[1,2],[3,4]]" +
+            "}";
+
+    static final String ARRAY_DOCUMENT = "[{\"key1\":\"value1\"},{\"key2\":\"value4\"}]";
+
+    @Test
+    public void evaluatesFieldsAndIndexes() throws IOException {
+
+        final Object root = parse(DOCUMENT);
+
+        assertThat(evaluate("result", root), is("bob"));
+        assertThat(evaluate("$.result", root), is("bob"));
+        assertThat(evaluate("count", root), is(3));
+        assertThat(evaluate("flag", root), is(true));
+        assertThat(evaluate("nothing", root), is(nullValue()));
+        assertThat(evaluate("some.nested.value", root), is(1.5));
+        assertThat(evaluate("list[1].name", root), is("b"));
+        assertThat(evaluate("numbers[0]", root), is(10));
+        assertThat(evaluate("matrix[1][0]", root), is(3));
+        assertThat(evaluate("$", root), is(root));
+    }
+
+    @Test
+    public void evaluatesAgainstADocumentThatIsAnArray() throws IOException {
+
+        final Object root = parse(ARRAY_DOCUMENT);
+
+        assertThat(evaluate("[0].key1", root), is("value1"));
+        assertThat(evaluate("$[1].key2", root), is("value4"));
+        assertThat(evaluate("size()", root), is(2));
+    }
+
+    @Test
+    public void spreadsFieldAccessOverLists() throws IOException {
+
+        final Object root = parse(DOCUMENT);
+
+        assertThat(evaluate("list[*].value", root), is(Arrays.asList(1, 2, 3)));
+        assertThat(evaluate("list.value", root), is(Arrays.asList(1, 2, 3)));
+        assertThat(evaluate("list.name", root), is(Arrays.asList("a", "b", null)));
+        assertThat(evaluate("numbers[*]", root), is(Arrays.asList(10, 20, 30)));
+    }
+
+    @Test
+    public void countsBackFromTheEndForNegativeIndexes() throws IOException {
+
+        final Object root = parse(DOCUMENT);
+
+        assertThat(evaluate("numbers[-1]", root), is(30));
+        assertThat(evaluate("list[-3].name", root), is("a"));
+        assertThat(evaluate("numbers[-4]", root), is(nullValue()));
+    }
+
+    @Test
+    public void takesTheSizeOfListsAndObjects() throws IOException {
+
+        final Object root = parse(DOCUMENT);
+
+        assertThat(evaluate("list.size()", root), is(3));
+        assertThat(evaluate("some.size()", root), is(1));
+        assertThat(evaluate("result.size()", root), is(nullValue()));
+    }
+
+    @Test
+    public void evaluatesMissingPathsToNull() throws IOException {
+
+        final Object root = parse(DOCUMENT);
+
+        assertThat(evaluate("missing", root), is(nullValue()));
+        assertThat(evaluate("missing.deeper", root), is(nullValue()));
+        assertThat(evaluate("numbers[5]", root), is(nullValue()));
+        assertThat(evaluate("result[0]", root), is(nullValue()));
+        assertThat(evaluate("some[*]", root), is(nullValue()));
+    }
+
+    @Test
+    public void onlyStreamsExpressionsWithoutNegativeIndexes() {
+
+        assertThat(JsonPathExpression.compile("list[*].value").isStreamable(), is(true));
+        assertThat(JsonPathExpression.compile("list.size()").isStreamable(), is(true));
+        assertThat(JsonPathExpression.compile("numbers[-1]").isSupported(), is(true));
+        assertThat(JsonPathExpression.compile("numbers[-1]").isStreamable(), is(false));
+    }
+
+    @Test
+    public void rejectsPathsThatHaveToBeEvaluatedByRestAssured() {
+
+        for (final String path : Arrays.asList(
+                "list.findAll { it.value > 1 }",
+                "list.collect { it.name }",
+                "list[0..1]",
+                "some['nested']",
+                "$..value",
+                "list.",
+                "list.max()",
+                "list.size().value"
+        )) {
+            final JsonPathExpression expression = JsonPathExpression.compile(path);
+            assertThat(path, expression.isSupported(), is(false));
+            assertThat(path, expression.isStreamable(), is(false));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void refusesToEvaluateARejectedPath() {
+        JsonPathExpression.compile("list.findAll { it.value > 1 }").evaluate(Collections.emptyMap());
+    }
+
+    @Test
+    public void keepsThePathItWasCompiledFrom() {
+        assertThat(JsonPathExpression.compile("$.some.nested").getPath(), is("$.some.nested"));
+    }
+
+    static Object parse(final String json) throws IOException {
+        return ParsedJsonDocument.MAPPER.readValue(json, Object.class);
+    }
+
+    private static Object evaluate(final String path, final Object root) {
+        return JsonPathExpression.compile(path).evaluate(root);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.json;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.co.baconi.substeps.restdriver.response.SpooledResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class StreamingJsonEvaluatorTest {
+
+    private static final List<String> PATHS = Arrays.asList(
+            "$",
+            "result",
+            "$.result",
+            "count",
+            "flag",
+            "nothing",
+            "some",
+            "some.nested",
+            "some.nested.value",
+            "list[1].name",
+            "list[*].value",
+            "list.value",
+            "list.name",
+            "list.size()",
+            "some.size()",
+            "result.size()",
+            "numbers[0]",
+            "numbers[*]",
+            "matrix[1][0]",
+            "matrix[*][1]",
+            "missing",
+            "missing.deeper",
+            "numbers[5]",
+            "result[0]",
+            "some[*]"
+    );
+
+    private static final List<String> ARRAY_PATHS = Arrays.asList("$", "[0].key1", "$[1].key2", "key1", "size()", "[2]");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private SpooledResponseBody body;
+    private SpooledResponseBody spooledBody;
+    private SpooledResponseBody arrayBody;
+
+    @Before
+    public void setUp() throws IOException {
+        body = spool(JsonPathExpressionTest.DOCUMENT, Long.MAX_VALUE);
+        spooledBody = spool(JsonPathExpressionTest.DOCUMENT, 0);
+        arrayBody = spool(JsonPathExpressionTest.ARRAY_DOCUMENT, Long.MAX_VALUE);
+    }
+
+    @After
+    public void tearDown() {
+        body.close();
+        spooledBody.close();
+        arrayBody.close();
+    }
+
+    @Test
+    public void streamingAgreesWithWalkingTheParsedTree() throws IOException {
+
+        final Object root = JsonPathExpressionTest.parse(JsonPathExpressionTest.DOCUMENT);
+        assertThat(spooledBody.isSpooled(), is(true));
+
+        for (final String path : PATHS) {
+            final JsonPathExpression expression = JsonPathExpression.compile(path);
+            assertThat(path, expression.isStreamable(), is(true));
+            assertThat(path, StreamingJsonEvaluator.evaluate(body, expression), is(expression.evaluate(root)));
+            assertThat(path, StreamingJsonEvaluator.evaluate(spooledBody, expression), is(expression.evaluate(root)));
+        }
+    }
+
+    @Test
+    public void streamingAgreesWithWalkingTheParsedTreeOfAnArray() throws IOException {
+
+        final Object root = JsonPathExpressionTest.parse(JsonPathExpressionTest.ARRAY_DOCUMENT);
+
+        for (final String path : ARRAY_PATHS) {
+            final JsonPathExpression expression = JsonPathExpression.compile(path);
+            assertThat(path, StreamingJsonEvaluator.evaluate(arrayBody, expression), is(expression.evaluate(root)));
+        }
+    }
+
+    @Test
+    public void checkingTheTypeSkipsOverObjectsAndArrays() {
+
+        assertThat(evaluateType("some"), is(Collections.emptyMap()));
+        assertThat(evaluateType("some.nested"), is(Collections.emptyMap()));
+        assertThat(evaluateType("list"), is(Collections.emptyList()));
+        assertThat(evaluateType("matrix[0]"), is(Collections.emptyList()));
+        assertThat(evaluateType("$"), is(Collections.emptyMap()));
+    }
+
+    @Test
+    public void checkingTheTypeStillReadsSimpleValuesAndWhatIsWalkedThrough() {
+
+        assertThat(evaluateType("result"), is("bob"));
+        assertThat(evaluateType("some.nested.value"), is(1.5));
+        assertThat(evaluateType("list.value"), is(Arrays.asList(1, 2, 3)));
+        assertThat(evaluateType("missing"), is(nullValue()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void refusesToStreamANegativeIndex() {
+        StreamingJsonEvaluator.evaluate(body, JsonPathExpression.compile("numbers[-1]"));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void failsOnABodyThatIsNotJson() throws IOException {
+        try (final SpooledResponseBody html = spool("<html>not json</html>", Long.MAX_VALUE)) {
+            StreamingJsonEvaluator.evaluate(html, JsonPathExpression.compile("result"));
+        }
+    }
+
+    private Object evaluateType(final String path) {
+        return StreamingJsonEvaluator.evaluateType(body, JsonPathExpression.compile(path));
+    }
+
+    private SpooledResponseBody spool(final String json, final long threshold) throws IOException {
+        return SpooledResponseBody.spool(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), threshold, folder.getRoot()
+        );
+    }
+}
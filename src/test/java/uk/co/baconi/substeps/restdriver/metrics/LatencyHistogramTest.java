@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package uk.co.baconi.substeps.restdriver.metrics;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class LatencyHistogramTest {
+
+    // Each bucket is at most 1/64th of the values in it wide.
+    private static final double RELATIVE_ERROR = 1.0 / 64;
+
+    @Test
+    public void countsSmallValuesExactly() {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.getCount(), is(100L));
+        assertThat(histogram.getPercentile(1, TimeUnit.NANOSECONDS), is(1L));
+        assertThat(histogram.getPercentile(50, TimeUnit.NANOSECONDS), is(50L));
+        assertThat(histogram.getPercentile(99, TimeUnit.NANOSECONDS), is(99L));
+        assertThat(histogram.getPercentile(100, TimeUnit.NANOSECONDS), is(100L));
+        assertThat(histogram.getMax(TimeUnit.NANOSECONDS), is(100L));
+        assertThat(histogram.getMean(TimeUnit.NANOSECONDS), is(50L));
+    }
+
+    @Test
+    public void reportsEveryValueToWithinTheRelativeError() {
+
+        final Random random = new Random(42);
+        for (int attempt = 0; attempt < 10_000; attempt++) {
+
+            // Spread over every order of magnitude, from 128ns up to the largest value that isn't clamped.
+            final long value = (long) Math.pow(2, 7 + random.nextDouble() * 36);
+
+            // The larger value keeps the percentile from being capped at the maximum, which is always exact.
+            final LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE);
+
+            final long reported = histogram.getPercentile(50, TimeUnit.NANOSECONDS);
+            assertThat("Value " + value, reported, is(greaterThanOrEqualTo(value)));
+            assertThat("Value " + value, (double) reported, is(lessThanOrEqualTo(value * (1 + RELATIVE_ERROR))));
+        }
+    }
+
+    @Test
+    public void percentilesAgreeWithTheRecordedValues() {
+
+        final Random random = new Random(7);
+        final long[] values = new long[10_000];
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int index = 0; index < values.length; index++) {
+            // Roughly log normal, centred on 20ms.
+            values[index] = (long) (TimeUnit.MILLISECONDS.toNanos(20) * Math.exp(random.nextGaussian()));
+            histogram.record(values[index]);
+        }
+        Arrays.sort(values);
+
+        for (final double percentile : new double[]{1, 25, 50, 75, 90, 99, 99.9, 100}) {
+
+            final long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            final long reported = histogram.getPercentile(percentile, TimeUnit.NANOSECONDS);
+
+            assertThat("p" + percentile, reported, is(greaterThanOrEqualTo(exact)));
+            assertThat("p" + percentile, (double) reported, is(lessThanOrEqualTo(exact * (1 + RELATIVE_ERROR))));
+        }
+
+        assertThat(histogram.getMax(TimeUnit.NANOSECONDS), is(values[values.length - 1]));
+        assertThat(histogram.getMean(TimeUnit.NANOSECONDS), is(Arrays.stream(values).sum() / values.length));
+    }
+
+    @Test
+    public void clampsValuesOutsideTheRange() {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(TimeUnit.HOURS.toNanos(10));
+
+        assertThat(histogram.getCount(), is(2L));
+        assertThat(histogram.getPercentile(50, TimeUnit.NANOSECONDS), is(0L));
+        assertThat(histogram.getMax(TimeUnit.NANOSECONDS), is((1L << 43) - 1));
+        assertThat(histogram.getMax(TimeUnit.HOURS), is(2L));
+        assertThat(histogram.getPercentile(100, TimeUnit.NANOSECONDS), is((1L << 43) - 1));
+    }
+
+    @Test
+    public void reportsZeroWhenNothingHasBeenRecorded() {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getCount(), is(0L));
+        assertThat(histogram.getPercentile(99, TimeUnit.NANOSECONDS), is(0L));
+        assertThat(histogram.getMax(TimeUnit.NANOSECONDS), is(0L));
+        assertThat(histogram.getMean(TimeUnit.NANOSECONDS), is(0L));
+    }
+}
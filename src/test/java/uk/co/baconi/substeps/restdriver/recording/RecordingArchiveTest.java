@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.recording;
+
+import com.jayway.restassured.builder.ResponseBuilder;
+import com.jayway.restassured.response.Header;
+import com.jayway.restassured.response.Headers;
+import com.jayway.restassured.response.Response;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class RecordingArchiveTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replaysWhatWasRecordedInTheOrderItWasRecorded() throws IOException {
+
+        final File directory = folder.newFolder("recording");
+
+        try (final RecordingWriter writer = RecordingWriter.create(directory)) {
+            append(writer, "GET /users", 200, "first");
+            append(writer, "GET /orders", 404, "");
+            append(writer, "GET /users", 201, "second");
+        }
+
+        final RecordingArchive archive = RecordingArchive.open(directory);
+
+        assertReplays(archive.next("GET /users"), 200, "first");
+        assertReplays(archive.next("GET /orders"), 404, "");
+        assertReplays(archive.next("GET /users"), 201, "second");
+
+        // The last is repeated once they've all been replayed.
+        assertReplays(archive.next("GET /users"), 201, "second");
+
+        assertThat(archive.next("GET /missing"), is(nullValue()));
+    }
+
+    @Test
+    public void leavesOutAnExchangeWhoseBodyFailsPartWayThrough() throws IOException {
+
+        final File directory = folder.newFolder("recording");
+
+        try (final RecordingWriter writer = RecordingWriter.create(directory)) {
+
+            append(writer, "GET /before", 200, "before");
+
+            final InputStream failing = new InputStream() {
+
+                private int remaining = 3;
+
+                @Override
+                public int read() throws IOException {
+                    if (remaining-- > 0) {
+                        return 'x';
+                    }
+                    throw new IOException("Connection reset");
+                }
+            };
+            try {
+                writer.append(RecordedExchange.of("GET /failed", response(200)), failing);
+                throw new AssertionError("Expected the body to fail.");
+            } catch (final IOException expected) {
+                assertThat(expected.getMessage(), is("Connection reset"));
+            }
+
+            append(writer, "GET /after", 200, "after");
+        }
+
+        final RecordingArchive archive = RecordingArchive.open(directory);
+
+        assertReplays(archive.next("GET /before"), 200, "before");
+        assertReplays(archive.next("GET /after"), 200, "after");
+        assertThat(archive.next("GET /failed"), is(nullValue()));
+    }
+
+    private static void append(final RecordingWriter writer, final String key, final int status, final String body) throws IOException {
+        writer.append(RecordedExchange.of(key, response(status)), new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void assertReplays(final RecordedExchange exchange, final int status, final String body) {
+
+        final Response response = exchange.toResponse();
+
+        assertThat(response.getStatusCode(), is(status));
+        assertThat(response.getStatusLine(), is("HTTP/1.1 " + status));
+        assertThat(response.getHeader("Content-Type"), is("text/plain"));
+        assertThat(response.asString(), is(body));
+    }
+
+    private static Response response(final int status) {
+        return new ResponseBuilder()
+                .setStatusCode(status)
+                .setStatusLine("HTTP/1.1 " + status)
+                .setHeaders(new Headers(new Header("Content-Type", "text/plain")))
+                .setBody("ignored, the body is streamed in separately")
+                .build();
+    }
+}
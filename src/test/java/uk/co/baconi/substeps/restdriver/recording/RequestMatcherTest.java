@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.recording;
+
+import org.junit.Test;
+import uk.co.baconi.substeps.restdriver.properties.RestDriverSubstepsConfiguration;
+
+import static com.jayway.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class RequestMatcherTest {
+
+    private final RequestMatcher matcher = new RequestMatcher(RestDriverSubstepsConfiguration.PROPERTIES);
+
+    @Test
+    public void keysOnThePathWithItsPathParamsFilledIn() {
+
+        final String first = matcher.keyFor(given().pathParam("id", "1"), "GET", "http://localhost/users/{id}");
+        final String second = matcher.keyFor(given().pathParam("id", "two words"), "GET", "http://localhost/users/{id}");
+
+        assertThat(first, containsString("path: /users/1\n"));
+        assertThat(second, containsString("path: /users/two%20words\n"));
+        assertThat(first, is(not(second)));
+    }
+
+    @Test
+    public void keysOnQueryParamsInAnyOrder() {
+
+        final String inUrl = matcher.keyFor(given(), "GET", "http://localhost/search?b=2&a=1");
+        final String added = matcher.keyFor(given().queryParam("b", "2").param("a", "1"), "GET", "http://localhost/search");
+
+        assertThat(inUrl, containsString("query: a=1&b=2\n"));
+        assertThat(added, is(inUrl));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package uk.co.baconi.substeps.restdriver.steps;
+
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.response.Response;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.baconi.substeps.restdriver.client.RequestOptions;
+import uk.co.baconi.substeps.restdriver.client.RequestTimings;
+import uk.co.baconi.substeps.restdriver.client.RestDriverHttpClient;
+import uk.co.baconi.substeps.restdriver.response.SpooledResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+public class PerformRequestTest {
+
+    private static final int CHUNK = 512;
+    private static final long PAUSE = 300;
+
+    private final AbstractRestDriverSubStepImplementations steps = new AbstractRestDriverSubStepImplementations() {
+    };
+
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+
+        // Sends the headers and the first half of the body straight away, then the rest of the body after a pause.
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow-body", exchange -> {
+            final byte[] chunk = new byte[CHUNK];
+            Arrays.fill(chunk, (byte) 'a');
+
+            exchange.sendResponseHeaders(200, CHUNK * 2);
+            try (final OutputStream body = exchange.getResponseBody()) {
+                body.write(chunk);
+                body.flush();
+                TimeUnit.MILLISECONDS.sleep(PAUSE);
+                body.write(chunk);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        RestDriverHttpClient.stop();
+    }
+
+    @Test
+    public void timesTheWholeBodyAndCountsItsBytes() throws IOException {
+
+        final Response response = steps.performRequest(
+                RestAssured.given().config(RestDriverHttpClient.getConfig()),
+                "GET",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/slow-body",
+                new RequestOptions(0, Collections.emptyList(), null, 1024 * 1024)
+        );
+
+        final RequestTimings timings = RequestTimings.getLast();
+        assertThat(timings, is(notNullValue()));
+        assertThat(timings.getBytesReceived(), is((long) CHUNK * 2));
+        assertThat(timings.getTotal(), is(greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(PAUSE))));
+
+        // Already read, so taking the body never waits on the network.
+        try (final SpooledResponseBody body = SpooledResponseBody.take(response)) {
+            assertThat(body, is(notNullValue()));
+            assertThat(body.size(), is((long) CHUNK * 2));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+Tags: @non-visual
+
+Feature: A feature to test performing requests asynchronously
+
+Scenario: A scenario to fan out to many endpoints and wait for them together
+    RestRequest setup new request
+    RestRequest add param with name 'wait-value' and value '200'
+    RestRequest add param with name 'wait-unit' and value 'MILLISECONDS'
+    RestRequest perform async 'GET' on '/timed/' as 'first'
+    RestRequest perform async 'GET' on '/timed/' as 'second'
+
+    RestRequest setup new request
+    RestRequest perform async 'DELETE' on '/delete-failure' as 'failure'
+    RestRequest perform async 'GET' on '/get-stuff' as 'stuff'
+
+    RestRequest await all
+    AssertRestResponse 'first' has code '200'
+    AssertRestResponse 'second' has code '200'
+    AssertRestResponse 'failure' has code '404'
+
+    RestRequest await 'stuff'
+    AssertRestResponse has code '200'
+
+Scenario: A scenario that ends without awaiting its async requests, which are finished before the next one starts
+    RestRequest setup new request
+    RestRequest add param with name 'wait-value' and value '200'
+    RestRequest add param with name 'wait-unit' and value 'MILLISECONDS'
+    RestRequest perform async 'GET' on '/timed/' as 'abandoned'
+    RestRequest perform async 'GET' on '/get-stuff' as 'unread'
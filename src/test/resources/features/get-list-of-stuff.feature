@@ -6,4 +6,20 @@ Scenario: A scenario where we get a list of stuff
   Given I am creating an API call to get a list of stuff
   And I get a successful response
     Containing a valid JSON array
-    Containing list of some stuff
\ No newline at end of file
+    Containing list of some stuff
+
+Scenario: A scenario where we stream through a list of stuff
+  Given I am creating an API call to get a list of stuff
+  And I get a successful response
+    Evaluating JSON by streaming
+    Containing a valid JSON array
+    Containing list of some stuff
+    Containing five bits of stuff
+
+Scenario: A scenario where we only check the types of a streamed list of stuff
+  Given I am creating an API call to get a list of stuff
+  And I get a successful response
+    Evaluating JSON by streaming
+    Containing a valid JSON array
+    AssertJsonElement ByJsonPath '[0]' in RestResponseBody an 'object'
+    AssertJsonElement ByJsonPath 'value' in RestResponseBody an 'array'
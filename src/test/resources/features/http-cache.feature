@@ -0,0 +1,56 @@
+Tags: @non-visual
+
+Feature: A feature to test answering requests from the http cache
+
+Scenario: A scenario where a fresh response is answered from the cache
+    RestRequest use the http cache in scope 'SCENARIO'
+    RestRequest setup new request
+
+    RestRequest perform 'GET' on '/cacheable?max-age=60'
+    AssertRestResponse has code '200'
+    AssertRestResponse was a cache miss
+
+    RestRequest perform 'GET' on '/cacheable?max-age=60'
+    AssertRestResponse has code '200'
+    AssertRestResponse was a cache hit
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: cached
+
+Scenario: A scenario where a stale response is revalidated with the server
+    RestRequest use the http cache in scope 'SCENARIO'
+    RestRequest setup new request
+
+    RestRequest perform 'GET' on '/cacheable?max-age=0'
+    AssertRestResponse was a cache miss
+
+    RestRequest perform 'GET' on '/cacheable?max-age=0'
+    AssertRestResponse has code '200'
+    AssertRestResponse was a cache revalidation
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: cached
+
+Scenario: A scenario where requests other than GET bypass the cache
+    RestRequest use the http cache in scope 'SCENARIO'
+    RestRequest setup new request
+
+    RestRequest perform 'DELETE' on '/delete-success'
+    AssertRestResponse was a cache bypass
+
+Scenario: A scenario where requests for different path params are cached separately
+    RestRequest use the http cache in scope 'SCENARIO'
+
+    RestRequest setup new request
+    RestRequest add path param with name 'id' and value 'first'
+    RestRequest perform 'GET' on '/cacheable/{id}'
+    AssertRestResponse was a cache miss
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: first
+
+    RestRequest setup new request
+    RestRequest add path param with name 'id' and value 'second'
+    RestRequest perform 'GET' on '/cacheable/{id}'
+    AssertRestResponse was a cache miss
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: second
+
+    RestRequest setup new request
+    RestRequest add path param with name 'id' and value 'first'
+    RestRequest perform 'GET' on '/cacheable/{id}'
+    AssertRestResponse was a cache hit
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: first
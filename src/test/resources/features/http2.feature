@@ -0,0 +1,45 @@
+Tags: @non-visual @http2
+
+Feature: A feature to test sending requests with the HTTP/2 client, which needs Java 11 or later
+
+Background:
+    StubServer start
+    StubServer reset
+
+Scenario: A scenario where the server doesn't support HTTP/2 so the h2c upgrade falls back to HTTP/1.1
+    StubServer echo 'GET' on '/echo'
+
+    RestRequest setup new request
+    RestRequest use protocol 'HTTP/2'
+    RestRequest add header with name 'replay' and value 'echoed'
+    RestRequest perform 'GET' on 'stub:/echo'
+
+    AssertRestResponse has code '200'
+    AssertRestResponse has protocol 'HTTP/1.1'
+    AssertRestResponse has status line with code '200' and reason 'OK'
+    AssertRestResponse has header of name 'Echo-Upgrade' with value 'h2c'
+    AssertRestResponse has header of name 'Echo-Replay' with value 'echoed'
+
+Scenario: A scenario where a request with a body is sent with the HTTP/2 client
+    StubServer echo 'POST' on '/echo'
+
+    RestRequest setup new request
+    RestRequest use protocol 'HTTP/2'
+    RestRequest build body using the 'JsonObjectRequestBodyBuilder'
+    RestRequest add data with name 'name' and value 'bob'
+    RestRequest perform 'POST' on 'stub:/echo'
+
+    AssertRestResponse has code '200'
+    AssertRestResponse has header of name 'Content-Type' with 'any' value
+    AssertJsonElement ByJsonPath 'name' in RestResponseBody a 'string' with value: bob
+    AssertStubServer received requests for 'POST' on '/echo' = 1
+
+Scenario: A scenario where a request sent with the HTTP/2 client exceeds its deadline
+    StubServer respond to 'GET' on '/slow' with code '204'
+    StubServer delay response by 1000 MILLISECONDS
+
+    RestRequest setup new request
+    RestRequest use protocol 'HTTP/2'
+    RestRequest set request timeout as '200'
+
+    AssertRestRequest perform 'GET' on 'stub:/slow' fails with 'exceeded its deadline of [200ms]'
@@ -0,0 +1,66 @@
+Tags: @non-visual
+
+Feature: A feature to test sending requests to an in process handler
+
+Scenario: A scenario where an in process handler answers the request
+    RestRequest setup new request
+    RestRequest add header with name 'replay' and value 'in-process'
+    RestRequest perform 'GET' on 'inproc://test/replay-header'
+
+    AssertRestResponse has code '200'
+    AssertRestResponse has status line with code '200' and reason 'OK'
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: in-process
+
+Scenario: A scenario where an in process handler doesn't know the path
+    RestRequest setup new request
+    RestRequest perform 'GET' on 'inproc://test/missing'
+
+    AssertRestResponse has code '404'
+
+Scenario: A scenario where the test application answers in process with a filled in path param
+    RestRequest setup new request
+    RestRequest add path param with name 'named-path-param' and value 'bob smith'
+    RestRequest perform 'GET' on 'inproc://spring/replay-path-param/{named-path-param}'
+
+    AssertRestResponse has code '200'
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: bob smith
+
+Scenario: A scenario where the test application answers in process with the headers, cookies and params sent
+    RestRequest setup new request
+    RestRequest add header with name 'replay' and value 'in-process'
+    RestRequest perform 'GET' on 'inproc://spring/replay-header'
+
+    AssertRestResponse has code '200'
+    AssertRestResponse has header of name 'replayed' with value 'in-process'
+
+    RestRequest setup new request
+    RestRequest add cookie with name 'replay' and value 'in-process-cookie'
+    RestRequest perform 'GET' on 'inproc://spring/replay-cookie'
+
+    AssertRestResponse has code '200'
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: in-process-cookie
+
+    RestRequest setup new request
+    RestRequest add param with name 'replay' and value 'in-process-param'
+    RestRequest perform 'GET' on 'inproc://spring/replay-param'
+
+    AssertRestResponse has code '200'
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: in-process-param
+
+Scenario: A scenario where the test application answers an in process post with a json body
+    RestRequest setup new request
+    RestRequest add data with name 'first' and value '1'
+    RestRequest add data with name 'second' and value '2'
+    RestRequest build body using the 'JsonObjectRequestBodyBuilder'
+    RestRequest perform 'POST' on 'inproc://spring/post-sum'
+
+    AssertRestResponse has code '200'
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'number' with value: 3
+
+Scenario: A scenario where an in process handler takes longer than the request's deadline
+    RestRequest setup new request
+    RestRequest set request timeout as '200'
+    RestRequest add param with name 'wait-value' and value '1000'
+    RestRequest add param with name 'wait-unit' and value 'MILLISECONDS'
+
+    AssertRestRequest perform 'GET' on 'inproc://spring/timed' fails with 'exceeded its deadline of [200ms]'
@@ -0,0 +1,30 @@
+Tags: @non-visual
+
+Feature: A feature to test generating load
+
+Scenario: A scenario to fire the same request many times concurrently
+    RestRequest setup new request
+    RestRequest add param with name 'wait-value' and value '10'
+    RestRequest add param with name 'wait-unit' and value 'MILLISECONDS'
+
+    RestRequest perform 'GET' on '/timed/' 40 times with concurrency 4
+
+    AssertLoadTest every response has code '200'
+    AssertLoadTest error rate = 0 percent
+    AssertLoadTest throughput > 1 per second
+    AssertLoadTest p50 took >= 10 MILLISECONDS
+    AssertLoadTest p99 took < 5 SECONDS
+    AssertLoadTest max took < 5 SECONDS
+    AssertLoadTest mean took >= 10 MILLISECONDS
+
+Scenario: A scenario to check the latency recorded for an endpoint
+    RestRequest setup new request
+    RestRequest add param with name 'wait-value' and value '10'
+    RestRequest add param with name 'wait-unit' and value 'MILLISECONDS'
+
+    RestRequest perform 'GET' on '/timed/' 20 times with concurrency 2
+
+    AssertRestResponses for 'GET' on '/timed/' in scope 'SCENARIO' p50 took >= 10 MILLISECONDS
+    AssertRestResponses for 'GET' on '/timed/' in scope 'SCENARIO' p99 took < 5 SECONDS
+    AssertRestResponses for 'GET' on '/timed/' in scope 'FEATURE' max took < 5 SECONDS
+    AssertRestResponses for 'GET' on '/timed/' in scope 'SUITE' mean took >= 10 MILLISECONDS
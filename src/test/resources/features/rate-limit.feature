@@ -0,0 +1,25 @@
+Tags: @non-visual
+
+Feature: A feature to test pacing requests with a rate limit
+
+Scenario: A scenario where the second request waits for the rate limit
+    RestRequest rate limit feature to 5 requests per second
+    RestRequest setup new request
+
+    RestRequest perform 'GET' on '/get-stuff'
+    AssertRestResponse has code '200'
+    AssertRestResponse waited for the rate limit < 100 MILLISECONDS
+
+    RestRequest perform 'GET' on '/get-stuff'
+    AssertRestResponse has code '200'
+    AssertRestResponse waited for the rate limit > 100 MILLISECONDS
+
+Scenario: A scenario where waiting for the rate limit isn't counted as load test latency
+    RestRequest rate limit feature to 5 requests per second
+    RestRequest setup new request
+
+    RestRequest perform 'GET' on '/get-stuff' 6 times with concurrency 2
+
+    AssertLoadTest every response has code '200'
+    AssertLoadTest throughput < 6 per second
+    AssertLoadTest p50 took < 150 MILLISECONDS
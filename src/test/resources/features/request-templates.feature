@@ -0,0 +1,36 @@
+Tags: @non-visual
+
+Feature: A feature to test setting up requests from templates
+
+Background:
+    StubServer start
+    StubServer echo 'GET' on '/echo'
+
+    RestRequest setup new request
+    RestRequest add header with name 'replay' and value 'from-template'
+    RestRequest save as template 'replaying'
+
+Scenario Outline: A scenario to test each row starting from the template
+    RestRequest setup new request from template 'replaying'
+    RestRequest perform '<method>' on '/replay-header'
+
+    AssertRestResponse has code '200'
+    AssertRestResponse has header of name 'replayed' with value 'from-template'
+
+Examples:
+    |method |
+    |GET    |
+    |POST   |
+    |PUT    |
+
+Scenario: A scenario to check changes to a copy don't affect the template
+    RestRequest setup new request from template 'replaying'
+    RestRequest add header with name 'extra' and value 'only-here'
+    RestRequest perform 'GET' on 'stub:/echo'
+    AssertRestResponse has header of name 'Echo-Replay' with value 'from-template'
+    AssertRestResponse has header of name 'Echo-Extra' with value 'only-here'
+
+    RestRequest setup new request from template 'replaying'
+    RestRequest perform 'GET' on 'stub:/echo'
+    AssertRestResponse has header of name 'Echo-Replay' with value 'from-template'
+    AssertRestResponse has header of name 'Echo-Extra' with 'no' value
@@ -0,0 +1,14 @@
+Tags: @non-visual
+
+Feature: A feature to test asserting on the raw response body
+
+Scenario: A scenario where we check the size, checksum and first bytes of the body
+    RestRequest setup new request
+    RestRequest perform 'GET' on '/get-string?value=abc'
+
+    AssertRestResponse has code '200'
+    AssertRestResponseBody has size = 16 bytes
+    AssertRestResponseBody has size < 1024 bytes
+    AssertRestResponseBody has md5 '0d52eb2b655d08aeeebfed8cdd5ea766'
+    AssertRestResponseBody has sha256 '2B6E0F8E0926984676D05CFBCB91423DC537F85E528F42E92D18CAA9FC0FE7C6'
+    AssertRestResponseBody starts with hex '7b22'
@@ -36,6 +36,8 @@ Scenario: A scenario to test other hidden gems
     RestRequest perform 'GET' on 'http://localhost:9000/replay-cookie'
 
     AssertRestResponse has code '200' with reason 'HTTP/1.1 200 OK'
+    AssertRestResponse has status line with code '200' and reason 'OK'
+    AssertRestResponse has protocol 'HTTP/1.1'
     AssertRestResponse has header of name 'replayed' with 'no' value
     AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: ABCDEFGHIJKLMNOPQRSTUVWXYZ
 
@@ -112,6 +114,36 @@ Scenario: A scenario to post a json file
     AssertJsonElement ByJsonPath '[1].key1' in RestResponseBody a 'string' with value: value3
     AssertJsonElement ByJsonPath '[1].key2' in RestResponseBody a 'string' with value: value4
 
+Scenario: A scenario to post the same json file twice, the second time from the resource cache
+    RestRequest setup new request
+    RestRequest build body using the 'JsonFromUriRequestBodyBuilder'
+    RestRequest add data from resource file 'json/some.json'
+    RestRequest perform 'POST' on '/replay-json-array'
+
+    AssertRestResponse has code '200'
+    AssertJsonElement ByJsonPath '[0].key1' in RestResponseBody a 'string' with value: value1
+    AssertJsonElement ByJsonPath '[1].key2' in RestResponseBody a 'string' with value: value4
+
+    RestRequest setup new request
+    RestRequest build body using the 'JsonFromUriRequestBodyBuilder'
+    RestRequest add data from resource file 'json/some.json'
+    RestRequest perform 'POST' on '/replay-json-array'
+
+    AssertRestResponse has code '200'
+    AssertJsonElement ByJsonPath '[0].key1' in RestResponseBody a 'string' with value: value1
+    AssertJsonElement ByJsonPath '[1].key2' in RestResponseBody a 'string' with value: value4
+
+Scenario: A scenario to stream a json file
+    RestRequest setup new request
+    RestRequest build body using the 'StreamingFromUriRequestBodyBuilder' with content type 'application/json'
+    RestRequest add data from resource file 'json/some.json'
+    RestRequest perform 'POST' on '/replay-json-array'
+
+    AssertRestResponse has code '200'
+    AssertRestResponseBody is JSON 'array'
+    AssertJsonElement ByJsonPath '[0].key1' in RestResponseBody a 'string' with value: value1
+    AssertJsonElement ByJsonPath '[1].key2' in RestResponseBody a 'string' with value: value4
+
 Scenario: A scenario to post a json url
     RestRequest setup new request
     RestRequest build body using the 'JsonFromUriRequestBodyBuilder'
@@ -126,3 +158,33 @@ Scenario: A scenario to post a json url
     AssertJsonElement ByJsonPath '[0].key2' in RestResponseBody a 'string' with value: value2
     AssertJsonElement ByJsonPath '[1].key1' in RestResponseBody a 'string' with value: value3
     AssertJsonElement ByJsonPath '[1].key2' in RestResponseBody a 'string' with value: value4
+
+Scenario: A scenario to test overriding the timeouts
+    RestRequest setup new request
+    RestRequest set connect timeout as '5000'
+    RestRequest set socket timeout as '5000'
+    RestRequest set request timeout as '5000'
+    RestRequest add param with name 'wait-value' and value '100'
+    RestRequest add param with name 'wait-unit' and value 'MILLISECONDS'
+
+    RestRequest perform 'GET' on '/timed/'
+
+    AssertRestResponse has code '200'
+    AssertRestResponse took between 100 and 5000 MILLISECONDS
+
+Scenario: A scenario to test the request timeout covers reading the whole body
+    RestRequest setup new request
+    RestRequest set socket timeout as '5000'
+    RestRequest set request timeout as '500'
+    RestRequest add param with name 'chunks' and value '10'
+
+    AssertRestRequest perform 'GET' on '/trickle' fails with 'exceeded its deadline of [500ms]'
+
+Scenario: A scenario to test suite scoped cookies
+    RestRequest setup new request
+    RestRequest add cookie with name 'replay' and value 'SUITE-COOKIE' in scope 'SUITE'
+
+    RestRequest perform 'GET' on '/replay-cookie'
+
+    AssertRestResponse has code '200'
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: SUITE-COOKIE
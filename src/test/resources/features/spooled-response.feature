@@ -0,0 +1,37 @@
+Tags: @non-visual
+
+Feature: A feature to test response bodies spooled to disk
+
+Background:
+  Given every response body is spooled
+
+Scenario: A scenario where a spooled body is read back through its memory mapping
+  Given I am creating an API call to get a list of stuff
+  And I get a successful response
+    AssertRestResponseBody is spooled
+    AssertRestResponseBody has size > 0 bytes
+    AssertRestResponseBody starts with hex '5b7b'
+    Containing a valid JSON array
+    Containing list of some stuff
+    AssertJsonElement ByJsonPath '[-1].value' in RestResponseBody a 'string' with value: Stuff 5
+
+Scenario: A scenario where a spooled body is streamed through
+  Given I am creating an API call to get a list of stuff
+  And I get a successful response
+    AssertRestResponseBody is spooled
+    Evaluating JSON by streaming
+    Containing a valid JSON array
+    Containing five bits of stuff
+
+Scenario: A scenario where a JsonPath only Rest Assured supports is read back from the spooled body
+  Given I am creating an API call to get a list of stuff
+  And I get a successful response
+    AssertRestResponseBody is spooled
+    AssertJsonElement ByJsonPath 'find { it.value == "Stuff 3" }.value' in RestResponseBody a 'string' with value: Stuff 3
+
+Scenario: A scenario where the spooled body is deleted once its scope ends
+  Given I am creating an API call to get a list of stuff
+  And I get a successful response
+    AssertRestResponseBody is spooled
+    End the scenario scope
+    AssertSpooledResponseBody has been deleted
@@ -0,0 +1,67 @@
+Tags: @non-visual
+
+Feature: A feature to test answering requests from the stub server
+
+Background:
+    StubServer start
+    StubServer reset
+
+Scenario: A scenario where the stub server responds with a canned body
+    StubServer respond to 'GET' on '/users/1' with code '200' and body '{"result":"bob"}'
+    StubServer add response header with name 'Content-Type' and value 'application/json'
+
+    RestRequest setup new request
+    RestRequest perform 'GET' on 'stub:/users/1'
+
+    AssertRestResponse has code '200'
+    AssertRestResponse has header of name 'Content-Type' with value 'application/json'
+    AssertJsonElement ByJsonPath 'result' in RestResponseBody a 'string' with value: bob
+    AssertStubServer received requests for 'GET' on '/users/1' = 1
+
+Scenario: A scenario where the stub server echoes the request
+    StubServer echo 'POST' on '/echo'
+
+    RestRequest setup new request
+    RestRequest add header with name 'replay' and value 'echoed'
+    RestRequest perform 'POST' on 'stub:/echo'
+
+    AssertRestResponse has code '200'
+    AssertRestResponse has header of name 'Echo-Replay' with value 'echoed'
+
+Scenario: A scenario where the stub server delays its response
+    StubServer respond to 'ANY' on '/slow' with code '204'
+    StubServer delay response by 200 MILLISECONDS
+
+    RestRequest setup new request
+    RestRequest perform 'DELETE' on 'stub:/slow'
+
+    AssertRestResponse has code '204'
+    AssertRestResponse took > 150 MILLISECONDS
+
+Scenario: A scenario where the stub server has no stub for the request
+    RestRequest setup new request
+    RestRequest perform 'GET' on 'stub:/missing'
+
+    AssertRestResponse has code '404'
+
+Scenario: A scenario to stream a request body from a resource inside a jar
+    StubServer echo 'POST' on '/echo'
+
+    RestRequest setup new request
+    RestRequest build body using the 'StreamingFromUriRequestBodyBuilder'
+    RestRequest add data from resource file 'org/junit/Test.class'
+    RestRequest perform 'POST' on 'stub:/echo'
+
+    AssertRestResponse has code '200'
+    AssertRestResponseBody starts with hex 'cafebabe'
+    AssertStubServer received requests for 'POST' on '/echo' = 1
+
+Scenario: A scenario where a request body streamed from a jar can only be sent once
+    StubServer echo 'POST' on '/echo'
+
+    RestRequest setup new request
+    RestRequest build body using the 'StreamingFromUriRequestBodyBuilder'
+    RestRequest add data from resource file 'org/junit/Test.class'
+    RestRequest perform 'POST' on 'stub:/echo' 2 times with concurrency 1
+
+    AssertLoadTest error rate = 50 percent
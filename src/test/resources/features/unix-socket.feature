@@ -0,0 +1,37 @@
+Tags: @non-visual @unix-socket
+
+Feature: A feature to test sending requests over a unix domain socket, which needs Java 16 or later
+
+Background:
+    UnixSocketServer start
+
+Scenario: A scenario where a request is sent over the unix domain socket
+    RestRequest setup new request
+    RestRequest perform 'GET' on the unix socket server at '/connection'
+
+    AssertRestResponse has code '200'
+    AssertRestResponse has protocol 'HTTP/1.1'
+    AssertJsonElement ByJsonPath 'connection' in RestResponseBody a 'number' with value: 1
+    AssertJsonElement ByJsonPath 'request' in RestResponseBody a 'number' with value: 1
+    AssertUnixSocketServer accepted '1' connections
+
+Scenario: A scenario where the connection to the unix domain socket is kept alive and reused
+    RestRequest setup new request
+    RestRequest perform 'GET' on the unix socket server at '/connection'
+
+    AssertRestResponse has code '200'
+    AssertJsonElement ByJsonPath 'request' in RestResponseBody a 'number' with value: 1
+
+    RestRequest setup new request
+    RestRequest perform 'GET' on the unix socket server at '/connection'
+
+    AssertRestResponse has code '200'
+    AssertJsonElement ByJsonPath 'connection' in RestResponseBody a 'number' with value: 1
+    AssertJsonElement ByJsonPath 'request' in RestResponseBody a 'number' with value: 2
+    AssertUnixSocketServer accepted '1' connections
+
+Scenario: A scenario where reading from the unix domain socket times out
+    RestRequest setup new request
+    RestRequest set socket timeout as '250'
+
+    AssertRestRequest perform 'GET' on the unix socket server at '/slow' times out